@@ -0,0 +1,54 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.deliverytech.delivery_api.DeliveryApiApplication;
+
+/**
+ * Sobe a aplicação sem servidor web, com H2 embarcado e logs reduzidos,
+ * para os benchmarks que precisam de persistência
+ */
+public final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    public static ConfigurableApplicationContext iniciar(String... propriedadesExtras) {
+        return subir(WebApplicationType.NONE, propriedadesExtras);
+    }
+
+    /**
+     * Sobe com Tomcat em porta aleatória (local.server.port), para testes de carga HTTP
+     */
+    public static ConfigurableApplicationContext iniciarServidor(String... propriedadesExtras) {
+        List<String> propriedades = new ArrayList<>(List.of(propriedadesExtras));
+        propriedades.add("server.port=0");
+        return subir(WebApplicationType.SERVLET, propriedades.toArray(String[]::new));
+    }
+
+    private static ConfigurableApplicationContext subir(WebApplicationType tipo, String... propriedadesExtras) {
+        // Passadas como argumentos de linha de comando para sobrepor o application.properties
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--spring.devtools.restart.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.web=WARN",
+                "--logging.level.com.deliverytech=WARN",
+                "--logging.level.io.micrometer=WARN",
+                "--logging.level.org.springframework.web=WARN",
+                "--logging.level.org.springframework.security=WARN"));
+        for (String propriedade : propriedadesExtras) {
+            argumentos.add("--" + propriedade);
+        }
+
+        return new SpringApplicationBuilder(DeliveryApiApplication.class)
+                .web(tipo)
+                .run(argumentos.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,88 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery_api.model.ItemPedido;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.service.PedidoService;
+import com.deliverytech.delivery_api.service.RestauranteService;
+
+/**
+ * Cálculos do pedido: total em memória (calcularTotal), cotação consultando
+ * produtos (calcularTotalPedido) e taxa de entrega por CEP, sobre o H2 embarcado
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CalculoPedidoBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int quantidadeItens;
+
+    private ConfigurableApplicationContext context;
+    private PedidoService pedidoService;
+    private RestauranteService restauranteService;
+    private Long restauranteId;
+    private Pedido pedido;
+    private List<ItemPedidoRequest> itens;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.iniciar();
+        pedidoService = context.getBean(PedidoService.class);
+        restauranteService = context.getBean(RestauranteService.class);
+
+        List<Produto> produtos = context.getBean(ProdutoRepository.class).findAll().stream()
+                .filter(p -> p.getRestaurante() != null && Boolean.TRUE.equals(p.getAtivo()))
+                .toList();
+        Restaurante restaurante = produtos.get(0).getRestaurante();
+        restauranteId = restaurante.getId();
+
+        pedido = Pedido.builder().restaurante(restaurante).itens(new ArrayList<>()).build();
+        itens = new ArrayList<>(quantidadeItens);
+        for (int i = 0; i < quantidadeItens; i++) {
+            Produto produto = produtos.get(i % produtos.size());
+            int quantidade = 1 + i % 3;
+            itens.add(new ItemPedidoRequest(produto.getId(), quantidade));
+            pedido.getItens().add(ItemPedido.builder()
+                    .pedido(pedido)
+                    .produto(produto)
+                    .quantidade(quantidade)
+                    .precoUnitario(produto.getPreco())
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public BigDecimal calcularTotal() {
+        return pedidoService.calcularTotal(pedido);
+    }
+
+    @Benchmark
+    public BigDecimal calcularTotalPedido() {
+        return pedidoService.calcularTotalPedido(itens);
+    }
+
+    @Benchmark
+    public BigDecimal calcularTaxaEntrega() {
+        return restauranteService.calcularTaxaEntrega(restauranteId, "04567-000");
+    }
+}
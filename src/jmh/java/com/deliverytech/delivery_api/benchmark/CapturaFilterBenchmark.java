@@ -0,0 +1,93 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.deliverytech.delivery_api.config.CapturaWriter;
+import com.deliverytech.delivery_api.config.ResponseCaptureFilter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Custo do ResponseCaptureFilter por requisição: cadeia sem filtro,
+ * filtro com amostragem zero e filtro capturando toda requisição
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CapturaFilterBenchmark {
+
+    @Param({"256", "16384"})
+    private int tamanhoResposta;
+
+    private CapturaWriter writer;
+    private Filter semAmostragem;
+    private Filter comCaptura;
+    private HttpServlet servlet;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        writer = new CapturaWriter(registry,
+                Files.createTempDirectory("captura-bench").toString(), 10_000, 256, 64L * 1024 * 1024);
+        writer.iniciar();
+        semAmostragem = new ResponseCaptureFilter(registry, writer, 0.0, 4096);
+        comCaptura = new ResponseCaptureFilter(registry, writer, 1.0, 4096);
+
+        byte[] corpo = "x".repeat(tamanhoResposta).getBytes(StandardCharsets.UTF_8);
+        servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType("application/json");
+                resp.getOutputStream().write(corpo);
+            }
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        writer.parar();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse semFiltro() throws IOException, ServletException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new MockFilterChain(servlet).doFilter(requisicao(), response);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filtroSemAmostragem() throws IOException, ServletException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new MockFilterChain(servlet, semAmostragem).doFilter(requisicao(), response);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse filtroComCaptura() throws IOException, ServletException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new MockFilterChain(servlet, comCaptura).doFilter(requisicao(), response);
+        return response;
+    }
+
+    private static MockHttpServletRequest requisicao() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/produtos/1");
+        request.setQueryString("detalhes=true");
+        return request;
+    }
+}
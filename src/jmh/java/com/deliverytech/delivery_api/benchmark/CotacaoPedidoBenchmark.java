@@ -0,0 +1,105 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery_api.dto.response.CotacaoResponse;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.service.PedidoService;
+import com.deliverytech.delivery_api.service.ProdutoService;
+
+/**
+ * Cotação de carrinho com caches frios: um buscarPorId por item (como era o /calcular)
+ * contra PedidoService.cotar, que resolve os produtos numa consulta só.
+ * "consultas" (contador auxiliar) soma as instruções SQL da iteração; dividida pelo
+ * número de operações dá as idas ao banco por cotação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CotacaoPedidoBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int quantidadeItens;
+
+    private ConfigurableApplicationContext context;
+    private PedidoService pedidoService;
+    private ProdutoService produtoService;
+    private CacheManager cacheManager;
+    private Statistics estatisticas;
+    private Long restauranteId;
+    private List<ItemPedidoRequest> itens;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Consultas {
+        public long consultas;
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.iniciar("spring.jpa.properties.hibernate.generate_statistics=true");
+        pedidoService = context.getBean(PedidoService.class);
+        produtoService = context.getBean(ProdutoService.class);
+        cacheManager = context.getBean(CacheManager.class);
+        estatisticas = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        // Cardápio próprio, para o carrinho ter itens distintos do mesmo restaurante
+        Restaurante restaurante = context.getBean(RestauranteRepository.class).save(
+                Restaurante.builder().nome("Benchmark Cotação").ativo(true).taxaEntrega(new BigDecimal("5.00")).build());
+        restauranteId = restaurante.getId();
+        List<Produto> cardapio = new ArrayList<>(quantidadeItens);
+        for (int i = 0; i < quantidadeItens; i++) {
+            cardapio.add(Produto.builder().nome("Item " + i).preco(new BigDecimal("9.90")).restaurante(restaurante).build());
+        }
+        itens = context.getBean(ProdutoRepository.class).saveAll(cardapio).stream()
+                .map(p -> new ItemPedidoRequest(p.getId(), 2))
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Setup(Level.Invocation)
+    public void esfriarCaches() {
+        cacheManager.getCacheNames().forEach(nome -> cacheManager.getCache(nome).clear());
+        estatisticas.clear();
+    }
+
+    @Benchmark
+    public BigDecimal produtoPorItem(Consultas consultas) {
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (ItemPedidoRequest item : itens) {
+            Produto produto = produtoService.buscarPorId(item.getProdutoId()).orElseThrow();
+            subtotal = subtotal.add(produto.getPreco().multiply(BigDecimal.valueOf(item.getQuantidade())));
+        }
+        consultas.consultas += estatisticas.getPrepareStatementCount();
+        return subtotal;
+    }
+
+    @Benchmark
+    public CotacaoResponse cotar(Consultas consultas) {
+        CotacaoResponse cotacao = pedidoService.cotar(restauranteId, null, itens);
+        consultas.consultas += estatisticas.getPrepareStatementCount();
+        return cotacao;
+    }
+}
@@ -0,0 +1,83 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.deliverytech.delivery_api.repository.TokenRevogadoRepository;
+import com.deliverytech.delivery_api.security.JwtUtil;
+import com.deliverytech.delivery_api.security.ListaRevogacao;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Emissão e validação de tokens JWT, sem contexto Spring. A consulta à lista de
+ * revogação (com 100 mil tokens revogados) deve ficar em nanossegundos e sem
+ * alocação: conferir com -prof gc (gc.alloc.rate.norm = 0).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class JwtBenchmark {
+
+    // Mesmos valores do application.properties
+    private static final String SEGREDO = "my-secret-keyQWERTYUIOPASDFGHJKLZXCVBNMQWERTY1";
+    private static final long EXPIRACAO = 900_000L;
+    private static final long EXPIRACAO_REFRESH = 604_800_000L;
+    private static final int REVOGADOS = 100_000;
+
+    private JwtUtil jwtUtil;
+    private String token;
+    private ListaRevogacao listaRevogacao;
+    private String jtiValido;
+    private String jtiRevogado;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SEGREDO);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", EXPIRACAO);
+        ReflectionTestUtils.setField(jwtUtil, "refreshExpiration", EXPIRACAO_REFRESH);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        token = jwtUtil.gerarToken("joao@email.com");
+
+        listaRevogacao = new ListaRevogacao(mock(TokenRevogadoRepository.class), new SimpleMeterRegistry(),
+                REVOGADOS, Duration.ofMinutes(1));
+        Instant expiraEm = Instant.now().plusSeconds(3600);
+        for (int i = 0; i < REVOGADOS; i++) {
+            jtiRevogado = UUID.randomUUID().toString();
+            listaRevogacao.revogar(jtiRevogado, expiraEm);
+        }
+        jtiValido = jwtUtil.validarAcesso(token).getId();
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return jwtUtil.gerarToken("joao@email.com");
+    }
+
+    @Benchmark
+    public Claims validarToken() {
+        return jwtUtil.validarToken(token);
+    }
+
+    @Benchmark
+    public boolean consultarRevogacao() {
+        return listaRevogacao.revogado(jtiValido);
+    }
+
+    @Benchmark
+    public boolean consultarRevogacaoRevogado() {
+        return listaRevogacao.revogado(jtiRevogado);
+    }
+}
@@ -0,0 +1,63 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import com.deliverytech.delivery_api.dto.request.RegisterRequest;
+import com.deliverytech.delivery_api.model.Role;
+import com.deliverytech.delivery_api.service.UsuarioService;
+
+/**
+ * Vazão de login (AuthenticationManager, como no POST /api/auth/login) por núcleo.
+ * O pool de verificação de senhas tem uma única thread e quatro chamadores o mantêm
+ * ocupado, então ops/s é a vazão de um núcleo dedicado ao BCrypt; com o cache de
+ * credenciais, logins repetidos (tempestade de retentativas) não chegam ao pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class LoginBenchmark {
+
+    private static final String EMAIL = "login@deliverytech.com";
+    private static final String SENHA = "123456";
+
+    @Param({"8", "10", "12"})
+    private int custo;
+
+    @Param({"false", "true"})
+    private boolean cacheCredenciais;
+
+    private ConfigurableApplicationContext context;
+    private AuthenticationManager authenticationManager;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.iniciar(
+                "security.bcrypt.custo=" + custo,
+                "security.senha.threads=1",
+                "security.senha.fila=16",
+                "security.senha.timeout=1m",
+                "security.senha.cache-ttl=" + (cacheCredenciais ? "1m" : "0s"));
+        context.getBean(UsuarioService.class).salvar(new RegisterRequest(EMAIL, SENHA, "Login", Role.CLIENTE));
+        authenticationManager = context.getBean(AuthenticationManager.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Authentication login() {
+        return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(EMAIL, SENHA));
+    }
+}
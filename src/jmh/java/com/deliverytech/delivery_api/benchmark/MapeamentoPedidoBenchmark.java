@@ -0,0 +1,90 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import com.deliverytech.delivery_api.config.ModelMapperConfig;
+import com.deliverytech.delivery_api.dto.response.ItemPedidoResponse;
+import com.deliverytech.delivery_api.dto.response.PedidoResponse;
+import com.deliverytech.delivery_api.model.*;
+
+/**
+ * Pedido → PedidoResponse: ModelMapper (como em PedidoController.convertToPedidoResponse)
+ * contra o mapeamento escrito à mão usado em confirmar/adicionarItem
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MapeamentoPedidoBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int quantidadeItens;
+
+    private ModelMapper modelMapper;
+    private Pedido pedido;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        modelMapper = new ModelMapperConfig().modelMapper();
+
+        Restaurante restaurante = Restaurante.builder().id(1L).nome("Pizzaria").ativo(true).build();
+        pedido = Pedido.builder()
+                .id(1L)
+                .cliente(Cliente.builder().id(1L).nome("João").build())
+                .restaurante(restaurante)
+                .enderecoEntrega(Endereco.builder().rua("Av. Paulista").numero("1000").cidade("São Paulo").cep("01310-100").build())
+                .status(StatusPedido.CONFIRMADO)
+                .dataPedido(LocalDateTime.now())
+                .valorTotal(BigDecimal.valueOf(42))
+                .itens(new ArrayList<>())
+                .build();
+        for (int i = 0; i < quantidadeItens; i++) {
+            Produto produto = Produto.builder().id((long) i).nome("Produto " + i).preco(BigDecimal.TEN).restaurante(restaurante).build();
+            pedido.getItens().add(ItemPedido.builder()
+                    .pedido(pedido)
+                    .produto(produto)
+                    .quantidade(1 + i % 3)
+                    .precoUnitario(BigDecimal.TEN)
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public PedidoResponse modelMapper() {
+        PedidoResponse response = modelMapper.map(pedido, PedidoResponse.class);
+        response.setItens(null);
+        List<ItemPedidoResponse> itensResp = new ArrayList<>(pedido.getItens().size());
+        for (ItemPedido item : pedido.getItens()) {
+            itensResp.add(modelMapper.map(item, ItemPedidoResponse.class));
+        }
+        response.setItens(itensResp);
+        return response;
+    }
+
+    @Benchmark
+    public PedidoResponse manual() {
+        List<ItemPedidoResponse> itensResp = new ArrayList<>(pedido.getItens().size());
+        for (ItemPedido item : pedido.getItens()) {
+            itensResp.add(new ItemPedidoResponse(item.getProduto().getId(), item.getProduto().getNome(),
+                    item.getQuantidade(), item.getPrecoUnitario()));
+        }
+        return new PedidoResponse(
+                pedido.getId(),
+                pedido.getCliente().getId(),
+                pedido.getRestaurante().getId(),
+                pedido.getEnderecoEntrega(),
+                pedido.getValorTotal(),
+                pedido.getStatus(),
+                pedido.getDataPedido(),
+                itensResp);
+    }
+}
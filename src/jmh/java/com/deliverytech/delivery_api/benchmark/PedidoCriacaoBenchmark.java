@@ -0,0 +1,85 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.service.PedidoService;
+
+/**
+ * Criação de pedido: fluxo antigo (pedido vazio + um adicionarItem por item)
+ * contra criarComItens (uma transação, produtos em uma consulta, itens em batch)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PedidoCriacaoBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int quantidadeItens;
+
+    private ConfigurableApplicationContext context;
+    private PedidoService pedidoService;
+    private Cliente cliente;
+    private Restaurante restaurante;
+    private List<ItemPedidoRequest> itens;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.iniciar();
+        pedidoService = context.getBean(PedidoService.class);
+
+        cliente = context.getBean(ClienteRepository.class).findByAtivoTrue().get(0);
+        List<Produto> cardapio = context.getBean(ProdutoRepository.class).findAll().stream()
+                .filter(p -> p.getRestaurante() != null)
+                .toList();
+        restaurante = cardapio.get(0).getRestaurante();
+        List<Produto> produtos = cardapio.stream()
+                .filter(p -> p.getRestaurante().getId().equals(restaurante.getId()))
+                .toList();
+
+        itens = new ArrayList<>(quantidadeItens);
+        for (int i = 0; i < quantidadeItens; i++) {
+            itens.add(new ItemPedidoRequest(produtos.get(i % produtos.size()).getId(), 1 + i % 3));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Pedido fluxoPorItem() {
+        Pedido pedido = pedidoService.criar(novoPedido());
+        for (ItemPedidoRequest item : itens) {
+            pedido = pedidoService.adicionarItem(pedido.getId(), item.getProdutoId(), item.getQuantidade());
+        }
+        return pedido;
+    }
+
+    @Benchmark
+    public Pedido criacaoComItens() {
+        return pedidoService.criarComItens(novoPedido(), itens);
+    }
+
+    private Pedido novoPedido() {
+        return Pedido.builder()
+                .cliente(cliente)
+                .restaurante(restaurante)
+                .build();
+    }
+}
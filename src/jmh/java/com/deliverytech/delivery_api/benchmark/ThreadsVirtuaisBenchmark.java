@@ -0,0 +1,112 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.deliverytech.delivery_api.dto.request.RegisterRequest;
+import com.deliverytech.delivery_api.model.Role;
+import com.deliverytech.delivery_api.security.JwtUtil;
+import com.deliverytech.delivery_api.service.UsuarioService;
+
+/**
+ * Carga HTTP contra o Tomcat com threads de plataforma e com threads virtuais.
+ * Cada operação dispara {@code concorrencia} requisições simultâneas a um endpoint
+ * que lê do banco (GET /api/pedidos) e espera todas terminarem.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ThreadsVirtuaisBenchmark {
+
+    @Param({"false", "true"})
+    private boolean threadsVirtuais;
+
+    @Param({"50", "200", "1000"})
+    private int concorrencia;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient http;
+    private ExecutorService clientes;
+    private HttpRequest requisicao;
+
+    /**
+     * Requisições sem 200 (recusa, timeout) por operação, ao lado do tempo medido:
+     * um cenário rápido com falhas não é comparável a um lento sem elas
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Falhas {
+        public long falhas;
+
+        @Setup(Level.Iteration)
+        public void zerar() {
+            falhas = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.iniciarServidor(
+                "spring.threads.virtual.enabled=" + threadsVirtuais,
+                "captura.enabled=false",
+                // Um único usuário gera toda a carga: a limitação de taxa recusaria quase tudo
+                "limite.enabled=false");
+
+        String email = "carga@deliverytech.com";
+        context.getBean(UsuarioService.class).salvar(new RegisterRequest(email, "123456", "Carga", Role.ADMIN));
+        String token = context.getBean(JwtUtil.class).gerarToken(email);
+
+        int porta = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/api/pedidos?limit=20"))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        // O lado cliente usa sempre threads virtuais: só o servidor muda entre os cenários
+        clientes = Executors.newVirtualThreadPerTaskExecutor();
+        http = HttpClient.newBuilder().executor(clientes).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        clientes.shutdownNow();
+        context.close();
+    }
+
+    @Benchmark
+    public int lote(Falhas falhas) throws Exception {
+        List<Future<Integer>> respostas = new ArrayList<>(concorrencia);
+        for (int i = 0; i < concorrencia; i++) {
+            respostas.add(clientes.submit(() -> http.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode()));
+        }
+        int sucesso = 0;
+        for (Future<Integer> resposta : respostas) {
+            try {
+                if (resposta.get() == 200) {
+                    sucesso++;
+                } else {
+                    falhas.falhas++;
+                }
+            } catch (Exception e) {
+                falhas.falhas++;
+            }
+        }
+        return sucesso;
+    }
+}
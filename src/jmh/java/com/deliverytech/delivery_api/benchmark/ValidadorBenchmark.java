@@ -0,0 +1,54 @@
+package com.deliverytech.delivery_api.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.deliverytech.delivery_api.validation.CEPValidator;
+import com.deliverytech.delivery_api.validation.CategoriaValidator;
+import com.deliverytech.delivery_api.validation.TelefoneValidator;
+
+/**
+ * Validadores customizados de Bean Validation, com entradas válidas e inválidas
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ValidadorBenchmark {
+
+    @Param({"true", "false"})
+    private boolean valido;
+
+    private final CEPValidator cepValidator = new CEPValidator();
+    private final CategoriaValidator categoriaValidator = new CategoriaValidator();
+    private final TelefoneValidator telefoneValidator = new TelefoneValidator();
+
+    private String cep;
+    private String categoria;
+    private String telefone;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        cep = valido ? "01310-100" : "0131-0100";
+        categoria = valido ? "Doces e Bolos" : "Churrascaria";
+        telefone = valido ? "(11) 99999-9999" : "11 9999-9999";
+    }
+
+    @Benchmark
+    public boolean cep() {
+        return cepValidator.isValid(cep, null);
+    }
+
+    @Benchmark
+    public boolean categoria() {
+        return categoriaValidator.isValid(categoria, null);
+    }
+
+    @Benchmark
+    public boolean telefone() {
+        return telefoneValidator.isValid(telefone, null);
+    }
+}
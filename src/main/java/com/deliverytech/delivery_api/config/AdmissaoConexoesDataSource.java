@@ -0,0 +1,131 @@
+package com.deliverytech.delivery_api.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Admissão ao pool JDBC para o modo de threads virtuais.
+ *
+ * Com uma thread por requisição, milhares de threads podem pedir conexão ao mesmo
+ * tempo. Aqui no máximo {@code permissoes} conexões ficam emprestadas (o tamanho do
+ * pool), a espera é FIFO e a fila é limitada: passando de {@code maxAguardando}
+ * a requisição falha na hora em vez de acumular até o timeout do pool.
+ */
+public class AdmissaoConexoesDataSource extends DelegatingDataSource {
+
+    @FunctionalInterface
+    private interface FonteConexao {
+        Connection obter() throws SQLException;
+    }
+
+    private final Semaphore permissoes;
+    private final AtomicInteger aguardando = new AtomicInteger();
+    private final int maxAguardando;
+    private final long timeoutMillis;
+
+    public AdmissaoConexoesDataSource(DataSource alvo, int permissoes, int maxAguardando, long timeoutMillis) {
+        super(alvo);
+        this.permissoes = new Semaphore(permissoes, true);
+        this.maxAguardando = maxAguardando;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return admitir(() -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return admitir(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    public int getAguardando() {
+        return aguardando.get();
+    }
+
+    public int getDisponiveis() {
+        return permissoes.availablePermits();
+    }
+
+    private Connection admitir(FonteConexao fonte) throws SQLException {
+        if (!adquirirSemEspera()) {
+            aguardar();
+        }
+        try {
+            return liberarAoFechar(fonte.obter());
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+    }
+
+    // tryAcquire() sem tempo furaria a fila do semáforo justo; com timeout zero, respeita quem já espera
+    private boolean adquirirSemEspera() throws SQLException {
+        try {
+            return permissoes.tryAcquire(0, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Espera por conexão JDBC interrompida", e);
+        }
+    }
+
+    private void aguardar() throws SQLException {
+        if (aguardando.incrementAndGet() > maxAguardando) {
+            aguardando.decrementAndGet();
+            throw new SQLTransientConnectionException("Fila de espera por conexão JDBC cheia (" + maxAguardando + ")");
+        }
+        try {
+            if (!permissoes.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("Conexão JDBC indisponível após " + timeoutMillis + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Espera por conexão JDBC interrompida", e);
+        } finally {
+            aguardando.decrementAndGet();
+        }
+    }
+
+    // A permissão volta ao semáforo uma única vez, no primeiro close()
+    private Connection liberarAoFechar(Connection alvo) {
+        AtomicBoolean fechada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionProxy.class.getClassLoader(),
+                new Class<?>[] { ConnectionProxy.class },
+                (proxy, metodo, args) -> switch (metodo.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "getTargetConnection" -> alvo;
+                    case "close" -> {
+                        try {
+                            alvo.close();
+                        } finally {
+                            if (fechada.compareAndSet(false, true)) {
+                                permissoes.release();
+                            }
+                        }
+                        yield null;
+                    }
+                    default -> {
+                        try {
+                            yield metodo.invoke(alvo, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    }
+                });
+    }
+}
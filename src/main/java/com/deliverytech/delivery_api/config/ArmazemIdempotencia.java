@@ -0,0 +1,50 @@
+package com.deliverytech.delivery_api.config;
+
+/**
+ * Guarda as chaves Idempotency-Key já vistas, com a impressão digital da requisição
+ * original e a resposta enviada, para que repetições recebam a mesma resposta.
+ */
+public interface ArmazemIdempotencia {
+
+    enum Situacao {
+        /** Chave nova, reservada para esta requisição */
+        NOVA,
+        /** Outra requisição com a mesma chave ainda está sendo processada */
+        EM_ANDAMENTO,
+        /** Já processada: a resposta guardada deve ser devolvida */
+        CONCLUIDA,
+        /** Chave já usada com outro método, caminho ou corpo */
+        OUTRA_REQUISICAO
+    }
+
+    record Resposta(int status, String contentType, String location, byte[] corpo) {
+    }
+
+    record Reserva(Situacao situacao, Resposta resposta) {
+
+        static final Reserva NOVA = new Reserva(Situacao.NOVA, null);
+        static final Reserva EM_ANDAMENTO = new Reserva(Situacao.EM_ANDAMENTO, null);
+        static final Reserva OUTRA_REQUISICAO = new Reserva(Situacao.OUTRA_REQUISICAO, null);
+
+        static Reserva concluida(Resposta resposta) {
+            return new Reserva(Situacao.CONCLUIDA, resposta);
+        }
+
+        /** Compara a impressão guardada com a da requisição atual */
+        static Reserva existente(String impressaoGuardada, String impressao, Resposta resposta) {
+            if (!impressaoGuardada.equals(impressao)) {
+                return OUTRA_REQUISICAO;
+            }
+            return resposta != null ? concluida(resposta) : EM_ANDAMENTO;
+        }
+    }
+
+    /** Reserva a chave se ela for nova; caso contrário informa a situação da requisição anterior */
+    Reserva reservar(String chave, String impressao);
+
+    /** Guarda a resposta da requisição que reservou a chave */
+    void concluir(String chave, String impressao, Resposta resposta);
+
+    /** Libera uma reserva sem resposta (falha), permitindo nova tentativa com a mesma chave */
+    void liberar(String chave);
+}
@@ -0,0 +1,102 @@
+package com.deliverytech.delivery_api.config;
+
+import com.deliverytech.delivery_api.model.ChaveIdempotencia;
+import com.deliverytech.delivery_api.repository.ChaveIdempotenciaRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Chaves de idempotência na tabela chave_idempotencia, para que a repetição
+ * que cai em outra instância também seja reconhecida. A reserva é um INSERT
+ * (a chave primária decide quem processa); respostas já concluídas ficam
+ * também num cache local, e a repetição na mesma instância não vai ao banco.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "idempotencia.armazenamento", havingValue = "banco")
+public class ArmazemIdempotenciaBanco implements ArmazemIdempotencia {
+
+    // Limpeza das chaves expiradas a cada N reservas
+    private static final long RESERVAS_POR_LIMPEZA = 1000;
+
+    private record Registro(String impressao, Resposta resposta) {
+    }
+
+    private final ChaveIdempotenciaRepository repository;
+    private final Duration ttl;
+    private final Duration tempoProcessamento;
+    private final Cache<String, Registro> concluidas;
+    private final AtomicLong reservas = new AtomicLong();
+
+    public ArmazemIdempotenciaBanco(ChaveIdempotenciaRepository repository,
+                                    @Value("${idempotencia.max-chaves:100000}") long maxChaves,
+                                    @Value("${idempotencia.ttl:24h}") Duration ttl,
+                                    @Value("${idempotencia.tempo-processamento:1m}") Duration tempoProcessamento) {
+        this.repository = repository;
+        this.ttl = ttl;
+        this.tempoProcessamento = tempoProcessamento;
+        this.concluidas = Caffeine.newBuilder()
+                .maximumSize(maxChaves)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public Reserva reservar(String chave, String impressao) {
+        Registro local = concluidas.getIfPresent(chave);
+        if (local != null) {
+            return Reserva.existente(local.impressao(), impressao, local.resposta());
+        }
+        LocalDateTime agora = LocalDateTime.now();
+        if (reservas.incrementAndGet() % RESERVAS_POR_LIMPEZA == 0) {
+            log.debug("Chaves de idempotência expiradas removidas: {}", repository.removerExpiradas(agora));
+        }
+
+        // Segunda tentativa só quando a chave existente estava expirada (ou sumiu no meio do caminho)
+        for (int tentativa = 0; tentativa < 2; tentativa++) {
+            try {
+                repository.reservar(chave, impressao, agora.plus(tempoProcessamento));
+                return Reserva.NOVA;
+            } catch (DataIntegrityViolationException e) {
+                Optional<ChaveIdempotencia> existente = repository.findById(chave);
+                if (existente.isEmpty()) {
+                    continue;
+                }
+                ChaveIdempotencia registro = existente.get();
+                if (registro.getExpiraEm().isBefore(agora)) {
+                    repository.removerSeExpirada(chave, agora);
+                    continue;
+                }
+                Resposta resposta = registro.getStatus() == null ? null : new Resposta(registro.getStatus(),
+                        registro.getContentType(), registro.getLocation(), registro.getCorpo());
+                if (resposta != null) {
+                    concluidas.put(chave, new Registro(registro.getImpressao(), resposta));
+                }
+                return Reserva.existente(registro.getImpressao(), impressao, resposta);
+            }
+        }
+        return Reserva.EM_ANDAMENTO;
+    }
+
+    @Override
+    public void concluir(String chave, String impressao, Resposta resposta) {
+        repository.concluir(chave, resposta.status(), resposta.contentType(), resposta.location(),
+                resposta.corpo(), LocalDateTime.now().plus(ttl));
+        concluidas.put(chave, new Registro(impressao, resposta));
+    }
+
+    @Override
+    public void liberar(String chave) {
+        repository.liberar(chave);
+    }
+}
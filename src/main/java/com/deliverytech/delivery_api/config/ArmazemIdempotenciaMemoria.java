@@ -0,0 +1,48 @@
+package com.deliverytech.delivery_api.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Chaves de idempotência em memória (Caffeine): limitadas em quantidade e
+ * removidas após o TTL. Vale só para a instância; repetições que caem em outro
+ * nó são tratadas pelo {@link ArmazemIdempotenciaBanco}.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotencia.armazenamento", havingValue = "memoria", matchIfMissing = true)
+public class ArmazemIdempotenciaMemoria implements ArmazemIdempotencia {
+
+    private record Registro(String impressao, Resposta resposta) {
+    }
+
+    private final Cache<String, Registro> registros;
+
+    public ArmazemIdempotenciaMemoria(@Value("${idempotencia.max-chaves:100000}") long maxChaves,
+                                      @Value("${idempotencia.ttl:24h}") Duration ttl) {
+        this.registros = Caffeine.newBuilder()
+                .maximumSize(maxChaves)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public Reserva reservar(String chave, String impressao) {
+        Registro atual = registros.asMap().putIfAbsent(chave, new Registro(impressao, null));
+        return atual == null ? Reserva.NOVA : Reserva.existente(atual.impressao(), impressao, atual.resposta());
+    }
+
+    @Override
+    public void concluir(String chave, String impressao, Resposta resposta) {
+        registros.put(chave, new Registro(impressao, resposta));
+    }
+
+    @Override
+    public void liberar(String chave) {
+        registros.asMap().computeIfPresent(chave, (c, registro) -> registro.resposta() == null ? null : registro);
+    }
+}
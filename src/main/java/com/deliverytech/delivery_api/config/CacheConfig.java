@@ -0,0 +1,53 @@
+package com.deliverytech.delivery_api.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Cache do catálogo (produtos e restaurantes) com Caffeine.
+ * Cada região tem sua própria especificação (tamanho/TTL) no formato do CaffeineSpec.
+ * O proxy transacional adia put/evict para depois do commit, evitando que uma
+ * leitura concorrente recoloque no cache um valor que ainda vai mudar.
+ * As estatísticas são publicadas no Micrometer como cache.gets, cache.puts, cache.evictions...
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUTO = "produto";
+    public static final String CARDAPIO = "cardapio";
+    public static final String RESTAURANTE = "restaurante";
+    public static final String RESTAURANTES_ATIVOS = "restaurantesAtivos";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${cache.produto.spec:maximumSize=10000,expireAfterWrite=10m}") String produto,
+            @Value("${cache.cardapio.spec:maximumSize=2000,expireAfterWrite=5m}") String cardapio,
+            @Value("${cache.restaurante.spec:maximumSize=2000,expireAfterWrite=10m}") String restaurante,
+            @Value("${cache.restaurantes-ativos.spec:maximumSize=1,expireAfterWrite=1m}") String restaurantesAtivos) {
+
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        manager.setAllowNullValues(false);
+        // Apenas as regiões abaixo; nomes desconhecidos falham em vez de criar cache sem limite
+        manager.setCacheNames(List.of(PRODUTO, CARDAPIO, RESTAURANTE, RESTAURANTES_ATIVOS));
+        manager.registerCustomCache(PRODUTO, construir(produto).build());
+        manager.registerCustomCache(CARDAPIO, construir(cardapio).build());
+        manager.registerCustomCache(RESTAURANTE, construir(restaurante).build());
+        manager.registerCustomCache(RESTAURANTES_ATIVOS, construir(restaurantesAtivos).build());
+
+        return new TransactionAwareCacheManagerProxy(manager);
+    }
+
+    private static Caffeine<Object, Object> construir(String spec) {
+        Caffeine<Object, Object> builder = Caffeine.from(spec);
+        return spec.contains("recordStats") ? builder : builder.recordStats();
+    }
+}
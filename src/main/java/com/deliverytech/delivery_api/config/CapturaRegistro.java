@@ -0,0 +1,18 @@
+package com.deliverytech.delivery_api.config;
+
+/**
+ * Dados de uma requisição /api/* capturada pelo {@link ResponseCaptureFilter}.
+ * Os corpos já chegam truncados em captura.max-body-bytes; a formatação
+ * acontece somente na thread do {@link CapturaWriter}.
+ */
+public record CapturaRegistro(
+        long timestamp,
+        String metodo,
+        String uri,
+        String queryString,
+        int status,
+        String contentType,
+        long duracaoNanos,
+        byte[] corpoRequisicao,
+        byte[] corpoResposta) {
+}
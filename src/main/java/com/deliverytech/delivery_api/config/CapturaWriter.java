@@ -0,0 +1,209 @@
+package com.deliverytech.delivery_api.config;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Gravação assíncrona das requisições capturadas.
+ *
+ * A thread da requisição só enfileira o registro (fila lock-free limitada);
+ * uma única thread em background drena a fila em lotes e faz append em
+ * arquivos de segmento NDJSON (entregaveis/captura-*.ndjson) pelo mesmo
+ * FileChannel, rotacionando ao atingir captura.segment-max-bytes.
+ * Com a fila cheia o registro é descartado, nunca bloqueia a requisição.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "captura.enabled", havingValue = "true", matchIfMissing = true)
+public class CapturaWriter {
+
+    private static final DateTimeFormatter FORMATO_SEGMENTO = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    private final ConcurrentLinkedQueue<CapturaRegistro> fila = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger tamanhoFila = new AtomicInteger();
+    private final LongAdder descartados = new LongAdder();
+    private final LongAdder gravados = new LongAdder();
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    private final Path diretorio;
+    private final int capacidade;
+    private final int tamanhoLote;
+    private final long segmentoMaxBytes;
+
+    private volatile boolean ativo;
+    private Thread thread;
+    private FileChannel canal;
+    private long bytesSegmento;
+    private int numeroSegmento;
+
+    public CapturaWriter(MeterRegistry meterRegistry,
+                         @Value("${captura.diretorio:entregaveis}") String diretorio,
+                         @Value("${captura.queue-capacity:10000}") int capacidade,
+                         @Value("${captura.batch-size:256}") int tamanhoLote,
+                         @Value("${captura.segment-max-bytes:67108864}") long segmentoMaxBytes) {
+        this.diretorio = Paths.get(diretorio);
+        this.capacidade = capacidade;
+        this.tamanhoLote = tamanhoLote;
+        this.segmentoMaxBytes = segmentoMaxBytes;
+
+        FunctionCounter.builder("captura.registros.descartados", descartados, LongAdder::sum)
+                .description("Registros descartados com a fila de captura cheia")
+                .register(meterRegistry);
+        FunctionCounter.builder("captura.registros.gravados", gravados, LongAdder::sum)
+                .description("Registros gravados nos segmentos de captura")
+                .register(meterRegistry);
+        Gauge.builder("captura.fila.tamanho", tamanhoFila, AtomicInteger::get)
+                .description("Registros aguardando gravação")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        ativo = true;
+        thread = new Thread(this::executar, "captura-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void parar() throws InterruptedException {
+        ativo = false;
+        LockSupport.unpark(thread);
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Enfileirar registro sem bloquear
+     * @return false se a fila estava cheia e o registro foi descartado
+     */
+    public boolean enfileirar(CapturaRegistro registro) {
+        if (tamanhoFila.incrementAndGet() > capacidade) {
+            tamanhoFila.decrementAndGet();
+            descartados.increment();
+            return false;
+        }
+        fila.offer(registro);
+        return true;
+    }
+
+    public long getDescartados() {
+        return descartados.sum();
+    }
+
+    private void executar() {
+        ByteArrayOutputStream lote = new ByteArrayOutputStream(64 * 1024);
+        try {
+            while (ativo || !fila.isEmpty()) {
+                if (drenarLote(lote) == 0) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(20));
+                }
+            }
+        } finally {
+            fecharSegmento();
+        }
+    }
+
+    private int drenarLote(ByteArrayOutputStream lote) {
+        lote.reset();
+        int quantidade = 0;
+        CapturaRegistro registro;
+        while (quantidade < tamanhoLote && (registro = fila.poll()) != null) {
+            tamanhoFila.decrementAndGet();
+            try {
+                serializar(registro, lote);
+                quantidade++;
+            } catch (IOException e) {
+                log.warn("Erro ao serializar captura de {} {}: {}", registro.metodo(), registro.uri(), e.getMessage());
+            }
+        }
+        if (lote.size() > 0) {
+            try {
+                gravar(lote);
+                gravados.add(quantidade);
+            } catch (IOException e) {
+                log.error("Erro ao gravar segmento de captura: {}", e.getMessage());
+                fecharSegmento();
+            }
+        }
+        return quantidade;
+    }
+
+    private void serializar(CapturaRegistro registro, ByteArrayOutputStream destino) throws IOException {
+        try (JsonGenerator json = jsonFactory.createGenerator(destino, JsonEncoding.UTF8)) {
+            json.writeStartObject();
+            json.writeStringField("timestamp", Instant.ofEpochMilli(registro.timestamp()).toString());
+            json.writeStringField("metodo", registro.metodo());
+            json.writeStringField("uri", registro.uri());
+            if (registro.queryString() != null) {
+                json.writeStringField("query", registro.queryString());
+            }
+            json.writeNumberField("status", registro.status());
+            json.writeStringField("contentType", registro.contentType());
+            json.writeNumberField("duracaoMs", registro.duracaoNanos() / 1_000_000.0);
+            json.writeStringField("requisicao", new String(registro.corpoRequisicao(), StandardCharsets.UTF_8));
+            json.writeStringField("resposta", new String(registro.corpoResposta(), StandardCharsets.UTF_8));
+            json.writeEndObject();
+        }
+        destino.write('\n');
+    }
+
+    private void gravar(ByteArrayOutputStream lote) throws IOException {
+        if (canal == null || bytesSegmento + lote.size() > segmentoMaxBytes) {
+            abrirNovoSegmento();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lote.toByteArray());
+        while (buffer.hasRemaining()) {
+            bytesSegmento += canal.write(buffer);
+        }
+    }
+
+    private void abrirNovoSegmento() throws IOException {
+        fecharSegmento();
+        Files.createDirectories(diretorio);
+        String nome = String.format("captura-%s-%03d.ndjson",
+                LocalDateTime.now().format(FORMATO_SEGMENTO), numeroSegmento++);
+        canal = FileChannel.open(diretorio.resolve(nome),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        bytesSegmento = canal.size();
+        log.info("Novo segmento de captura: {}", diretorio.resolve(nome));
+    }
+
+    private void fecharSegmento() {
+        if (canal != null) {
+            try {
+                canal.close();
+            } catch (IOException e) {
+                log.warn("Erro ao fechar segmento de captura: {}", e.getMessage());
+            }
+            canal = null;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.deliverytech.delivery_api.config;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.deliverytech.delivery_api.config.Transacoes.aposCommit;
+
+/**
+ * Versão do catálogo de cada restaurante e da lista de restaurantes, usada para
+ * gerar ETags sem serializar a resposta. As versões só existem em memória: a
+ * "época" (aleatória por instância) entra no ETag para que um reinício, ou outra
+ * instância, nunca responda 304 para um ETag que não emitiu. A versão só muda
+ * depois do commit: quem ler a versão nova já enxerga os dados novos.
+ */
+@Component
+public class CatalogoVersao {
+
+    private final String epoca = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+    private final ConcurrentHashMap<Long, AtomicLong> porRestaurante = new ConcurrentHashMap<>();
+    private final AtomicLong restaurantes = new AtomicLong();
+
+    public long versaoCardapio(Long restauranteId) {
+        AtomicLong versao = porRestaurante.get(restauranteId);
+        return versao != null ? versao.get() : 0L;
+    }
+
+    public long versaoRestaurantes() {
+        return restaurantes.get();
+    }
+
+    /** Produto do restaurante foi criado/alterado/removido */
+    public void cardapioAlterado(Long restauranteId) {
+        aposCommit(() -> porRestaurante.computeIfAbsent(restauranteId, id -> new AtomicLong()).incrementAndGet());
+    }
+
+    /** Dados do restaurante (ou sua situação na lista de ativos) mudaram */
+    public void restauranteAlterado(Long restauranteId) {
+        aposCommit(() -> {
+            porRestaurante.computeIfAbsent(restauranteId, id -> new AtomicLong()).incrementAndGet();
+            restaurantes.incrementAndGet();
+        });
+    }
+
+    /**
+     * ETag forte do cardápio; "variante" identifica a página pedida (cursor, limite...)
+     */
+    public String etagCardapio(Long restauranteId, String variante) {
+        return "\"c" + restauranteId + "-" + epoca + "-" + versaoCardapio(restauranteId) + "-" + variante + "\"";
+    }
+
+    public String etagRestaurante(Long restauranteId) {
+        return "\"r" + restauranteId + "-" + epoca + "-" + versaoCardapio(restauranteId) + "\"";
+    }
+
+    public String etagRestaurantes(String variante) {
+        return "\"r-" + epoca + "-" + versaoRestaurantes() + "-" + variante + "\"";
+    }
+}
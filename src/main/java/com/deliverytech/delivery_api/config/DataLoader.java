@@ -83,7 +83,7 @@ public class DataLoader implements CommandLineRunner {
         
         // ✅ INFORMAR sobre captura automática
         System.out.println("\n🎯 SISTEMA DE CAPTURA AUTOMÁTICA ATIVO!");
-        System.out.println("📁 Respostas serão salvas em: ./entregaveis/");
+        System.out.println("📁 Respostas serão salvas em: ./entregaveis/captura-*.ndjson");
         System.out.println("🔄 Faça requisições para /api/* e veja os arquivos sendo gerados!\n");
     }
 
@@ -139,6 +139,9 @@ private void inserirRestaurantes() {
     restaurante1.setTelefone("1133333333");
     restaurante1.setTaxaEntrega(new BigDecimal("3.50"));
     restaurante1.setAtivo(true);
+    restaurante1.setCep("01310-100");
+    restaurante1.setLatitude(-23.5614);
+    restaurante1.setLongitude(-46.6559);
 
     Restaurante restaurante2 = new Restaurante();
     restaurante2.setNome("Burger King");
@@ -146,6 +149,9 @@ private void inserirRestaurantes() {
     restaurante2.setTelefone("1144444444");
     restaurante2.setTaxaEntrega(new BigDecimal("5.00"));
     restaurante2.setAtivo(true);
+    restaurante2.setCep("04538-133");
+    restaurante2.setLatitude(-23.5868);
+    restaurante2.setLongitude(-46.6812);
 
     Restaurante restaurante3 = new Restaurante();
     restaurante3.setNome("Sushi House");
@@ -153,6 +159,9 @@ private void inserirRestaurantes() {
     restaurante3.setTelefone("1155555555");
     restaurante3.setTaxaEntrega(new BigDecimal("4.00"));
     restaurante3.setAtivo(true);
+    restaurante3.setCep("01508-000");
+    restaurante3.setLatitude(-23.5587);
+    restaurante3.setLongitude(-46.6347);
 
     Restaurante restaurante4 = new Restaurante();
     restaurante4.setNome("Gyros Athenas");
@@ -160,6 +169,9 @@ private void inserirRestaurantes() {
     restaurante4.setTelefone("1166666666");
     restaurante4.setTaxaEntrega(new BigDecimal("6.50"));
     restaurante4.setAtivo(true);
+    restaurante4.setCep("05422-010");
+    restaurante4.setLatitude(-23.5660);
+    restaurante4.setLongitude(-46.6905);
 
     Restaurante restaurante5 = new Restaurante();
     restaurante5.setNome("Chiparia do Porto");
@@ -167,6 +179,9 @@ private void inserirRestaurantes() {
     restaurante5.setTelefone("1177777777");
     restaurante5.setTaxaEntrega(new BigDecimal("7.00"));
     restaurante5.setAtivo(true);
+    restaurante5.setCep("03310-000");
+    restaurante5.setLatitude(-23.5432);
+    restaurante5.setLongitude(-46.5770);
 
     restauranteRepository.saveAll(Arrays.asList(restaurante1, restaurante2, restaurante3, restaurante4, restaurante5));
     System.out.println("✓ 5 restaurantes inseridos");
@@ -0,0 +1,33 @@
+package com.deliverytech.delivery_api.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Valor da tag "endpoint" das métricas: método HTTP e padrão da rota
+ * ("GET /api/pedidos/{id}"), nunca a URI concreta, para manter a cardinalidade baixa
+ */
+public final class EndpointAtual {
+
+    public static final String NENHUM = "nenhum";
+    public static final String DESCONHECIDO = "desconhecido";
+
+    private EndpointAtual() {
+    }
+
+    /** Endpoint da requisição da thread corrente; "nenhum" fora de requisições (threads de fundo) */
+    public static String tag() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes atributos) {
+            return tag(atributos.getRequest());
+        }
+        return NENHUM;
+    }
+
+    /** "desconhecido" antes do mapeamento para o controller ou quando nenhuma rota casou */
+    public static String tag(HttpServletRequest request) {
+        Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return padrao != null ? request.getMethod() + " " + padrao : DESCONHECIDO;
+    }
+}
@@ -1,20 +1,114 @@
 package com.deliverytech.delivery_api.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.IntSupplier;
+
 @Configuration
 public class FilterConfig {
 
     @Bean
-    public FilterRegistrationBean<ResponseCaptureFilter> responseCaptureFilter() {
+    @ConditionalOnProperty(name = "captura.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<ResponseCaptureFilter> responseCaptureFilter(
+            MeterRegistry meterRegistry,
+            CapturaWriter capturaWriter,
+            @Value("${captura.sampling-rate:1.0}") double taxaAmostragem,
+            @Value("${captura.max-body-bytes:4096}") int maxBodyBytes) {
         FilterRegistrationBean<ResponseCaptureFilter> registrationBean = new FilterRegistrationBean<>();
         
-        registrationBean.setFilter(new ResponseCaptureFilter());
+        registrationBean.setFilter(new ResponseCaptureFilter(meterRegistry, capturaWriter, taxaAmostragem, maxBodyBytes));
         registrationBean.addUrlPatterns("/api/*");
         registrationBean.setOrder(1);
         
         return registrationBean;
     }
+
+    /**
+     * Idempotency-Key nas escritas de pedidos; depois do Spring Security (usuário da chave)
+     * e dentro da captura, que registra também as respostas repetidas
+     */
+    @Bean
+    public FilterRegistrationBean<IdempotenciaFilter> idempotenciaFilter(
+            ArmazemIdempotencia armazem,
+            ObjectMapper objectMapper,
+            @Value("${idempotencia.max-body-bytes:65536}") int maxBodyBytes) {
+        FilterRegistrationBean<IdempotenciaFilter> registrationBean = new FilterRegistrationBean<>();
+
+        registrationBean.setFilter(new IdempotenciaFilter(armazem, objectMapper, maxBodyBytes));
+        registrationBean.addUrlPatterns("/api/pedidos/*");
+        registrationBean.setOrder(2);
+
+        return registrationBean;
+    }
+
+    /**
+     * Limitação de taxa por rota e de concorrência; depois do Spring Security (usuário do JWT)
+     * e antes da captura e da idempotência, para recusar o quanto antes
+     */
+    @Bean
+    @ConditionalOnProperty(name = "limite.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<LimiteRequisicoesFilter> limiteRequisicoesFilter(
+            DataSource dataSource,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${limite.max-chaves:100000}") long maxChaves,
+            @Value("${limite.login.taxa-por-minuto:10}") double loginPorMinuto,
+            @Value("${limite.login.rajada:5}") int loginRajada,
+            @Value("${limite.relatorios.taxa-por-minuto:30}") double relatoriosPorMinuto,
+            @Value("${limite.relatorios.rajada:10}") int relatoriosRajada,
+            @Value("${limite.api.taxa-por-segundo:20}") double apiPorSegundo,
+            @Value("${limite.api.rajada:40}") int apiRajada,
+            @Value("${limite.concorrencia.inicial:40}") int concorrenciaInicial,
+            @Value("${limite.concorrencia.minimo:10}") int concorrenciaMinima,
+            @Value("${limite.concorrencia.maximo:500}") int concorrenciaMaxima,
+            @Value("${limite.concorrencia.tolerancia-latencia:4.0}") double toleranciaLatencia) {
+        List<LimiteRequisicoesFilter.Politica> politicas = List.of(
+                // Login e cadastro rodam BCrypt: por IP, já que o usuário ainda não é conhecido
+                new LimiteRequisicoesFilter.Politica("login", "POST", "/api/auth/", LimiteRequisicoesFilter.Chave.IP,
+                        new LimitadorTaxa(loginPorMinuto / 60, loginRajada, maxChaves)),
+                new LimiteRequisicoesFilter.Politica("relatorios", null, "/api/relatorios", LimiteRequisicoesFilter.Chave.USUARIO,
+                        new LimitadorTaxa(relatoriosPorMinuto / 60, relatoriosRajada, maxChaves)),
+                new LimiteRequisicoesFilter.Politica("api", null, "/api/", LimiteRequisicoesFilter.Chave.USUARIO,
+                        new LimitadorTaxa(apiPorSegundo, apiRajada, maxChaves)));
+        LimitadorConcorrencia concorrencia = new LimitadorConcorrencia(concorrenciaInicial, concorrenciaMinima,
+                concorrenciaMaxima, toleranciaLatencia, conexoesAguardando(dataSource));
+
+        FilterRegistrationBean<LimiteRequisicoesFilter> registrationBean = new FilterRegistrationBean<>();
+
+        registrationBean.setFilter(new LimiteRequisicoesFilter(politicas, concorrencia, objectMapper, meterRegistry));
+        registrationBean.addUrlPatterns("/api/*");
+        registrationBean.setOrder(0);
+
+        return registrationBean;
+    }
+
+    /** Threads esperando conexão: na fila de admissão (threads virtuais) ou no próprio Hikari */
+    private static IntSupplier conexoesAguardando(DataSource dataSource) {
+        if (dataSource instanceof AdmissaoConexoesDataSource admissao) {
+            return admissao::getAguardando;
+        }
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+                return () -> {
+                    HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                    return pool != null ? pool.getThreadsAwaitingConnection() : 0;
+                };
+            }
+        } catch (SQLException e) {
+            // Sem acesso ao pool o sinal fica só na latência
+        }
+        return () -> 0;
+    }
 }
@@ -0,0 +1,213 @@
+package com.deliverytech.delivery_api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Suporte ao header Idempotency-Key nas escritas de pedidos: a primeira requisição
+ * com a chave é processada e sua resposta guardada; repetições com o mesmo método,
+ * caminho e corpo recebem a resposta guardada sem passar pelo controller.
+ * Sem o header a requisição segue normalmente.
+ */
+public class IdempotenciaFilter implements Filter {
+
+    public static final String HEADER_CHAVE = "Idempotency-Key";
+    public static final String HEADER_REPETIDA = "Idempotent-Replayed";
+
+    private static final int TAMANHO_MAXIMO_CHAVE = 255;
+    private static final Set<String> METODOS_SEGUROS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final ArmazemIdempotencia armazem;
+    private final ObjectMapper objectMapper;
+    private final int maxBodyBytes;
+
+    public IdempotenciaFilter(ArmazemIdempotencia armazem, ObjectMapper objectMapper, int maxBodyBytes) {
+        this.armazem = armazem;
+        this.objectMapper = objectMapper;
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        String chaveCliente = httpRequest.getHeader(HEADER_CHAVE);
+
+        if (chaveCliente == null || METODOS_SEGUROS.contains(httpRequest.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (chaveCliente.isBlank() || chaveCliente.length() > TAMANHO_MAXIMO_CHAVE) {
+            erro(httpRequest, httpResponse, HttpStatus.BAD_REQUEST,
+                    HEADER_CHAVE + " deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+            return;
+        }
+
+        byte[] corpo = httpRequest.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (corpo.length > maxBodyBytes) {
+            erro(httpRequest, httpResponse, HttpStatus.PAYLOAD_TOO_LARGE,
+                    "Corpo acima de " + maxBodyBytes + " bytes não é aceito com " + HEADER_CHAVE);
+            return;
+        }
+
+        // A chave vale por usuário: a mesma chave de outro usuário é outra requisição
+        String usuario = httpRequest.getRemoteUser() != null ? httpRequest.getRemoteUser() : "";
+        String chave = sha256(usuario.getBytes(StandardCharsets.UTF_8), chaveCliente.getBytes(StandardCharsets.UTF_8));
+        String impressao = sha256((httpRequest.getMethod() + " " + httpRequest.getRequestURI() + "?"
+                + (httpRequest.getQueryString() != null ? httpRequest.getQueryString() : "")).getBytes(StandardCharsets.UTF_8), corpo);
+
+        ArmazemIdempotencia.Reserva reserva = armazem.reservar(chave, impressao);
+        switch (reserva.situacao()) {
+            case CONCLUIDA -> repetir(reserva.resposta(), httpResponse);
+            case EM_ANDAMENTO -> {
+                httpResponse.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                erro(httpRequest, httpResponse, HttpStatus.CONFLICT,
+                        "Requisição com esta " + HEADER_CHAVE + " ainda está em processamento");
+            }
+            case OUTRA_REQUISICAO -> erro(httpRequest, httpResponse, HttpStatus.UNPROCESSABLE_ENTITY,
+                    HEADER_CHAVE + " já usada em uma requisição diferente");
+            case NOVA -> processar(new CorpoRelido(httpRequest, corpo), httpResponse, chain, chave, impressao);
+        }
+    }
+
+    private void processar(HttpServletRequest request, HttpServletResponse response, FilterChain chain,
+                           String chave, String impressao) throws IOException, ServletException {
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        boolean concluida = false;
+        try {
+            chain.doFilter(request, responseWrapper);
+            // 5xx não é guardado: a nova tentativa deve ser processada de novo
+            if (responseWrapper.getStatus() < 500) {
+                armazem.concluir(chave, impressao, new ArmazemIdempotencia.Resposta(responseWrapper.getStatus(),
+                        responseWrapper.getContentType(), responseWrapper.getHeader(HttpHeaders.LOCATION),
+                        responseWrapper.getContentAsByteArray()));
+                concluida = true;
+            }
+        } finally {
+            if (!concluida) {
+                armazem.liberar(chave);
+            }
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private static void repetir(ArmazemIdempotencia.Resposta resposta, HttpServletResponse response) throws IOException {
+        response.setStatus(resposta.status());
+        if (resposta.contentType() != null) {
+            response.setContentType(resposta.contentType());
+        }
+        if (resposta.location() != null) {
+            response.setHeader(HttpHeaders.LOCATION, resposta.location());
+        }
+        response.setHeader(HEADER_REPETIDA, "true");
+        response.setContentLength(resposta.corpo().length);
+        response.getOutputStream().write(resposta.corpo());
+    }
+
+    private void erro(HttpServletRequest request, HttpServletResponse response, HttpStatus status, String mensagem)
+            throws IOException {
+        Map<String, Object> erro = new LinkedHashMap<>();
+        erro.put("timestamp", LocalDateTime.now().toString());
+        erro.put("status", status.value());
+        erro.put("error", status.getReasonPhrase());
+        erro.put("message", mensagem);
+        erro.put("path", request.getRequestURI());
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), erro);
+    }
+
+    private static String sha256(byte[] primeiro, byte[] segundo) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(primeiro);
+            digest.update((byte) 0);
+            digest.update(segundo);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Requisição cujo corpo já foi lido pelo filtro e é servido de novo a partir da memória */
+    private static final class CorpoRelido extends HttpServletRequestWrapper {
+
+        private final byte[] corpo;
+
+        CorpoRelido(HttpServletRequest request, byte[] corpo) {
+            super(request);
+            this.corpo = corpo;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream entrada = new ByteArrayInputStream(corpo);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return entrada.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return entrada.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return entrada.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return corpo.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return corpo.length;
+        }
+    }
+}
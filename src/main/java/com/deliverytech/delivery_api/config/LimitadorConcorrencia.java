@@ -0,0 +1,122 @@
+package com.deliverytech.delivery_api.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Limite adaptativo de requisições simultâneas (AIMD), para recusar carga antes
+ * que o pool JDBC sature.
+ *
+ * Sinais de congestionamento: threads esperando conexão no pool, ou latência acima
+ * de {@code tolerancia} vezes a latência de referência da classe da requisição (média
+ * lenta das requisições saudáveis da mesma política de rota: login com BCrypt não é
+ * comparado a uma leitura de 2 ms). A latência só conta com o limite quase todo
+ * ocupado; com folga, uma requisição lenta é da rota, não fila. Com congestionamento
+ * o limite cai 10%, no máximo uma vez por janela; sem congestionamento e com o limite
+ * em uso, sobe uma unidade por "limite" requisições. Tudo em CAS, sem lock.
+ */
+public class LimitadorConcorrencia {
+
+    private static final double FATOR_REDUCAO = 0.9;
+    private static final double PESO_REFERENCIA = 0.01;
+    private static final long JANELA_REDUCAO_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final double OCUPACAO_CONGESTIONADA = 0.9;
+
+    private final int minimo;
+    private final int maximo;
+    private final double tolerancia;
+    private final IntSupplier aguardandoConexao;
+    private final LongSupplier relogio;
+
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private final AtomicLong limite;
+    // Classe (política de rota) -> latência de referência, em bits de double
+    private final Map<String, AtomicLong> latenciasReferencia = new ConcurrentHashMap<>();
+    private final AtomicLong ultimaReducao = new AtomicLong(Long.MIN_VALUE);
+
+    public LimitadorConcorrencia(int inicial, int minimo, int maximo, double tolerancia, IntSupplier aguardandoConexao) {
+        this(inicial, minimo, maximo, tolerancia, aguardandoConexao, System::nanoTime);
+    }
+
+    LimitadorConcorrencia(int inicial, int minimo, int maximo, double tolerancia,
+                          IntSupplier aguardandoConexao, LongSupplier relogio) {
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.tolerancia = tolerancia;
+        this.aguardandoConexao = aguardandoConexao;
+        this.relogio = relogio;
+        this.limite = new AtomicLong(Double.doubleToRawLongBits(Math.clamp(inicial, minimo, maximo)));
+    }
+
+    /** Reserva uma vaga; false quando o limite atual já está ocupado */
+    public boolean adquirir() {
+        int limiteAtual = getLimite();
+        while (true) {
+            int atual = emAndamento.get();
+            if (atual >= limiteAtual) {
+                return false;
+            }
+            if (emAndamento.compareAndSet(atual, atual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /** Devolve a vaga e ajusta o limite com a latência observada na classe da requisição */
+    public void liberar(String classe, long duracaoNanos, boolean sobrecarga) {
+        int ocupadas = emAndamento.getAndDecrement();
+        AtomicLong latenciaReferencia = latenciasReferencia.computeIfAbsent(classe,
+                c -> new AtomicLong(Double.doubleToRawLongBits(0)));
+        double referencia = Double.longBitsToDouble(latenciaReferencia.get());
+        boolean lenta = referencia > 0 && duracaoNanos > tolerancia * referencia;
+
+        if (sobrecarga || aguardandoConexao.getAsInt() > 0
+                || (lenta && ocupadas >= OCUPACAO_CONGESTIONADA * getLimite())) {
+            reduzir();
+            return;
+        }
+        if (lenta) {
+            return;
+        }
+        atualizar(latenciaReferencia, r -> r == 0 ? duracaoNanos : r + PESO_REFERENCIA * (duracaoNanos - r));
+        // Só cresce quando o limite está sendo usado; folga ociosa não prova capacidade
+        if (ocupadas * 2 >= getLimite()) {
+            atualizar(limite, l -> Math.min(maximo, l + 1 / l));
+        }
+    }
+
+    public int getLimite() {
+        return (int) Double.longBitsToDouble(limite.get());
+    }
+
+    public int getEmAndamento() {
+        return emAndamento.get();
+    }
+
+    private void reduzir() {
+        long agora = relogio.getAsLong();
+        long ultima = ultimaReducao.get();
+        if (ultima != Long.MIN_VALUE && agora - ultima < JANELA_REDUCAO_NANOS) {
+            return;
+        }
+        if (ultimaReducao.compareAndSet(ultima, agora)) {
+            atualizar(limite, l -> Math.max(minimo, l * FATOR_REDUCAO));
+        }
+    }
+
+    private static void atualizar(AtomicLong alvo, DoubleUnaryOperator funcao) {
+        while (true) {
+            long atual = alvo.get();
+            long novo = Double.doubleToRawLongBits(funcao.applyAsDouble(Double.longBitsToDouble(atual)));
+            if (alvo.compareAndSet(atual, novo)) {
+                return;
+            }
+        }
+    }
+}
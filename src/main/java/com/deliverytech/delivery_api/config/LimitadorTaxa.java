@@ -0,0 +1,62 @@
+package com.deliverytech.delivery_api.config;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Balde de fichas por chave (IP ou usuário), sem lock.
+ *
+ * Cada chave guarda só o "horário teórico de chegada" (GCRA) num AtomicLong: a
+ * requisição passa se esse horário não está mais de uma rajada à frente do relógio,
+ * e o avança de um intervalo por CAS. É o mesmo que um balde de {@code rajada} fichas
+ * reposto a {@code taxaPorSegundo}. Chaves paradas saem do cache quando o balde já
+ * estaria cheio, então expirar não muda nenhuma decisão.
+ */
+public class LimitadorTaxa {
+
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final LongSupplier relogio;
+    private final Cache<String, AtomicLong> chegadas;
+
+    public LimitadorTaxa(double taxaPorSegundo, int rajada, long maxChaves) {
+        this(taxaPorSegundo, rajada, maxChaves, System::nanoTime);
+    }
+
+    LimitadorTaxa(double taxaPorSegundo, int rajada, long maxChaves, LongSupplier relogio) {
+        if (taxaPorSegundo <= 0 || rajada < 1) {
+            throw new IllegalArgumentException("Taxa e rajada devem ser positivas");
+        }
+        this.intervaloNanos = (long) (TimeUnit.SECONDS.toNanos(1) / taxaPorSegundo);
+        this.toleranciaNanos = intervaloNanos * (rajada - 1);
+        this.relogio = relogio;
+        this.chegadas = Caffeine.newBuilder()
+                .maximumSize(maxChaves)
+                .expireAfterAccess(Duration.ofNanos(toleranciaNanos + intervaloNanos))
+                .build();
+    }
+
+    /**
+     * Consome uma ficha da chave. Retorna 0 se a requisição passa; senão, os
+     * nanossegundos até a próxima ficha (para o Retry-After).
+     */
+    public long tentar(String chave) {
+        AtomicLong chegada = chegadas.get(chave, c -> new AtomicLong(Long.MIN_VALUE));
+        long agora = relogio.getAsLong();
+        while (true) {
+            long atual = chegada.get();
+            long base = Math.max(atual, agora);
+            if (base - agora > toleranciaNanos) {
+                return base - toleranciaNanos - agora;
+            }
+            if (chegada.compareAndSet(atual, base + intervaloNanos)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.deliverytech.delivery_api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Proteção contra rajadas na API, depois do Spring Security (o usuário do JWT já é conhecido):
+ * <ol>
+ * <li>taxa por política de rota, com balde de fichas por usuário autenticado ou, sem
+ * usuário, por IP; estourada, responde 429 com Retry-After;</li>
+ * <li>limite adaptativo de concorrência ({@link LimitadorConcorrencia}); cheio, responde
+ * 503 com Retry-After antes que as requisições fiquem presas esperando o pool JDBC.</li>
+ * </ol>
+ * Fluxos SSE ficam fora do limite de concorrência: ocupariam a vaga pela conexão inteira.
+ */
+public class LimiteRequisicoesFilter implements Filter {
+
+    public enum Chave { IP, USUARIO }
+
+    /** Primeira política cujo método (null = qualquer) e prefixo casam é a aplicada */
+    public record Politica(String nome, String metodo, String prefixo, Chave chave, LimitadorTaxa limitador) {
+
+        boolean casa(HttpServletRequest request) {
+            return (metodo == null || metodo.equals(request.getMethod())) && request.getRequestURI().startsWith(prefixo);
+        }
+    }
+
+    private static final String CONCORRENCIA = "concorrencia";
+    private static final String SEM_POLITICA = "outras";
+
+    private final List<Politica> politicas;
+    private final LimitadorConcorrencia concorrencia;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Counter> rejeicoes = new HashMap<>();
+
+    public LimiteRequisicoesFilter(List<Politica> politicas, LimitadorConcorrencia concorrencia,
+                                   ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.politicas = politicas;
+        this.concorrencia = concorrencia;
+        this.objectMapper = objectMapper;
+
+        for (Politica politica : politicas) {
+            rejeicoes.put(politica.nome(), rejeicao(meterRegistry, politica.nome(), HttpStatus.TOO_MANY_REQUESTS));
+        }
+        rejeicoes.put(CONCORRENCIA, rejeicao(meterRegistry, CONCORRENCIA, HttpStatus.SERVICE_UNAVAILABLE));
+        Gauge.builder("limite.concorrencia.limite", concorrencia, LimitadorConcorrencia::getLimite)
+                .description("Requisições simultâneas admitidas no momento")
+                .register(meterRegistry);
+        Gauge.builder("limite.concorrencia.em.andamento", concorrencia, LimitadorConcorrencia::getEmAndamento)
+                .description("Requisições em andamento dentro do limite de concorrência")
+                .register(meterRegistry);
+    }
+
+    private static Counter rejeicao(MeterRegistry meterRegistry, String politica, HttpStatus status) {
+        return Counter.builder("limite.rejeicoes")
+                .description("Requisições recusadas pela limitação de taxa ou de concorrência")
+                .tag("politica", politica)
+                .tag("status", Integer.toString(status.value()))
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+
+        // A latência de referência do limite de concorrência é por política de rota
+        String classe = SEM_POLITICA;
+        for (Politica politica : politicas) {
+            if (politica.casa(httpRequest)) {
+                classe = politica.nome();
+                long esperaNanos = politica.limitador().tentar(chave(politica, httpRequest));
+                if (esperaNanos > 0) {
+                    rejeitar(httpRequest, httpResponse, politica.nome(), HttpStatus.TOO_MANY_REQUESTS,
+                            segundos(esperaNanos), "Limite de requisições excedido, tente novamente mais tarde");
+                    return;
+                }
+                break;
+            }
+        }
+
+        if (fluxoDeEventos(httpRequest)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!concorrencia.adquirir()) {
+            rejeitar(httpRequest, httpResponse, CONCORRENCIA, HttpStatus.SERVICE_UNAVAILABLE,
+                    1, "Servidor sobrecarregado, tente novamente em instantes");
+            return;
+        }
+        long inicio = System.nanoTime();
+        boolean sobrecarga = true;
+        try {
+            chain.doFilter(request, response);
+            sobrecarga = httpResponse.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value();
+        } finally {
+            concorrencia.liberar(classe, System.nanoTime() - inicio, sobrecarga);
+        }
+    }
+
+    private static String chave(Politica politica, HttpServletRequest request) {
+        if (politica.chave() == Chave.USUARIO) {
+            Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+            if (autenticacao != null && autenticacao.isAuthenticated()
+                    && !(autenticacao instanceof AnonymousAuthenticationToken)) {
+                return "u:" + autenticacao.getName();
+            }
+        }
+        // Atrás de proxy, o IP real vem do RemoteIpValve (server.forward-headers-strategy)
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static boolean fluxoDeEventos(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return request.getRequestURI().endsWith("/eventos")
+                || (accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE));
+    }
+
+    private static long segundos(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    private void rejeitar(HttpServletRequest request, HttpServletResponse response, String politica,
+                          HttpStatus status, long retryAfterSegundos, String mensagem) throws IOException {
+        rejeicoes.get(politica).increment();
+
+        Map<String, Object> erro = new LinkedHashMap<>();
+        erro.put("timestamp", LocalDateTime.now().toString());
+        erro.put("status", status.value());
+        erro.put("error", status.getReasonPhrase());
+        erro.put("message", mensagem);
+        erro.put("path", request.getRequestURI());
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSegundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), erro);
+    }
+}
@@ -0,0 +1,95 @@
+package com.deliverytech.delivery_api.config;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Instruções SQL executadas durante a requisição HTTP da thread corrente: quantidade,
+ * tempo acumulado no JDBC e execuções por texto de SQL.
+ * Aberta e fechada pelo {@link MetricasRequisicaoFilter}; alimentada pelo
+ * {@link MedicaoSqlDataSource}. Fora de uma requisição nada é contado.
+ */
+public final class MedicaoSql {
+
+    private static final ThreadLocal<MedicaoSql> ATUAL = new ThreadLocal<>();
+
+    // Limita a memória de requisições que geram SQL dinâmico sem fim
+    private static final int MAX_SQL_DISTINTOS = 256;
+    private static final String OUTROS = "(outros)";
+
+    private static final Pattern TEXTOS = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMEROS = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern LISTAS_IN = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private int instrucoes;
+    private long duracaoNanos;
+    private final Map<String, Integer> execucoesPorSql = new HashMap<>();
+
+    private MedicaoSql() {
+    }
+
+    public static MedicaoSql iniciar() {
+        MedicaoSql medicao = new MedicaoSql();
+        ATUAL.set(medicao);
+        return medicao;
+    }
+
+    public static void encerrar() {
+        ATUAL.remove();
+    }
+
+    /** Medição da requisição corrente, ou null fora de uma requisição */
+    public static MedicaoSql atual() {
+        return ATUAL.get();
+    }
+
+    static void registrar(String sql, long duracaoNanos) {
+        MedicaoSql medicao = ATUAL.get();
+        if (medicao == null) {
+            return;
+        }
+        medicao.instrucoes++;
+        medicao.duracaoNanos += duracaoNanos;
+        // O texto cru é a chave; a normalização só é paga quando o relatório é pedido
+        String chave = sql != null ? sql : "(lote)";
+        if (medicao.execucoesPorSql.size() >= MAX_SQL_DISTINTOS && !medicao.execucoesPorSql.containsKey(chave)) {
+            chave = OUTROS;
+        }
+        medicao.execucoesPorSql.merge(chave, 1, Integer::sum);
+    }
+
+    public int getInstrucoes() {
+        return instrucoes;
+    }
+
+    public long getDuracaoNanos() {
+        return duracaoNanos;
+    }
+
+    /**
+     * Impressões digitais das instruções, da mais executada para a menos executada,
+     * limitadas a "limite"; literais e listas IN de tamanhos diferentes viram a mesma impressão
+     */
+    public Map<String, Integer> impressoes(int limite) {
+        Map<String, Integer> agrupadas = new HashMap<>();
+        execucoesPorSql.forEach((sql, execucoes) -> agrupadas.merge(impressao(sql), execucoes, Integer::sum));
+
+        Map<String, Integer> resultado = new LinkedHashMap<>();
+        agrupadas.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(limite)
+                .forEach(e -> resultado.put(e.getKey(), e.getValue()));
+        return resultado;
+    }
+
+    /** SQL sem literais, com listas IN colapsadas e espaços normalizados */
+    public static String impressao(String sql) {
+        String normalizado = TEXTOS.matcher(sql).replaceAll("?");
+        normalizado = NUMEROS.matcher(normalizado).replaceAll("?");
+        normalizado = LISTAS_IN.matcher(normalizado).replaceAll("(?...)");
+        return ESPACOS.matcher(normalizado).replaceAll(" ").trim();
+    }
+}
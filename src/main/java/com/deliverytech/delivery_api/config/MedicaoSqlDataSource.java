@@ -0,0 +1,100 @@
+package com.deliverytech.delivery_api.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource que mede, em {@link MedicaoSql}, cada execução de instrução
+ * (execute*, inclusive executeBatch, que é uma ida ao banco) e o tempo gasto nela.
+ * Instruções mais lentas que o limite são logadas pela impressão digital,
+ * dentro ou fora de requisições.
+ * As conexões e instruções são proxies finos; o resto das chamadas vai direto ao alvo.
+ */
+@Slf4j
+public class MedicaoSqlDataSource extends DelegatingDataSource {
+
+    private final long lentaNanos;
+
+    public MedicaoSqlDataSource(DataSource alvo, long lentaMillis) {
+        super(alvo);
+        this.lentaNanos = TimeUnit.MILLISECONDS.toNanos(lentaMillis);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return medir(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return medir(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection medir(Connection alvo) {
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionProxy.class.getClassLoader(),
+                new Class<?>[] { ConnectionProxy.class },
+                (proxy, metodo, args) -> switch (metodo.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "getTargetConnection" -> alvo;
+                    case "createStatement" -> medir(Statement.class, (Statement) invocar(alvo, metodo, args), null);
+                    case "prepareStatement" -> medir(PreparedStatement.class, (Statement) invocar(alvo, metodo, args), (String) args[0]);
+                    case "prepareCall" -> medir(CallableStatement.class, (Statement) invocar(alvo, metodo, args), (String) args[0]);
+                    default -> invocar(alvo, metodo, args);
+                });
+    }
+
+    /** "sqlPreparado" é nulo em Statement simples: o SQL vem em cada execute(sql) */
+    private Statement medir(Class<? extends Statement> tipo, Statement alvo, String sqlPreparado) {
+        return (Statement) Proxy.newProxyInstance(
+                MedicaoSqlDataSource.class.getClassLoader(),
+                new Class<?>[] { tipo },
+                (proxy, metodo, args) -> switch (metodo.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> {
+                        if (!metodo.getName().startsWith("execute")) {
+                            yield invocar(alvo, metodo, args);
+                        }
+                        String sql = sqlPreparado != null ? sqlPreparado
+                                : args != null && args.length > 0 && args[0] instanceof String texto ? texto : null;
+                        long inicio = System.nanoTime();
+                        try {
+                            yield invocar(alvo, metodo, args);
+                        } finally {
+                            registrar(sql, System.nanoTime() - inicio);
+                        }
+                    }
+                });
+    }
+
+    private void registrar(String sql, long duracaoNanos) {
+        MedicaoSql.registrar(sql, duracaoNanos);
+        if (duracaoNanos > lentaNanos && log.isWarnEnabled()) {
+            log.warn("SQL lenta ({} ms, endpoint {}): {}", TimeUnit.NANOSECONDS.toMillis(duracaoNanos),
+                    EndpointAtual.tag(), sql != null ? MedicaoSql.impressao(sql) : "(lote)");
+        }
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
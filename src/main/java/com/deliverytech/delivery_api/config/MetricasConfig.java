@@ -0,0 +1,121 @@
+package com.deliverytech.delivery_api.config;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import javax.sql.DataSource;
+
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener.RepositoryMethodInvocation;
+import org.springframework.util.ClassUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Instrumentação dos caminhos quentes para o Prometheus:
+ * <ul>
+ * <li>timer "servico.chamadas" em todo método público dos *ServiceImpl;</li>
+ * <li>"spring.data.repository.invocations" (do Spring Boot) nos repositórios, com a tag endpoint;</li>
+ * <li>"http.server.requests.sql" e "http.server.requests.jdbc": instruções SQL e tempo de JDBC
+ * por requisição, com orçamento (sql.orcamento.*) e log de SQL lenta (sql.lenta-ms).</li>
+ * </ul>
+ * Os buckets de SLO ficam em management.metrics.distribution.slo.*; os gauges do pool
+ * (hikaricp.*, jdbc.connections.*) vêm do Spring Boot, que enxerga o Hikari através do proxy.
+ */
+@Configuration
+public class MetricasConfig {
+
+    /**
+     * Advisor de infraestrutura: entra no mesmo proxy do @Transactional, por fora,
+     * e o tempo medido inclui o commit
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor metricasServicosAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        StaticMethodMatcherPointcut pontos = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method metodo, Class<?> classe) {
+                return Modifier.isPublic(metodo.getModifiers()) && metodo.getDeclaringClass() != Object.class;
+            }
+        };
+        pontos.setClassFilter(classe -> {
+            Class<?> usuario = ClassUtils.getUserClass(classe);
+            return usuario.getPackageName().startsWith("com.deliverytech.delivery_api.service")
+                    && usuario.getSimpleName().endsWith("ServiceImpl");
+        });
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(pontos, new MetricasServicoInterceptor(meterRegistry));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    /** Roda antes dos demais (ex.: admissão de conexões) para medir direto sobre o pool */
+    @Bean
+    static BeanPostProcessor medicaoSqlPostProcessor(Environment env) {
+        return new MedicaoSqlPostProcessor(env.getProperty("sql.lenta-ms", Long.class, 200L));
+    }
+
+    @Bean
+    FilterRegistrationBean<MetricasRequisicaoFilter> metricasRequisicaoFilter(
+            MeterRegistry meterRegistry,
+            @Value("${sql.orcamento.max-instrucoes:30}") int maxInstrucoes,
+            @Value("${sql.orcamento.max-tempo-ms:500}") long maxTempoMillis,
+            @Value("${sql.headers.enabled:true}") boolean headers) {
+        FilterRegistrationBean<MetricasRequisicaoFilter> registrationBean = new FilterRegistrationBean<>();
+
+        registrationBean.setFilter(new MetricasRequisicaoFilter(meterRegistry, maxInstrucoes, maxTempoMillis, headers));
+        registrationBean.addUrlPatterns("/api/*");
+        // Antes do Spring Security: a carga do usuário autenticado também conta
+        registrationBean.setOrder(Ordered.HIGHEST_PRECEDENCE);
+
+        return registrationBean;
+    }
+
+    @Bean
+    RepositoryTagsProvider repositoryTagsProvider() {
+        return new DefaultRepositoryTagsProvider() {
+            @Override
+            public Iterable<Tag> repositoryTags(RepositoryMethodInvocation invocation) {
+                return Tags.of(super.repositoryTags(invocation))
+                        .and("endpoint", EndpointAtual.tag());
+            }
+        };
+    }
+
+    private static final class MedicaoSqlPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final long lentaMillis;
+
+        MedicaoSqlPostProcessor(long lentaMillis) {
+            this.lentaMillis = lentaMillis;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof MedicaoSqlDataSource)) {
+                return new MedicaoSqlDataSource(dataSource, lentaMillis);
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.deliverytech.delivery_api.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Abre a {@link MedicaoSql} da requisição e, ao final, registra quantas instruções
+ * SQL ela executou e quanto tempo passou no JDBC, por endpoint e resultado
+ * (SUCCESS, CLIENT_ERROR, SERVER_ERROR...).
+ * Requisições acima do orçamento de instruções ou de tempo de JDBC são logadas com as
+ * impressões digitais mais executadas, o que denuncia N+1. Com "headers" ligado, a
+ * resposta leva X-SQL-Instrucoes e X-SQL-Tempo-Ms (contados até o envio dos headers).
+ */
+@Slf4j
+public class MetricasRequisicaoFilter implements Filter {
+
+    public static final String HEADER_INSTRUCOES = "X-SQL-Instrucoes";
+    public static final String HEADER_TEMPO = "X-SQL-Tempo-Ms";
+
+    private static final int IMPRESSOES_NO_LOG = 5;
+
+    private final MeterRegistry meterRegistry;
+    private final int maxInstrucoes;
+    private final long maxTempoNanos;
+    private final boolean headers;
+
+    public MetricasRequisicaoFilter(MeterRegistry meterRegistry, int maxInstrucoes, long maxTempoMillis, boolean headers) {
+        this.meterRegistry = meterRegistry;
+        this.maxInstrucoes = maxInstrucoes;
+        this.maxTempoNanos = TimeUnit.MILLISECONDS.toNanos(maxTempoMillis);
+        this.headers = headers;
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        HttpServletRequest httpRequest = (HttpServletRequest) request;
+        HttpServletResponse httpResponse = (HttpServletResponse) response;
+        MedicaoSql medicao = MedicaoSql.iniciar();
+        HeadersSql comHeaders = headers ? new HeadersSql(httpResponse, medicao) : null;
+        try {
+            chain.doFilter(request, comHeaders != null ? comHeaders : response);
+        } finally {
+            MedicaoSql.encerrar();
+            // Resposta sem corpo que ainda não foi enviada
+            if (comHeaders != null && !httpResponse.isCommitted()) {
+                comHeaders.escrever();
+            }
+            // Fluxos assíncronos (SSE, exportação) terminam depois; a medição é a da thread do servlet
+            registrar(httpRequest, httpResponse, medicao);
+        }
+    }
+
+    private void registrar(HttpServletRequest request, HttpServletResponse response, MedicaoSql medicao) {
+        String endpoint = EndpointAtual.tag(request);
+        String resultado = Outcome.forStatus(response.getStatus()).name();
+        DistributionSummary.builder("http.server.requests.sql")
+                .description("Instruções SQL executadas por requisição")
+                .baseUnit("instrucoes")
+                .tag("endpoint", endpoint)
+                .tag("resultado", resultado)
+                .register(meterRegistry)
+                .record(medicao.getInstrucoes());
+        Timer.builder("http.server.requests.jdbc")
+                .description("Tempo acumulado em execuções JDBC por requisição")
+                .tag("endpoint", endpoint)
+                .tag("resultado", resultado)
+                .register(meterRegistry)
+                .record(medicao.getDuracaoNanos(), TimeUnit.NANOSECONDS);
+
+        if (medicao.getInstrucoes() > maxInstrucoes || medicao.getDuracaoNanos() > maxTempoNanos) {
+            meterRegistry.counter("http.server.requests.sql.acima.orcamento", "endpoint", endpoint).increment();
+            log.warn("Requisição acima do orçamento de SQL - {} {} ({}): {} instruções, {} ms no JDBC; mais executadas: {}",
+                    request.getMethod(), request.getRequestURI(), endpoint, medicao.getInstrucoes(),
+                    TimeUnit.NANOSECONDS.toMillis(medicao.getDuracaoNanos()), medicao.impressoes(IMPRESSOES_NO_LOG));
+        }
+    }
+
+    /** Escreve os headers da medição no último momento em que ainda é possível: antes do commit da resposta */
+    private static final class HeadersSql extends OnCommittedResponseWrapper {
+
+        private final MedicaoSql medicao;
+
+        HeadersSql(HttpServletResponse response, MedicaoSql medicao) {
+            super(response);
+            this.medicao = medicao;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            escrever();
+        }
+
+        void escrever() {
+            setHeader(HEADER_INSTRUCOES, Integer.toString(medicao.getInstrucoes()));
+            setHeader(HEADER_TEMPO, Long.toString(TimeUnit.NANOSECONDS.toMillis(medicao.getDuracaoNanos())));
+        }
+    }
+}
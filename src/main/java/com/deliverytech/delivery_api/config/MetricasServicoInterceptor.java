@@ -0,0 +1,61 @@
+package com.deliverytech.delivery_api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cronometra as chamadas públicas dos *ServiceImpl no timer "servico.chamadas",
+ * com tags classe, metodo, endpoint, resultado (SUCESSO/ERRO) e excecao
+ */
+public class MetricasServicoInterceptor implements MethodInterceptor {
+
+    public static final String TIMER = "servico.chamadas";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    // classe e metodo de cada Method, calculados uma vez
+    private final Map<Method, Tags> tagsPorMetodo = new ConcurrentHashMap<>();
+
+    public MetricasServicoInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return invocation.proceed();
+        }
+
+        Timer.Sample amostra = Timer.start(registry);
+        String resultado = "SUCESSO";
+        String excecao = "none";
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            resultado = "ERRO";
+            excecao = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Tags tags = tagsPorMetodo.computeIfAbsent(invocation.getMethod(), m -> Tags.of(
+                    "classe", AopUtils.getTargetClass(invocation.getThis()).getSimpleName(),
+                    "metodo", m.getName()));
+            amostra.stop(Timer.builder(TIMER)
+                    .description("Duração das chamadas aos serviços")
+                    .tags(tags)
+                    .tag("endpoint", EndpointAtual.tag())
+                    .tag("resultado", resultado)
+                    .tag("excecao", excecao)
+                    .register(registry));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.deliverytech.delivery_api.config;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Detecta threads virtuais presas ao carrier (bloqueio dentro de synchronized
+ * ou em código nativo) pelo evento JFR jdk.VirtualThreadPinned, em processo.
+ * Cada pilha distinta é logada uma vez; todas as ocorrências vão para o contador
+ * threads.virtuais.pinning.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "threads.virtuais.pinning.enabled", havingValue = "true", matchIfMissing = true)
+public class MonitorPinning {
+
+    private static final String EVENTO = "jdk.VirtualThreadPinned";
+    private static final int QUADROS_LOG = 8;
+
+    private final Counter ocorrencias;
+    private final Duration limite;
+    private final Set<String> pilhasVistas = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public MonitorPinning(MeterRegistry meterRegistry,
+                          @Value("${threads.virtuais.pinning.threshold:20ms}") Duration limite) {
+        this.limite = limite;
+        this.ocorrencias = Counter.builder("threads.virtuais.pinning")
+                .description("Threads virtuais presas ao carrier acima do limite configurado")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        stream = new RecordingStream();
+        stream.enable(EVENTO).withThreshold(limite).withStackTrace();
+        stream.onEvent(EVENTO, this::registrar);
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    public void parar() {
+        stream.close();
+    }
+
+    private void registrar(RecordedEvent evento) {
+        ocorrencias.increment();
+        if (evento.getStackTrace() == null) {
+            return;
+        }
+        String pilha = evento.getStackTrace().getFrames().stream()
+                .limit(QUADROS_LOG)
+                .map(MonitorPinning::formatar)
+                .collect(Collectors.joining("\n\tat ", "\tat ", ""));
+        if (pilhasVistas.add(pilha)) {
+            log.warn("Thread virtual presa ao carrier por {} ms:\n{}", evento.getDuration().toMillis(), pilha);
+        }
+    }
+
+    private static String formatar(RecordedFrame quadro) {
+        return quadro.getMethod().getType().getName() + "." + quadro.getMethod().getName()
+                + ":" + quadro.getLineNumber();
+    }
+}
@@ -1,26 +1,55 @@
 package com.deliverytech.delivery_api.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.*;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.util.ContentCachingRequestWrapper;
 import org.springframework.web.util.ContentCachingResponseWrapper;
 
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.io.InputStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
+@Slf4j
 public class ResponseCaptureFilter implements Filter {
 
-    private final ObjectMapper objectMapper;
-
-    public ResponseCaptureFilter() {
-        this.objectMapper = new ObjectMapper();
-        this.objectMapper.registerModule(new JavaTimeModule());
+    private static final byte[] VAZIO = new byte[0];
+
+    private final CapturaWriter writer;
+    private final double taxaAmostragem;
+    private final int maxBodyBytes;
+
+    private final LongAdder capturadas = new LongAdder();
+    private final LongAdder ignoradas = new LongAdder();
+    private final LongAdder erros = new LongAdder();
+    private final AtomicInteger emAndamento = new AtomicInteger();
+
+    public ResponseCaptureFilter(MeterRegistry meterRegistry, CapturaWriter writer, double taxaAmostragem, int maxBodyBytes) {
+        this.writer = writer;
+        this.taxaAmostragem = taxaAmostragem;
+        this.maxBodyBytes = maxBodyBytes;
+
+        FunctionCounter.builder("captura.requisicoes", capturadas, LongAdder::sum)
+                .description("Requisições da API passadas pelo filtro de captura")
+                .tag("resultado", "capturada")
+                .register(meterRegistry);
+        FunctionCounter.builder("captura.requisicoes", ignoradas, LongAdder::sum)
+                .description("Requisições da API passadas pelo filtro de captura")
+                .tag("resultado", "ignorada")
+                .register(meterRegistry);
+        FunctionCounter.builder("captura.requisicoes", erros, LongAdder::sum)
+                .description("Requisições da API passadas pelo filtro de captura")
+                .tag("resultado", "erro")
+                .register(meterRegistry);
+        Gauge.builder("captura.em.andamento", emAndamento, AtomicInteger::get)
+                .description("Requisições com request e response retidos em memória pela captura")
+                .register(meterRegistry);
     }
 
     @Override
@@ -30,105 +59,81 @@ public class ResponseCaptureFilter implements Filter {
         HttpServletRequest httpRequest = (HttpServletRequest) request;
         HttpServletResponse httpResponse = (HttpServletResponse) response;
 
-        // ✅ Só processar APIs (não arquivos estáticos)
-        if (!httpRequest.getRequestURI().startsWith("/api/")) {
+        // ✅ Só processar APIs (não arquivos estáticos) e apenas a fração amostrada
+        if (!httpRequest.getRequestURI().startsWith("/api/") || respostaEmFluxo(httpRequest) || !amostrar()) {
+            ignoradas.increment();
             chain.doFilter(request, response);
             return;
         }
+        capturadas.increment();
 
-        // ✅ Wrapper para capturar request e response
-        ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(httpRequest);
+        // ✅ Wrapper para capturar request e response (request limitado a maxBodyBytes)
+        ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(httpRequest, maxBodyBytes);
         ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(httpResponse);
 
+        long inicio = System.nanoTime();
+        emAndamento.incrementAndGet();
         try {
             // ✅ Executar a requisição
             chain.doFilter(requestWrapper, responseWrapper);
 
-            // ✅ Capturar e salvar a resposta
-            capturarResposta(requestWrapper, responseWrapper);
+            // ✅ Apenas enfileira: formatação e escrita ficam com o CapturaWriter
+            capturarResposta(requestWrapper, responseWrapper, System.nanoTime() - inicio);
 
         } finally {
             // ✅ IMPORTANTE: Copiar response de volta para o cliente
-            responseWrapper.copyBodyToResponse();
+            try {
+                responseWrapper.copyBodyToResponse();
+            } finally {
+                emAndamento.decrementAndGet();
+            }
         }
     }
 
-    private void capturarResposta(ContentCachingRequestWrapper request,
-                                 ContentCachingResponseWrapper response) {
-        try {
-            // ✅ Criar diretório se não existir
-            File dir = new File("entregaveis");
-            if (!dir.exists()) {
-                dir.mkdirs();
-            }
-
-            // ✅ Gerar nome do arquivo
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            String method = request.getMethod();
-            String endpoint = request.getRequestURI()
-                    .replace("/api/", "")
-                    .replace("/", "_");
-            
-            String fileName = String.format("%s_%s_%s.txt", method, endpoint, timestamp);
-
-            // ✅ Capturar dados da requisição
-            String queryString = request.getQueryString();
-            String fullUrl = request.getRequestURL().toString();
-            if (queryString != null) {
-                fullUrl += "?" + queryString;
-            }
-
-            // ✅ Capturar body da requisição
-            String requestBody = new String(request.getContentAsByteArray());
-
-            // ✅ Capturar body da resposta (AQUI ESTÁ A MAGIA!)
-            String responseBody = new String(response.getContentAsByteArray());
-
-            // ✅ Preparar conteúdo do arquivo
-            StringBuilder content = new StringBuilder();
-            content.append("=== ENTREGA - TESTE DE ENDPOINT ===\n");
-            content.append("Data/Hora: ").append(LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss"))).append("\n");
-            content.append("Método: ").append(method).append("\n");
-            content.append("URL Completa: ").append(fullUrl).append("\n");
-            content.append("Status HTTP: ").append(response.getStatus()).append("\n");
-            content.append("Content-Type: ").append(response.getContentType()).append("\n");
-
-            // ✅ ADICIONAR: Request Body (se houver)
-            if (!requestBody.isEmpty()) {
-                content.append("\n=== DADOS ENVIADOS ===\n");
-                try {
-                    Object jsonRequest = objectMapper.readValue(requestBody, Object.class);
-                    String formattedRequest = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(jsonRequest);
-                    content.append(formattedRequest);
-                } catch (Exception e) {
-                    content.append(requestBody);
-                }
-            }
-
-            // ✅ ADICIONAR: Response Body REAL
-            content.append("\n\n=== RESPOSTA REAL ===\n");
-            if (!responseBody.isEmpty()) {
-                try {
-                    Object jsonResponse = objectMapper.readValue(responseBody, Object.class);
-                    String formattedResponse = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(jsonResponse);
-                    content.append(formattedResponse);
-                } catch (Exception e) {
-                    content.append(responseBody);
-                }
-            } else {
-                content.append("(Resposta vazia)");
-            }
-
-            // ✅ Salvar arquivo
-            try (FileWriter writer = new FileWriter(new File(dir, fileName))) {
-                writer.write(content.toString());
-            }
+    /**
+     * Respostas assíncronas em fluxo (Server-Sent Events, exportação em streaming):
+     * o wrapper seguraria todo o corpo no heap e o copiaria antes de a escrita
+     * assíncrona terminar, perdendo a resposta
+     */
+    private static boolean respostaEmFluxo(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String accept = request.getHeader("Accept");
+        return uri.endsWith("/eventos") || uri.endsWith("/exportar")
+                || (accept != null && accept.contains("text/event-stream"));
+    }
 
-            // ✅ Log no console
-            System.out.println("📄 Resposta completa salva: entregaveis/" + fileName);
+    private boolean amostrar() {
+        return taxaAmostragem >= 1.0 || ThreadLocalRandom.current().nextDouble() < taxaAmostragem;
+    }
 
+    private void capturarResposta(ContentCachingRequestWrapper request,
+                                  ContentCachingResponseWrapper response,
+                                  long duracaoNanos) {
+        try {
+            writer.enfileirar(new CapturaRegistro(
+                    System.currentTimeMillis(),
+                    request.getMethod(),
+                    request.getRequestURI(),
+                    request.getQueryString(),
+                    response.getStatus(),
+                    response.getContentType(),
+                    duracaoNanos,
+                    request.getContentAsByteArray(),
+                    lerCorpoResposta(response)));
         } catch (Exception e) {
-            System.err.println("❌ Erro ao salvar resposta: " + e.getMessage());
+            // Captura nunca deve derrubar a requisição; a falha fica no contador resultado=erro
+            erros.increment();
+            log.debug("Falha ao capturar {} {}", request.getMethod(), request.getRequestURI(), e);
+        }
+    }
+
+    // Lê no máximo maxBodyBytes sem copiar o buffer inteiro da resposta
+    private byte[] lerCorpoResposta(ContentCachingResponseWrapper response) throws IOException {
+        if (response.getContentSize() == 0) {
+            return VAZIO;
+        }
+        try (InputStream conteudo = response.getContentInputStream()) {
+            return conteudo.readNBytes(maxBodyBytes);
         }
     }
 }
@@ -1,6 +1,10 @@
 package com.deliverytech.delivery_api.config;
 
 import com.deliverytech.delivery_api.security.JwtAuthenticationFilter;
+import com.deliverytech.delivery_api.security.VerificadorSenhas;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -8,13 +12,14 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import lombok.RequiredArgsConstructor;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
@@ -28,6 +33,9 @@ public class SecurityConfig {
             .csrf(csrf -> csrf.disable())
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(authorize -> authorize
+                // Despacho assíncrono (exportação, SSE) continua uma requisição já autorizada;
+                // o filtro JWT não roda de novo nele
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers(
                     "/api/auth/**",
                     "/health",
@@ -46,9 +54,21 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * BCrypt em pool dedicado; threads = 0 usa metade dos núcleos (mínimo 1).
+     * O DaoAuthenticationProvider usa este encoder e o AuthServiceImpl como
+     * UserDetailsPasswordService, o que regrava hashes de custo antigo no login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${security.bcrypt.custo:10}") int custo,
+                                           @Value("${security.senha.threads:0}") int threads,
+                                           @Value("${security.senha.fila:64}") int fila,
+                                           @Value("${security.senha.timeout:3s}") Duration timeout,
+                                           @Value("${security.senha.cache-ttl:1m}") Duration cacheTtl,
+                                           @Value("${security.senha.cache-max-size:10000}") long cacheMaxSize) {
+        int tamanhoPool = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new VerificadorSenhas(custo, tamanhoPool, fila, timeout, cacheTtl, cacheMaxSize, meterRegistry);
     }
 
     @Bean
@@ -0,0 +1,56 @@
+package com.deliverytech.delivery_api.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Modo de threads virtuais (spring.threads.virtual.enabled=true).
+ *
+ * O próprio Spring Boot passa o Tomcat, o applicationTaskExecutor (@Async) e o
+ * agendador para threads virtuais. Aqui o pool JDBC, que passa a ser o limite real
+ * de concorrência, ganha a admissão de {@link AdmissaoConexoesDataSource}.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ThreadsVirtuaisConfig {
+
+    @Bean
+    static BeanPostProcessor admissaoConexoesPostProcessor(Environment env) {
+        int tamanhoPool = env.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        int maxAguardando = env.getProperty("jdbc.admissao.max-aguardando", Integer.class, 1000);
+        long timeoutMillis = env.getProperty("jdbc.admissao.timeout-ms", Long.class, 3000L);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof AdmissaoConexoesDataSource)) {
+                    return new AdmissaoConexoesDataSource(dataSource, tamanhoPool, maxAguardando, timeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder admissaoConexoesMetricas(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof AdmissaoConexoesDataSource admissao) {
+                Gauge.builder("jdbc.admissao.aguardando", admissao, AdmissaoConexoesDataSource::getAguardando)
+                        .description("Threads aguardando permissão para obter conexão JDBC")
+                        .register(registry);
+                Gauge.builder("jdbc.admissao.disponiveis", admissao, AdmissaoConexoesDataSource::getDisponiveis)
+                        .description("Permissões de conexão JDBC livres")
+                        .register(registry);
+            }
+        };
+    }
+}
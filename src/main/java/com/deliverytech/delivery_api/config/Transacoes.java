@@ -0,0 +1,28 @@
+package com.deliverytech.delivery_api.config;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Ações que só podem ser vistas por outras threads depois do commit (índices em
+ * memória, versões de ETag, SSE, despacho do outbox). Um rollback as descarta.
+ */
+public final class Transacoes {
+
+    private Transacoes() {
+    }
+
+    /** Executa após o commit da transação atual, ou já, se não houver transação */
+    public static void aposCommit(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
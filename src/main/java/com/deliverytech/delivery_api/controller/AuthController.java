@@ -1,6 +1,7 @@
 package com.deliverytech.delivery_api.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -11,11 +12,11 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import com.deliverytech.delivery_api.dto.request.LoginRequest;
+import com.deliverytech.delivery_api.dto.request.RefreshTokenRequest;
 import com.deliverytech.delivery_api.dto.request.RegisterRequest;
 import com.deliverytech.delivery_api.dto.response.LoginResponse;
 import com.deliverytech.delivery_api.dto.response.UserResponse;
 import com.deliverytech.delivery_api.model.Usuario;
-import com.deliverytech.delivery_api.security.JwtUtil;
 import com.deliverytech.delivery_api.service.UsuarioService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -24,6 +25,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -34,8 +36,6 @@ public class AuthController {
     private UsuarioService usuarioService;
     @Autowired
     private AuthenticationManager authenticationManager;
-    @Autowired
-    private JwtUtil jwtUtil;
 
     @PostMapping(value = "/login", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Login de usuário", description = "Realizar o login do usuário")
@@ -49,17 +49,42 @@ public class AuthController {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
 
-            // Se a autenticação for bem-sucedida, gera um token JWT
-            String username = authentication.getName();
-            String token = jwtUtil.gerarToken(username); // MUDANÇA: usar gerarToken em vez de generateToken
-
-            LoginResponse dto = new LoginResponse(token);
+            // Se a autenticação for bem-sucedida, gera o token de acesso e o refresh token
+            LoginResponse dto = usuarioService.emitirTokens(authentication.getName());
             return ResponseEntity.ok(dto);
         } catch (BadCredentialsException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
     }
 
+    @PostMapping(value = "/refresh", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Renovar tokens", description = "Trocar um refresh token válido por um novo par de tokens; o refresh token usado é revogado")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Tokens renovados com sucesso"),
+            @ApiResponse(responseCode = "401", description = "Refresh token inválido, expirado ou já utilizado", content = @Content(schema = @Schema(implementation = Void.class))),
+    })
+    public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        try {
+            return ResponseEntity.ok(usuarioService.renovar(request.getRefreshToken()));
+        } catch (BadCredentialsException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Logout", description = "Revogar o token de acesso do header Authorization e, se enviado, o refresh token")
+    @ApiResponse(responseCode = "204", description = "Tokens revogados")
+    public ResponseEntity<Void> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+                                       @RequestBody(required = false) RefreshTokenRequest request) {
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            usuarioService.logout(authorization.substring(7));
+        }
+        if (request != null && request.getRefreshToken() != null) {
+            usuarioService.logout(request.getRefreshToken());
+        }
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping(value = "/register", produces = MediaType.APPLICATION_JSON_VALUE)
     @Operation(summary = "Registrar um usuário", description = "Cadastrar um novo usuário na plataforma")
     @ApiResponses({
@@ -2,10 +2,12 @@ package com.deliverytech.delivery_api.controller;
 
 import com.deliverytech.delivery_api.model.Cliente;
 import com.deliverytech.delivery_api.dto.request.ClienteRequest; // ✅ ADICIONAR IMPORT
+import com.deliverytech.delivery_api.dto.request.PaginacaoRequest;
 import com.deliverytech.delivery_api.dto.response.ApiResponseWrapper;
 import com.deliverytech.delivery_api.service.ClienteService; // ✅ INTERFACE
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -49,10 +51,10 @@ public class ClienteController {
      * GET /clientes
      */
     @GetMapping
-    public ResponseEntity<List<Cliente>> listar() {
+    public ResponseEntity<List<Cliente>> listar(@ParameterObject PaginacaoRequest paginacao) {
         log.info("Recebida requisição para listar clientes ativos");
-        List<Cliente> clientes = clienteService.listarAtivos();
-        return ResponseEntity.ok(clientes);
+        return Paginas.ok(clienteService.listarPagina(true, null, paginacao),
+                paginacao, Cliente::getId, cliente -> cliente);
     }
 
     /**
@@ -93,10 +95,11 @@ public class ClienteController {
      * GET /clientes/buscar?nome=João
      */
     @GetMapping("/buscar")
-    public ResponseEntity<List<Cliente>> buscarPorNome(@RequestParam String nome) {
+    public ResponseEntity<List<Cliente>> buscarPorNome(@RequestParam String nome,
+                                                       @ParameterObject PaginacaoRequest paginacao) {
         log.info("Recebida requisição para buscar clientes por nome: {}", nome);
-        List<Cliente> clientes = clienteService.buscarPorNome(nome);
-        return ResponseEntity.ok(clientes);
+        return Paginas.ok(clienteService.listarPagina(null, nome, paginacao),
+                paginacao, Cliente::getId, cliente -> cliente);
     }
 
     /**
@@ -0,0 +1,134 @@
+package com.deliverytech.delivery_api.controller;
+
+import com.deliverytech.delivery_api.dto.response.PedidoExportacao;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Escrita incremental da exportação de pedidos: cada linha vai para o stream
+ * da resposta assim que é lida, com flush a cada {@link #LOTE_FLUSH} linhas.
+ */
+abstract class ExportacaoPedidos implements Consumer<PedidoExportacao>, Closeable {
+
+    static final int LOTE_FLUSH = 500;
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
+    private int pendentes;
+
+    /** Formato pelo parâmetro da requisição: ndjson (padrão) ou csv */
+    static MediaType tipo(String formato) {
+        return switch (formato == null ? "ndjson" : formato.toLowerCase(Locale.ROOT)) {
+            case "ndjson" -> NDJSON;
+            case "csv" -> CSV;
+            default -> throw new IllegalArgumentException("Formato de exportação inválido: " + formato + " (use ndjson ou csv)");
+        };
+    }
+
+    static ExportacaoPedidos criar(MediaType tipo, OutputStream saida, ObjectMapper objectMapper) throws IOException {
+        return CSV.equals(tipo) ? new Csv(saida) : new Ndjson(saida, objectMapper);
+    }
+
+    @Override
+    public final void accept(PedidoExportacao linha) {
+        try {
+            escrever(linha);
+            if (++pendentes == LOTE_FLUSH) {
+                pendentes = 0;
+                flush();
+            }
+        } catch (IOException e) {
+            // Cliente desconectou: interrompe a leitura do banco
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    protected abstract void escrever(PedidoExportacao linha) throws IOException;
+
+    protected abstract void flush() throws IOException;
+
+    private static final class Ndjson extends ExportacaoPedidos {
+
+        private final JsonGenerator gerador;
+        private final ObjectWriter writer;
+
+        Ndjson(OutputStream saida, ObjectMapper objectMapper) throws IOException {
+            this.gerador = objectMapper.getFactory().createGenerator(saida);
+            this.writer = objectMapper.writerFor(PedidoExportacao.class);
+        }
+
+        @Override
+        protected void escrever(PedidoExportacao linha) throws IOException {
+            writer.writeValue(gerador, linha);
+            gerador.writeRaw('\n');
+        }
+
+        @Override
+        protected void flush() throws IOException {
+            gerador.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            gerador.close();
+        }
+    }
+
+    private static final class Csv extends ExportacaoPedidos {
+
+        private final Writer writer;
+
+        Csv(OutputStream saida) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+            escreverLinha(PedidoExportacao.CABECALHO);
+        }
+
+        @Override
+        protected void escrever(PedidoExportacao linha) throws IOException {
+            escreverLinha(linha.colunas());
+        }
+
+        private void escreverLinha(Object[] colunas) throws IOException {
+            for (int i = 0; i < colunas.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                if (colunas[i] != null) {
+                    writer.write(escapar(colunas[i].toString()));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        // RFC 4180: aspas quando há separador, aspas ou quebra de linha
+        private static String escapar(String valor) {
+            if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+                return valor;
+            }
+            return '"' + valor.replace("\"", "\"\"") + '"';
+        }
+
+        @Override
+        protected void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+}
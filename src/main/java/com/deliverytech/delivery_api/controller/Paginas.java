@@ -0,0 +1,66 @@
+package com.deliverytech.delivery_api.controller;
+
+import com.deliverytech.delivery_api.dto.request.PaginacaoRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Monta a resposta das listagens paginadas: o corpo continua sendo um array
+ * e a próxima página vai nos headers X-Next-Cursor / X-Next-Page e Link.
+ */
+final class Paginas {
+
+    static final String HEADER_PROXIMO_CURSOR = "X-Next-Cursor";
+    static final String HEADER_PROXIMA_PAGINA = "X-Next-Page";
+
+    private Paginas() {
+    }
+
+    static <T, R> ResponseEntity<List<R>> ok(Slice<T> slice, PaginacaoRequest paginacao,
+                                             Function<T, Long> id, Function<T, R> mapper) {
+        List<R> corpo = slice.getContent().stream().map(mapper).toList();
+        if (!slice.hasNext() || slice.getContent().isEmpty()) {
+            return ResponseEntity.ok(corpo);
+        }
+
+        UriComponentsBuilder proxima = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("limit", slice.getSize());
+        HttpHeaders headers = new HttpHeaders();
+        if (paginacao.isKeyset()) {
+            Long cursor = id.apply(slice.getContent().get(slice.getContent().size() - 1));
+            headers.add(HEADER_PROXIMO_CURSOR, String.valueOf(cursor));
+            proxima.replaceQueryParam("after", cursor);
+        } else {
+            int pagina = slice.getNumber() + 1;
+            headers.add(HEADER_PROXIMA_PAGINA, String.valueOf(pagina));
+            proxima.replaceQueryParam("page", pagina);
+        }
+        headers.add(HttpHeaders.LINK, "<" + proxima.toUriString() + ">; rel=\"next\"");
+        return ResponseEntity.ok().headers(headers).body(corpo);
+    }
+
+    /** Página (cursor ou offset) sobre uma lista já carregada, por exemplo vinda do cache */
+    static <T> Slice<T> fatiar(List<T> lista, PaginacaoRequest paginacao, Function<T, Long> id) {
+        Pageable pageable = paginacao.toPageable();
+        Long cursor = paginacao.cursor();
+
+        Stream<T> ordenada = lista.stream().sorted(Comparator.comparing(id));
+        if (cursor != null) {
+            ordenada = ordenada.filter(t -> id.apply(t) > cursor);
+        }
+        List<T> janela = ordenada.skip(pageable.getOffset()).limit(pageable.getPageSize() + 1L).toList();
+
+        boolean temProxima = janela.size() > pageable.getPageSize();
+        return new SliceImpl<>(temProxima ? janela.subList(0, pageable.getPageSize()) : janela, pageable, temProxima);
+    }
+}
@@ -2,8 +2,10 @@
 
 package com.deliverytech.delivery_api.controller;
 
+import com.deliverytech.delivery_api.dto.request.PaginacaoRequest;
 import com.deliverytech.delivery_api.dto.request.PedidoRequest;
 import com.deliverytech.delivery_api.dto.request.StatusUpdateRequest;
+import com.deliverytech.delivery_api.dto.response.CotacaoResponse;
 import com.deliverytech.delivery_api.dto.response.ItemPedidoResponse;
 import com.deliverytech.delivery_api.dto.response.PedidoResponse;
 import com.deliverytech.delivery_api.model.*;
@@ -11,16 +13,26 @@ import com.deliverytech.delivery_api.service.ClienteService;
 import com.deliverytech.delivery_api.service.PedidoService;
 import com.deliverytech.delivery_api.service.ProdutoService;
 import com.deliverytech.delivery_api.service.RestauranteService;
+import com.deliverytech.delivery_api.service.impl.CentralStatusPedidos;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.Arrays;
 import org.springframework.format.annotation.DateTimeFormat;
@@ -35,6 +47,8 @@ public class PedidoController {
     private final ClienteService clienteService;
     private final RestauranteService restauranteService;
     private final ProdutoService produtoService;
+    private final CentralStatusPedidos centralStatusPedidos;
+    private final ObjectMapper objectMapper;
     private final ModelMapper modelMapper = new ModelMapper();
 
     {
@@ -43,7 +57,7 @@ public class PedidoController {
             .addMappings(mapper -> mapper.skip(PedidoResponse::setItens));
     }
 
-    // 1. CRIAR PEDIDO (Simplificado - sem itens iniciais)
+    // 1. CRIAR PEDIDO (com os itens do request em uma única transação)
     @Transactional
     @PostMapping
     public ResponseEntity<PedidoResponse> criar(@Valid @RequestBody PedidoRequest request) {
@@ -60,8 +74,13 @@ public class PedidoController {
                 .enderecoEntrega(request.getEnderecoEntrega())
                 .build();
 
-        Pedido salvo = pedidoService.criar(pedido);
-        
+        Pedido salvo = pedidoService.criarComItens(pedido, request.getItens());
+
+        List<ItemPedidoResponse> itensResp = salvo.getItens() != null ?
+            salvo.getItens().stream()
+                .map(i -> new ItemPedidoResponse(i.getProduto().getId(), i.getProduto().getNome(), i.getQuantidade(), i.getPrecoUnitario()))
+                .collect(Collectors.toList()) : List.of();
+
         return ResponseEntity.status(201).body(new PedidoResponse(
                 salvo.getId(),
                 cliente.getId(),
@@ -70,7 +89,7 @@ public class PedidoController {
                 salvo.getValorTotal(),
                 salvo.getStatus(),
                 salvo.getDataPedido(),
-                List.of()
+                itensResp
         ));
     }
 
@@ -103,24 +122,10 @@ public class PedidoController {
     // 3. BUSCAR PEDIDOS POR CLIENTE
     @Transactional(readOnly = true) // ✅ ADICIONAR
     @GetMapping("/cliente/{clienteId}")
-    public ResponseEntity<List<PedidoResponse>> buscarPorCliente(@PathVariable Long clienteId) {
-        List<Pedido> pedidos = pedidoService.buscarPorCliente(clienteId);
-        List<PedidoResponse> pedidosResp = pedidos.stream()
-                .map(pedido -> new PedidoResponse(
-                        pedido.getId(),
-                        pedido.getCliente().getId(),
-                        pedido.getRestaurante().getId(),
-                        pedido.getEnderecoEntrega(),
-                        pedido.getValorTotal(),
-                        pedido.getStatus(),
-                        pedido.getDataPedido(),
-                        pedido.getItens() != null ? pedido.getItens().stream()
-                                .map(i -> new ItemPedidoResponse(i.getProduto().getId(), i.getProduto().getNome(), i.getQuantidade(), i.getPrecoUnitario()))
-                                .collect(Collectors.toList()) : List.of()
-                ))
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(pedidosResp);
+    public ResponseEntity<List<PedidoResponse>> buscarPorCliente(@PathVariable Long clienteId,
+                                                                 @ParameterObject PaginacaoRequest paginacao) {
+        Slice<PedidoResponse> pedidos = pedidoService.listarPagina(null, null, null, clienteId, null, paginacao);
+        return Paginas.ok(pedidos, paginacao, PedidoResponse::getId, Function.identity());
     }
 
     //  4. ADICIONAR ITEM AO PEDIDO (IMPLEMENTAR)
@@ -157,19 +162,7 @@ public class PedidoController {
     @Transactional
     @PutMapping("/{id}/confirmar")
     public ResponseEntity<PedidoResponse> confirmar(@PathVariable Long id) {
-        Pedido pedido = pedidoService.buscarPorId(id);
-        if (pedido == null) {
-            throw new RuntimeException("Pedido não encontrado");
-        }
-        
-        if (pedido.getStatus() != StatusPedido.CRIADO) {
-            throw new RuntimeException("Pedido já foi confirmado ou cancelado");
-        }
-
-        if (pedido.getItens() == null || pedido.getItens().isEmpty()) {
-            throw new RuntimeException("Não é possível confirmar um pedido sem itens");
-        }
-
+        // Status e existência de itens são verificados no próprio UPDATE condicional
         Pedido pedidoConfirmado = pedidoService.confirmar(id);
         
         List<ItemPedidoResponse> itensResp = pedidoConfirmado.getItens().stream()
@@ -222,14 +215,39 @@ public class PedidoController {
     public ResponseEntity<List<PedidoResponse>> listarTodos(
             @RequestParam(required = false) StatusPedido status,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim) {
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @ParameterObject PaginacaoRequest paginacao) {
         
-        List<Pedido> pedidos = pedidoService.listarComFiltros(status, dataInicio, dataFim);
-        List<PedidoResponse> pedidosResp = pedidos.stream()
-                .map(this::convertToPedidoResponse)
-                .collect(Collectors.toList());
+        Slice<PedidoResponse> pedidos = pedidoService.listarPagina(status, dataInicio, dataFim, null, null, paginacao);
+        return Paginas.ok(pedidos, paginacao, PedidoResponse::getId, Function.identity());
+    }
 
-        return ResponseEntity.ok(pedidosResp);
+    /**
+     * Exportar pedidos do período em NDJSON ou CSV
+     * GET /api/pedidos/exportar?dataInicio=2025-07-01&dataFim=2025-07-31&formato=csv
+     * As linhas são escritas na resposta à medida que são lidas do banco
+     */
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @RequestParam(defaultValue = "ndjson") String formato) {
+        // Validar antes de abrir o stream: depois do primeiro byte o status já é 200
+        if (dataFim.isBefore(dataInicio)) {
+            throw new IllegalArgumentException("Data final deve ser igual ou posterior à data inicial");
+        }
+        MediaType tipo = ExportacaoPedidos.tipo(formato);
+
+        StreamingResponseBody corpo = saida -> {
+            try (ExportacaoPedidos escritor = ExportacaoPedidos.criar(tipo, saida, objectMapper)) {
+                pedidoService.exportarPorPeriodo(dataInicio, dataFim, escritor);
+            }
+        };
+        String arquivo = String.format("pedidos_%s_%s.%s", dataInicio, dataFim, ExportacaoPedidos.CSV.equals(tipo) ? "csv" : "ndjson");
+        return ResponseEntity.ok()
+                .contentType(tipo)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + arquivo + "\"")
+                .body(corpo);
     }
 
     /**
@@ -260,68 +278,19 @@ public class PedidoController {
     @PatchMapping("/{id}/status")
     public ResponseEntity<PedidoResponse> atualizarStatus(@PathVariable Long id,
                                                      @Valid @RequestBody StatusUpdateRequest request) {
+        // Converter string para enum
+        String statusStr = request.getStatus();
+        StatusPedido status;
         try {
-            // Extrair status do DTO
-            String statusStr = request.getStatus();
-            
-            // Converter string para enum
-            StatusPedido status;
-            try {
-                status = StatusPedido.valueOf(statusStr.toUpperCase());
-            } catch (IllegalArgumentException e) {
-                throw new IllegalArgumentException("Status inválido: " + statusStr);
-            }
-            
-            // ADICIONAR APENAS ESTAS 4 LINHAS:
-            Pedido pedido = pedidoService.buscarPorId(id);
-            if (pedido == null) {
-                throw new RuntimeException("Pedido não encontrado");
-            }
-            
-            validarTransicaoStatus(pedido.getStatus(), status);
-            // FIM DA ADIÇÃO
-            
-            // Atualizar status
-            Pedido pedidoAtualizado = pedidoService.atualizarStatus(id, status);
-            return ResponseEntity.ok(convertToPedidoResponse(pedidoAtualizado));
-            
-        } catch (Exception e) {
-            throw new RuntimeException("Erro ao atualizar status: " + e.getMessage());
+            status = StatusPedido.valueOf(statusStr.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Status inválido: " + statusStr);
         }
-    }
 
-    /**
-     * Validar se a transição de status é válida
-     */
-    private void validarTransicaoStatus(StatusPedido statusAtual, StatusPedido novoStatus) {
-        // Regras de negócio para transição de status
-        switch (statusAtual) {
-            case CRIADO:
-                if (novoStatus != StatusPedido.CONFIRMADO && novoStatus != StatusPedido.CANCELADO) {
-                    throw new IllegalArgumentException("De CRIADO só pode ir para CONFIRMADO ou CANCELADO");
-                }
-                break;
-            case CONFIRMADO:
-                if (novoStatus != StatusPedido.PREPARANDO && novoStatus != StatusPedido.CANCELADO) {
-                    throw new IllegalArgumentException("De CONFIRMADO só pode ir para PREPARANDO ou CANCELADO");
-                }
-                break;
-            case PREPARANDO:
-                if (novoStatus != StatusPedido.SAIU_PARA_ENTREGA && novoStatus != StatusPedido.CANCELADO) {
-                    throw new IllegalArgumentException("De PREPARANDO só pode ir para SAIU_PARA_ENTREGA ou CANCELADO");
-                }
-                break;
-            case SAIU_PARA_ENTREGA:
-                if (novoStatus != StatusPedido.ENTREGUE) {
-                    throw new IllegalArgumentException("De SAIU_PARA_ENTREGA só pode ir para ENTREGUE");
-                }
-                break;
-            case ENTREGUE:
-            case CANCELADO:
-                throw new IllegalArgumentException("Pedido já está em status final: " + statusAtual);
-            default:
-                throw new IllegalArgumentException("Status atual inválido: " + statusAtual);
-        }
+        // A transição é validada pela MaquinaEstadosPedido e aplicada sem leitura prévia;
+        // uma transição concorrente ou fora da tabela responde 409
+        Pedido pedidoAtualizado = pedidoService.atualizarStatus(id, status);
+        return ResponseEntity.ok(convertToPedidoResponse(pedidoAtualizado));
     }
 
     /**
@@ -330,13 +299,40 @@ public class PedidoController {
      */
     @GetMapping("/restaurante/{restauranteId}")
     @Transactional(readOnly = true)
-    public ResponseEntity<List<PedidoResponse>> buscarPorRestaurante(@PathVariable Long restauranteId) {
-        List<Pedido> pedidos = pedidoService.buscarPorRestaurante(restauranteId);
-        List<PedidoResponse> pedidosResp = pedidos.stream()
-                .map(this::convertToPedidoResponse)
-                .collect(Collectors.toList());
+    public ResponseEntity<List<PedidoResponse>> buscarPorRestaurante(@PathVariable Long restauranteId,
+                                                                     @ParameterObject PaginacaoRequest paginacao) {
+        Slice<PedidoResponse> pedidos = pedidoService.listarPagina(null, null, null, null, restauranteId, paginacao);
+        return Paginas.ok(pedidos, paginacao, PedidoResponse::getId, Function.identity());
+    }
 
-        return ResponseEntity.ok(pedidosResp);
+    /**
+     * Acompanhar um pedido por Server-Sent Events, no lugar de consultar o pedido repetidamente
+     * GET /api/pedidos/{id}/eventos
+     * O primeiro evento "status" traz o status atual; os seguintes, cada transição confirmada
+     */
+    @GetMapping(path = "/{id}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> eventosDoPedido(@PathVariable Long id) {
+        Pedido pedido = pedidoService.buscarPorId(id);
+        return sse(centralStatusPedidos.assinarPedido(id, pedido.getRestaurante().getId(), pedido.getStatus()));
+    }
+
+    /**
+     * Acompanhar os pedidos de um restaurante (novos e transições) por Server-Sent Events
+     * GET /api/pedidos/restaurante/{restauranteId}/eventos
+     */
+    @GetMapping(path = "/restaurante/{restauranteId}/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> eventosDoRestaurante(@PathVariable Long restauranteId) {
+        restauranteService.buscarPorId(restauranteId)
+                .orElseThrow(() -> new RuntimeException("Restaurante não encontrado"));
+        return sse(centralStatusPedidos.assinarRestaurante(restauranteId));
+    }
+
+    private static ResponseEntity<SseEmitter> sse(Optional<SseEmitter> emitter) {
+        // Limite de conexões atingido: o EventSource reconecta sozinho
+        return emitter.map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "5")
+                        .build());
     }
 
     /**
@@ -344,34 +340,9 @@ public class PedidoController {
      * POST /api/pedidos/calcular
      */
     @PostMapping("/calcular")
-    public ResponseEntity<Map<String, Object>> calcularTotal(@Valid @RequestBody PedidoRequest request) {
-        // Buscar restaurante para obter taxa de entrega
-        Restaurante restaurante = restauranteService.buscarPorId(request.getRestauranteId())
-                .orElseThrow(() -> new RuntimeException("Restaurante não encontrado"));
-        
-        BigDecimal subtotal = BigDecimal.ZERO;
-        
-        // Calcular subtotal dos itens (se houver)
-        if (request.getItens() != null && !request.getItens().isEmpty()) {
-            for (var itemRequest : request.getItens()) {
-                Produto produto = produtoService.buscarPorId(itemRequest.getProdutoId())
-                        .orElseThrow(() -> new RuntimeException("Produto não encontrado: " + itemRequest.getProdutoId()));
-                
-                BigDecimal valorItem = produto.getPreco()
-                        .multiply(BigDecimal.valueOf(itemRequest.getQuantidade()));
-                subtotal = subtotal.add(valorItem);
-            }
-        }
-        
-        BigDecimal taxaEntrega = restaurante.getTaxaEntrega();
-        BigDecimal valorTotal = subtotal.add(taxaEntrega);
-        
-        return ResponseEntity.ok(Map.of(
-            "subtotal", subtotal,
-            "taxaEntrega", taxaEntrega,
-            "valorTotal", valorTotal,
-            "restaurante", restaurante.getNome(),
-            "moeda", "BRL"
-        ));
+    public ResponseEntity<CotacaoResponse> calcularTotal(@Valid @RequestBody PedidoRequest request) {
+        // Produtos resolvidos de uma vez, taxa de entrega pela distância até o CEP
+        String cep = request.getEnderecoEntrega() != null ? request.getEnderecoEntrega().getCep() : null;
+        return ResponseEntity.ok(pedidoService.cotar(request.getRestauranteId(), cep, request.getItens()));
     }
 }
@@ -2,19 +2,28 @@
 
 package com.deliverytech.delivery_api.controller;
 
+import com.deliverytech.delivery_api.config.CatalogoVersao;
+import com.deliverytech.delivery_api.dto.request.PaginacaoRequest;
 import com.deliverytech.delivery_api.dto.request.ProdutoRequest;
+import com.deliverytech.delivery_api.dto.response.ImportacaoProdutosResponse;
 import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
 import com.deliverytech.delivery_api.model.Produto;
 import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.service.ImportacaoProdutoService;
 import com.deliverytech.delivery_api.service.ProdutoService;
 import com.deliverytech.delivery_api.service.RestauranteService;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/produtos")
@@ -23,6 +32,8 @@ public class ProdutoController {
 
     private final ProdutoService produtoService;
     private final RestauranteService restauranteService;
+    private final CatalogoVersao catalogoVersao;
+    private final ImportacaoProdutoService importacaoProdutoService;
 
     @PostMapping
     public ResponseEntity<ProdutoResponse> cadastrar(@Valid @RequestBody ProdutoRequest request) {
@@ -45,10 +56,36 @@ public class ProdutoController {
     }
 
     @GetMapping("/restaurante/{restauranteId}")
-    public List<ProdutoResponse> listarPorRestaurante(@PathVariable Long restauranteId) {
-        return produtoService.buscarPorRestaurante(restauranteId).stream()
-                .map(p -> new ProdutoResponse(p.getId(), p.getNome(), p.getCategoria(), p.getDescricao(), p.getPreco(), p.getDisponivel()))
-                .collect(Collectors.toList());
+    public ResponseEntity<List<ProdutoResponse>> listarPorRestaurante(@PathVariable Long restauranteId,
+                                                                      @ParameterObject PaginacaoRequest paginacao,
+                                                                      WebRequest webRequest) {
+        // If-None-Match com a versão atual do cardápio: 304 sem consultar cache nem banco
+        if (webRequest.checkNotModified(catalogoVersao.etagCardapio(restauranteId, paginacao.assinatura()))) {
+            return null;
+        }
+        // Cardápio vem inteiro do cache e é paginado em memória
+        return Paginas.ok(Paginas.fatiar(produtoService.buscarPorRestaurante(restauranteId), paginacao, Produto::getId),
+                paginacao, Produto::getId, this::toResponse);
+    }
+
+    /**
+     * Importar cardápio em lote (inserir ou atualizar pelo nome do produto)
+     * POST /api/produtos/restaurante/{restauranteId}/lote com um array JSON de ProdutoRequest
+     */
+    @PostMapping(value = "/restaurante/{restauranteId}/lote", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ImportacaoProdutosResponse> importar(@PathVariable Long restauranteId,
+                                                               @RequestBody List<ProdutoRequest> produtos) {
+        // Validação por linha no serviço: uma linha inválida não derruba o lote
+        return ResponseEntity.ok(importacaoProdutoService.importar(restauranteId, produtos));
+    }
+
+    /**
+     * Mesma importação a partir de CSV (cabeçalho nome,categoria,descricao,preco)
+     */
+    @PostMapping(value = "/restaurante/{restauranteId}/lote", consumes = "text/csv")
+    public ResponseEntity<ImportacaoProdutosResponse> importarCsv(@PathVariable Long restauranteId,
+                                                                  InputStream corpo) throws IOException {
+        return ResponseEntity.ok(importacaoProdutoService.importar(restauranteId, ProdutoCsv.ler(corpo)));
     }
 
     @PutMapping("/{id}")
@@ -71,11 +108,9 @@ public class ProdutoController {
 
     // ADICIONAR: Listar todos os produtos
     @GetMapping
-    public List<ProdutoResponse> listarTodos() {
-        return produtoService.listarTodos().stream()
-                .map(p -> new ProdutoResponse(p.getId(), p.getNome(), p.getCategoria(),
-                     p.getDescricao(), p.getPreco(), p.getDisponivel()))
-                .collect(Collectors.toList());
+    public ResponseEntity<List<ProdutoResponse>> listarTodos(@ParameterObject PaginacaoRequest paginacao) {
+        return Paginas.ok(produtoService.listarPagina(null, null, null, paginacao),
+                paginacao, Produto::getId, this::toResponse);
     }
 
     // ADICIONAR: Buscar produto por ID
@@ -107,35 +142,32 @@ public class ProdutoController {
      * GET /api/produtos/categoria/{categoria}
      */
     @GetMapping("/categoria/{categoria}")
-    public List<ProdutoResponse> buscarPorCategoria(@PathVariable String categoria) {
-        return produtoService.buscarPorCategoria(categoria).stream()
-                .map(p -> new ProdutoResponse(
-                    p.getId(), p.getNome(), p.getCategoria(), 
-                    p.getDescricao(), p.getPreco(), p.getDisponivel()))
-                .collect(Collectors.toList());
+    public ResponseEntity<List<ProdutoResponse>> buscarPorCategoria(@PathVariable String categoria,
+                                                                    @ParameterObject PaginacaoRequest paginacao) {
+        return Paginas.ok(produtoService.listarPagina(null, categoria, null, paginacao),
+                paginacao, Produto::getId, this::toResponse);
     }
 
     /**
-     * Busca produtos por nome
-     * GET /api/produtos/buscar?nome={nome}
+     * Busca produtos por nome, categoria ou descrição, do mais relevante ao menos relevante
+     * GET /api/produtos/buscar?nome={termos}&page={n}
      */
     @GetMapping("/buscar")
-    public ResponseEntity<List<ProdutoResponse>> buscarPorNome(@RequestParam String nome) {
-        try {
-            List<Produto> produtos = produtoService.buscarPorNome(nome);
-            
-            List<ProdutoResponse> response = produtos.stream()
-                .map(p -> new ProdutoResponse(
-                    p.getId(), p.getNome(), p.getCategoria(),
-                    p.getDescricao(), p.getPreco(), p.getDisponivel()))
-                .collect(Collectors.toList());
-            
-            return ResponseEntity.ok(response);
-        } catch (Exception e) {
-            // Log do erro para debug
-            System.err.println("Erro ao buscar produtos por nome: " + e.getMessage());
-            e.printStackTrace();
-            return ResponseEntity.status(500).build();
+    public ResponseEntity<List<ProdutoResponse>> buscarPorNome(@RequestParam String nome,
+                                                               @ParameterObject PaginacaoRequest paginacao) {
+        if (nome == null || nome.trim().isEmpty()) {
+            return ResponseEntity.ok(List.of());
         }
+        // Ordem por relevância não segue o id: a busca pagina sempre por offset
+        if (paginacao.isKeyset()) {
+            paginacao.setPage(0);
+        }
+        return Paginas.ok(produtoService.buscar(nome, paginacao),
+                paginacao, ProdutoResponse::getId, Function.identity());
+    }
+
+    private ProdutoResponse toResponse(Produto p) {
+        return new ProdutoResponse(p.getId(), p.getNome(), p.getCategoria(),
+                p.getDescricao(), p.getPreco(), p.getDisponivel());
     }
 }
@@ -0,0 +1,122 @@
+package com.deliverytech.delivery_api.controller;
+
+import com.deliverytech.delivery_api.dto.request.ProdutoRequest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Leitura de produtos em CSV (RFC 4180, UTF-8) para a importação em lote.
+ * A primeira linha é o cabeçalho: nome, categoria, descricao, preco (restauranteId opcional),
+ * em qualquer ordem. Erros de formato rejeitam o arquivo inteiro, como um JSON malformado.
+ */
+final class ProdutoCsv {
+
+    private ProdutoCsv() {
+    }
+
+    static List<ProdutoRequest> ler(InputStream entrada) throws IOException {
+        Reader leitor = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        List<String> cabecalho = proximoRegistro(leitor);
+        if (cabecalho == null) {
+            throw new IllegalArgumentException("CSV vazio: cabeçalho obrigatório");
+        }
+        Map<String, Integer> colunas = new HashMap<>();
+        for (int i = 0; i < cabecalho.size(); i++) {
+            colunas.put(cabecalho.get(i).trim().replace("\uFEFF", "").toLowerCase(Locale.ROOT), i);
+        }
+        if (!colunas.containsKey("nome") || !colunas.containsKey("preco")) {
+            throw new IllegalArgumentException("CSV deve ter ao menos as colunas nome e preco");
+        }
+
+        List<ProdutoRequest> produtos = new ArrayList<>();
+        List<String> registro;
+        while ((registro = proximoRegistro(leitor)) != null) {
+            if (registro.size() == 1 && registro.get(0).isBlank()) {
+                continue;
+            }
+            int linha = produtos.size() + 1;
+            ProdutoRequest produto = new ProdutoRequest();
+            produto.setNome(campo(registro, colunas, "nome"));
+            produto.setCategoria(campo(registro, colunas, "categoria"));
+            produto.setDescricao(campo(registro, colunas, "descricao"));
+            produto.setPreco(numero(campo(registro, colunas, "preco"), linha, "preco", BigDecimal::new));
+            produto.setRestauranteId(numero(campo(registro, colunas, "restauranteid"), linha, "restauranteId", Long::valueOf));
+            produtos.add(produto);
+        }
+        return produtos;
+    }
+
+    private static String campo(List<String> registro, Map<String, Integer> colunas, String nome) {
+        Integer indice = colunas.get(nome);
+        if (indice == null || indice >= registro.size()) {
+            return null;
+        }
+        String valor = registro.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static <T> T numero(String valor, int linha, String coluna, Function<String, T> conversor) {
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return conversor.apply(valor.replace(',', '.'));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("CSV linha " + linha + ": valor inválido para " + coluna + ": " + valor);
+        }
+    }
+
+    /** Um registro (pode ocupar várias linhas dentro de aspas); null no fim do arquivo */
+    private static List<String> proximoRegistro(Reader leitor) throws IOException {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        int c = leitor.read();
+        if (c < 0) {
+            return null;
+        }
+        while (c >= 0) {
+            if (entreAspas) {
+                if (c == '"') {
+                    leitor.mark(1);
+                    int proximo = leitor.read();
+                    if (proximo == '"') {
+                        atual.append('"');
+                    } else {
+                        entreAspas = false;
+                        if (proximo < 0) {
+                            break;
+                        }
+                        leitor.reset();
+                    }
+                } else {
+                    atual.append((char) c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                atual.append((char) c);
+            }
+            c = leitor.read();
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+}
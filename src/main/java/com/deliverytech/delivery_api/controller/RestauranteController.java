@@ -2,19 +2,25 @@
 
 package com.deliverytech.delivery_api.controller;
 
+import com.deliverytech.delivery_api.config.CatalogoVersao;
+import com.deliverytech.delivery_api.dto.request.PaginacaoRequest;
 import com.deliverytech.delivery_api.dto.request.RestauranteRequest;
+import com.deliverytech.delivery_api.dto.response.PedidoResponse;
 import com.deliverytech.delivery_api.dto.response.RestauranteResponse;
 import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.service.PedidoService;
 import com.deliverytech.delivery_api.service.RestauranteService;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
 import com.deliverytech.delivery_api.model.Produto;
 import com.deliverytech.delivery_api.service.ProdutoService;
@@ -26,6 +32,8 @@ public class RestauranteController {
 
     private final RestauranteService restauranteService;
     private final ProdutoService produtoService;
+    private final PedidoService pedidoService;
+    private final CatalogoVersao catalogoVersao;
 
     @PostMapping
     public ResponseEntity<RestauranteResponse> cadastrar(@Valid @RequestBody RestauranteRequest request) {
@@ -39,20 +47,18 @@ public class RestauranteController {
     @GetMapping
     public ResponseEntity<List<RestauranteResponse>> listarTodos(
         @RequestParam(required = false) String categoria,
-        @RequestParam(required = false) Boolean ativo) {
-        
-        List<Restaurante> restaurantes = restauranteService.listarComFiltros(categoria, ativo);
-        
-        List<RestauranteResponse> response = restaurantes.stream()
-            .map(r -> new RestauranteResponse(r.getId(), r.getNome(), r.getCategoria(), 
-                r.getTelefone(), r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo()))
-            .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(response);
+        @RequestParam(required = false) Boolean ativo,
+        @ParameterObject PaginacaoRequest paginacao) {
+
+        return Paginas.ok(restauranteService.listarPagina(categoria, ativo, paginacao),
+                paginacao, Restaurante::getId, this::toResponse);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<RestauranteResponse> buscarPorId(@PathVariable Long id) {
+    public ResponseEntity<RestauranteResponse> buscarPorId(@PathVariable Long id, WebRequest webRequest) {
+        if (webRequest.checkNotModified(catalogoVersao.etagRestaurante(id))) {
+            return null;
+        }
         return restauranteService.buscarPorId(id)
                 .map(r -> new RestauranteResponse(r.getId(), r.getNome(), r.getCategoria(), r.getTelefone(), r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo()))
                 .map(ResponseEntity::ok)
@@ -60,10 +66,10 @@ public class RestauranteController {
     }
 
     @GetMapping("/categoria/{categoria}")
-    public List<RestauranteResponse> buscarPorCategoria(@PathVariable String categoria) {
-        return restauranteService.buscarPorCategoria(categoria).stream()
-                .map(r -> new RestauranteResponse(r.getId(), r.getNome(), r.getCategoria(), r.getTelefone(), r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo()))
-                .collect(Collectors.toList());
+    public ResponseEntity<List<RestauranteResponse>> buscarPorCategoria(@PathVariable String categoria,
+                                                                        @ParameterObject PaginacaoRequest paginacao) {
+        return Paginas.ok(restauranteService.listarPagina(categoria, null, paginacao),
+                paginacao, Restaurante::getId, this::toResponse);
     }
 
     @PutMapping("/{id}")
@@ -86,12 +92,15 @@ public class RestauranteController {
      * GET /api/restaurantes/disponiveis
      */
     @GetMapping("/disponiveis")
-    public List<RestauranteResponse> buscarDisponiveis() {
-        return restauranteService.listarAtivos().stream()
-                .map(r -> new RestauranteResponse(
-                    r.getId(), r.getNome(), r.getCategoria(), r.getTelefone(), 
-                    r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo()))
-                .collect(Collectors.toList());
+    public ResponseEntity<List<RestauranteResponse>> buscarDisponiveis(@ParameterObject PaginacaoRequest paginacao,
+                                                                       WebRequest webRequest) {
+        // If-None-Match com a versão atual da lista: 304 sem consultar cache nem banco
+        if (webRequest.checkNotModified(catalogoVersao.etagRestaurantes(paginacao.assinatura()))) {
+            return null;
+        }
+        // Lista de ativos vem do cache e é paginada em memória
+        return Paginas.ok(Paginas.fatiar(restauranteService.listarAtivos(), paginacao, Restaurante::getId),
+                paginacao, Restaurante::getId, this::toResponse);
     }
 
     /**
@@ -128,26 +137,26 @@ public class RestauranteController {
      * GET /api/restaurantes/{id}/produtos
      */
     @GetMapping("/{id}/produtos")
-    public ResponseEntity<List<ProdutoResponse>> buscarProdutosPorRestaurante(@PathVariable Long id) {
+    public ResponseEntity<List<ProdutoResponse>> buscarProdutosPorRestaurante(@PathVariable Long id,
+                                                                              @ParameterObject PaginacaoRequest paginacao,
+                                                                              WebRequest webRequest) {
+        if (webRequest.checkNotModified(catalogoVersao.etagCardapio(id, paginacao.assinatura()))) {
+            return null;
+        }
+
         // Verificar se restaurante existe
         restauranteService.buscarPorId(id)
             .orElseThrow(() -> new RuntimeException("Restaurante não encontrado"));
         
-        // Buscar produtos do restaurante
-        List<Produto> produtos = produtoService.buscarPorRestaurante(id);
-        
-        // Converter para Response
-        List<ProdutoResponse> response = produtos.stream()
-            .map(p -> new ProdutoResponse(
-                p.getId(), 
-                p.getNome(), 
-                p.getCategoria(), 
-                p.getDescricao(), 
-                p.getPreco(), 
-                p.getDisponivel()))
-            .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(response);
+        // Buscar uma página do cardápio (em cache) do restaurante
+        return Paginas.ok(Paginas.fatiar(produtoService.buscarPorRestaurante(id), paginacao, Produto::getId),
+                paginacao, Produto::getId, p -> new ProdutoResponse(
+                    p.getId(), 
+                    p.getNome(), 
+                    p.getCategoria(), 
+                    p.getDescricao(), 
+                    p.getPreco(), 
+                    p.getDisponivel()));
     }
 
     /**
@@ -184,19 +193,28 @@ public class RestauranteController {
     }
 
     /**
-     * Buscar restaurantes próximos por CEP
-     * GET /api/restaurantes/proximos/{cep}
+     * Buscar restaurantes próximos por CEP, do mais perto ao mais longe
+     * GET /api/restaurantes/proximos/{cep}?raioKm={km}&limit={n}
      */
     @GetMapping("/proximos/{cep}")
-    public ResponseEntity<List<RestauranteResponse>> buscarProximos(@PathVariable String cep) {
-        List<Restaurante> restaurantes = restauranteService.buscarProximos(cep);
-        
-        List<RestauranteResponse> response = restaurantes.stream()
-            .map(r -> new RestauranteResponse(
-                r.getId(), r.getNome(), r.getCategoria(), r.getTelefone(),
-                r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo()))
-            .collect(Collectors.toList());
-        
-        return ResponseEntity.ok(response);
+    public ResponseEntity<List<RestauranteResponse>> buscarProximos(@PathVariable String cep,
+                                                                    @RequestParam(required = false) Double raioKm,
+                                                                    @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(restauranteService.buscarProximos(cep, raioKm, limit));
+    }
+
+    /**
+     * Fila da cozinha: pedidos confirmados, em preparo e em entrega, na ordem de chegada
+     * GET /api/restaurantes/{id}/fila?status={status}
+     */
+    @GetMapping("/{id}/fila")
+    public ResponseEntity<List<PedidoResponse>> fila(@PathVariable Long id,
+                                                     @RequestParam(required = false) StatusPedido status) {
+        return ResponseEntity.ok(pedidoService.filaDoRestaurante(id, status));
+    }
+
+    private RestauranteResponse toResponse(Restaurante r) {
+        return new RestauranteResponse(r.getId(), r.getNome(), r.getCategoria(),
+                r.getTelefone(), r.getTaxaEntrega(), r.getTempoEntregaMinutos(), r.getAtivo());
     }
 }
@@ -0,0 +1,59 @@
+package com.deliverytech.delivery_api.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Parâmetros de paginação aceitos pelos endpoints de listagem.
+ * Sem "page" a listagem usa cursor (after=id&limit=n), ordenada por id;
+ * com "page" usa offset (page=n&limit=n). O tamanho é sempre limitado a LIMITE_MAXIMO.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginacaoRequest {
+
+    public static final int LIMITE_PADRAO = 20;
+    public static final int LIMITE_MAXIMO = 100;
+
+    @Schema(description = "Cursor: retorna registros com id maior que este", example = "120")
+    private Long after;
+
+    @Schema(description = "Quantidade de registros por página (máximo " + LIMITE_MAXIMO + ")", example = "20")
+    private Integer limit;
+
+    @Schema(description = "Número da página (paginação por offset, começa em 0)", example = "0")
+    private Integer page;
+
+    /** Paginação por cursor quando a página não é informada */
+    public boolean isKeyset() {
+        return page == null;
+    }
+
+    /** Cursor efetivo (ignorado na paginação por offset) */
+    public Long cursor() {
+        return isKeyset() ? after : null;
+    }
+
+    public int limiteEfetivo() {
+        if (limit == null || limit <= 0) {
+            return LIMITE_PADRAO;
+        }
+        return Math.min(limit, LIMITE_MAXIMO);
+    }
+
+    public Pageable toPageable() {
+        int pagina = isKeyset() ? 0 : Math.max(page, 0);
+        return PageRequest.of(pagina, limiteEfetivo(), Sort.by("id"));
+    }
+
+    /** Identifica a página pedida de forma exata (usado na composição de ETags) */
+    public String assinatura() {
+        return (isKeyset() ? "a" + (after != null ? after : "") : "p" + Math.max(page, 0)) + "l" + limiteEfetivo();
+    }
+}
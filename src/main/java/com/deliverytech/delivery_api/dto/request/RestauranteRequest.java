@@ -32,6 +32,16 @@ public class RestauranteRequest {
     private String telefone;
     private String email;
 
+    @Pattern(regexp = "\\d{5}-?\\d{3}", message = "CEP deve ter o formato 00000-000")
+    private String cep;
+
+    // Opcionais: sem elas a localização vem da tabela de CEPs
+    @DecimalMin("-90.0") @DecimalMax("90.0")
+    private Double latitude;
+
+    @DecimalMin("-180.0") @DecimalMax("180.0")
+    private Double longitude;
+
     @Positive(message = "Avaliação deve ser positiva")
     @DecimalMax(value = "5.0", message = "Avaliação máxima é 5.0")
     private BigDecimal avaliacao;
@@ -0,0 +1,18 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CotacaoResponse {
+    private BigDecimal subtotal;
+    private BigDecimal taxaEntrega;
+    private BigDecimal valorTotal;
+    private String restaurante;
+    private String moeda;
+    private List<ItemPedidoResponse> itens;
+}
@@ -0,0 +1,35 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado da importação em lote de produtos.
+ * Linhas válidas são gravadas; as inválidas aparecem em {@code erros} com o número da linha (1 = primeira).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacaoProdutosResponse {
+
+    private int recebidos;
+    private int inseridos;
+    private int atualizados;
+    private List<ErroLinha> erros = new ArrayList<>();
+
+    public ImportacaoProdutosResponse(int recebidos) {
+        this.recebidos = recebidos;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ErroLinha {
+        private int linha;
+        private List<String> mensagens;
+    }
+}
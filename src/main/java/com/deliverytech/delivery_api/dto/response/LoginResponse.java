@@ -15,6 +15,12 @@ public class LoginResponse {
 
     private String token;
 
+    // Troca por um novo par em /api/auth/refresh, depois que o token de acesso expira
+    private String refreshToken;
+
+    // Validade do token de acesso
+    private long expiracaoSegundos;
+
     public void setUsername(String name) {
         // TODO Auto-generated method stub
         throw new UnsupportedOperationException("Unimplemented method 'setUsername'");
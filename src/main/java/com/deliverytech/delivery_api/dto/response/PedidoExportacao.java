@@ -0,0 +1,44 @@
+package com.deliverytech.delivery_api.dto.response;
+
+import com.deliverytech.delivery_api.model.StatusPedido;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Linha plana da exportação de pedidos (NDJSON/CSV).
+ * Montada direto na consulta, sem entidade gerenciada, para o heap não crescer com o volume.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PedidoExportacao {
+
+    /** Cabeçalho do CSV, na mesma ordem de {@link #colunas()} */
+    public static final String[] CABECALHO = {
+        "id", "numeroPedido", "dataPedido", "status", "clienteId", "clienteNome",
+        "restauranteId", "restauranteNome", "subtotal", "valorTotal", "cep"
+    };
+
+    private Long id;
+    private String numeroPedido;
+    private LocalDateTime dataPedido;
+    private StatusPedido status;
+    private Long clienteId;
+    private String clienteNome;
+    private Long restauranteId;
+    private String restauranteNome;
+    private BigDecimal subtotal;
+    private BigDecimal valorTotal;
+    private String cep;
+
+    public Object[] colunas() {
+        return new Object[] {
+            id, numeroPedido, dataPedido, status, clienteId, clienteNome,
+            restauranteId, restauranteNome, subtotal, valorTotal, cep
+        };
+    }
+}
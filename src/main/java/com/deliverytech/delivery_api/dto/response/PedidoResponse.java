@@ -6,6 +6,7 @@ import lombok.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Data
@@ -20,4 +21,13 @@ public class PedidoResponse {
     private StatusPedido status;
     private LocalDateTime dataPedido;
     private List<ItemPedidoResponse> itens;
+
+    /**
+     * Usado pelas consultas de leitura (constructor expression); os itens
+     * da página são carregados depois, numa única consulta
+     */
+    public PedidoResponse(Long id, Long clienteId, Long restauranteId, Endereco enderecoEntrega,
+                          BigDecimal valorTotal, StatusPedido status, LocalDateTime dataPedido) {
+        this(id, clienteId, restauranteId, enderecoEntrega, valorTotal, status, dataPedido, new ArrayList<>());
+    }
 }
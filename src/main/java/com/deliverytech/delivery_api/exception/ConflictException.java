@@ -8,4 +8,11 @@ public class ConflictException extends BusinessException {
             "entity.conflict"
         );
     }
+
+    /**
+     * Conflito de estado (ex.: status do pedido alterado por outra requisição)
+     */
+    public ConflictException(String message) {
+        super(message, "entity.conflict");
+    }
 }
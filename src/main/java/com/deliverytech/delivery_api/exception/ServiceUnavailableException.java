@@ -0,0 +1,19 @@
+package com.deliverytech.delivery_api.exception;
+
+/**
+ * Recurso interno saturado (fila cheia, espera esgotada); a requisição pode ser
+ * repetida depois de {@link #getRetryAfterSegundos()}
+ */
+public class ServiceUnavailableException extends BusinessException {
+
+    private final long retryAfterSegundos;
+
+    public ServiceUnavailableException(String message, long retryAfterSegundos) {
+        super(message, "service.unavailable");
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+
+    public long getRetryAfterSegundos() {
+        return retryAfterSegundos;
+    }
+}
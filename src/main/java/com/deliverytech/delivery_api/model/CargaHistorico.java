@@ -0,0 +1,33 @@
+package com.deliverytech.delivery_api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progresso da carga inicial de um assinante do outbox (ex.: rollup de vendas).
+ * "limitePedidoId" é o maior pedido quando a carga começou: os posteriores já
+ * nascem com eventos. A carga avança por "ultimoPedidoId" a cada lote confirmado,
+ * então uma subida interrompida retoma de onde parou.
+ */
+@Entity
+@Table(name = "carga_historico")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CargaHistorico {
+
+    @Id
+    @Column(length = 50)
+    private String nome;
+
+    @Column(name = "limite_pedido_id", nullable = false)
+    private Long limitePedidoId;
+
+    @Column(name = "ultimo_pedido_id", nullable = false)
+    private Long ultimoPedidoId;
+
+    @Column(name = "concluida_em")
+    private LocalDateTime concluidaEm;
+}
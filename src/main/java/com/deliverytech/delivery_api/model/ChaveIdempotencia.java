@@ -0,0 +1,39 @@
+package com.deliverytech.delivery_api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Chave Idempotency-Key compartilhada entre instâncias. Sem status a requisição
+ * ainda está em andamento; a reserva expira antes (tempo de processamento) que
+ * a resposta guardada (TTL).
+ */
+@Entity
+@Table(name = "chave_idempotencia")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChaveIdempotencia {
+
+    // SHA-256 de usuário + chave enviada
+    @Id
+    @Column(length = 64)
+    private String chave;
+
+    @Column(nullable = false, length = 64)
+    private String impressao;
+
+    private Integer status;
+
+    private String contentType;
+
+    private String location;
+
+    @Lob
+    private byte[] corpo;
+
+    @Column(nullable = false)
+    private LocalDateTime expiraEm;
+}
@@ -0,0 +1,19 @@
+package com.deliverytech.delivery_api.model;
+
+/**
+ * Ponto geográfico em graus decimais (WGS84).
+ */
+public record Coordenada(double latitude, double longitude) {
+
+    private static final double RAIO_TERRA_KM = 6371.0;
+
+    /** Distância em linha reta (haversine), em km */
+    public double distanciaKm(Coordenada outra) {
+        double dLat = Math.toRadians(outra.latitude - latitude);
+        double dLon = Math.toRadians(outra.longitude - longitude);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(outra.latitude))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * RAIO_TERRA_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
@@ -32,4 +32,11 @@ public class Endereco {
 
     @Column(name = "complemento")
     private String complemento;
+
+    // Preenchidas a partir do CEP quando o cliente não informa
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
 }
@@ -0,0 +1,64 @@
+package com.deliverytech.delivery_api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox de eventos do pedido: uma linha por (mudança de status, assinante),
+ * gravada na mesma transação da mudança e entregue depois pelo despachante.
+ * Enquanto PENDENTE, proximaTentativa é o momento a partir do qual a linha
+ * pode ser (re)entregue; durante a entrega ela é empurrada para frente como reserva.
+ */
+@Entity
+@Table(name = "evento_pedido",
+       indexes = {
+           @Index(name = "ix_evento_pedido_pendente", columnList = "situacao, proxima_tentativa"),
+           @Index(name = "ix_evento_pedido_pedido", columnList = "pedido_id, assinante")
+       })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventoPedido {
+
+    public enum Situacao { PENDENTE, ENTREGUE, FALHOU }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evento_pedido_seq")
+    @SequenceGenerator(name = "evento_pedido_seq", sequenceName = "evento_pedido_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "pedido_id", nullable = false)
+    private Long pedidoId;
+
+    // Status que o pedido alcançou (CRIADO na criação)
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private StatusPedido status;
+
+    @Column(nullable = false, length = 50)
+    private String assinante;
+
+    @Builder.Default
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Situacao situacao = Situacao.PENDENTE;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer tentativas = 0;
+
+    @Column(name = "ocorrido_em", nullable = false)
+    private LocalDateTime ocorridoEm;
+
+    @Column(name = "proxima_tentativa", nullable = false)
+    private LocalDateTime proximaTentativa;
+
+    @Column(name = "entregue_em")
+    private LocalDateTime entregueEm;
+
+    @Column(name = "ultimo_erro", length = 500)
+    private String ultimoErro;
+}
@@ -12,8 +12,10 @@ import java.math.BigDecimal;
 @Builder
 public class ItemPedido {
 
-    @Id 
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // SEQUENCE (e não IDENTITY) para o Hibernate conseguir agrupar os INSERTs em batch
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_pedido_seq")
+    @SequenceGenerator(name = "item_pedido_seq", sequenceName = "item_pedido_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,80 @@
+package com.deliverytech.delivery_api.model;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tabela de transições de status do pedido.
+ *
+ * Além de validar uma transição conhecida, entrega para cada destino o conjunto
+ * de status de origem aceitos, usado no UPDATE condicional do repositório.
+ */
+public final class MaquinaEstadosPedido {
+
+    private static final Map<StatusPedido, Set<StatusPedido>> PROXIMOS = new EnumMap<>(StatusPedido.class);
+    private static final Map<StatusPedido, Set<StatusPedido>> ORIGENS = new EnumMap<>(StatusPedido.class);
+
+    static {
+        PROXIMOS.put(StatusPedido.CRIADO, EnumSet.of(StatusPedido.CONFIRMADO, StatusPedido.CANCELADO));
+        PROXIMOS.put(StatusPedido.CONFIRMADO, EnumSet.of(StatusPedido.PREPARANDO, StatusPedido.CANCELADO));
+        PROXIMOS.put(StatusPedido.PREPARANDO, EnumSet.of(StatusPedido.SAIU_PARA_ENTREGA, StatusPedido.CANCELADO));
+        PROXIMOS.put(StatusPedido.SAIU_PARA_ENTREGA, EnumSet.of(StatusPedido.ENTREGUE));
+
+        for (StatusPedido status : StatusPedido.values()) {
+            ORIGENS.put(status, EnumSet.noneOf(StatusPedido.class));
+        }
+        PROXIMOS.forEach((origem, destinos) -> destinos.forEach(destino -> ORIGENS.get(destino).add(origem)));
+    }
+
+    private MaquinaEstadosPedido() {
+    }
+
+    /**
+     * Status finais não aceitam nenhuma transição
+     */
+    public static boolean finalizado(StatusPedido status) {
+        return status == StatusPedido.ENTREGUE || status == StatusPedido.CANCELADO;
+    }
+
+    public static boolean permite(StatusPedido atual, StatusPedido novo) {
+        return PROXIMOS.getOrDefault(atual, Set.of()).contains(novo);
+    }
+
+    /**
+     * Status a partir dos quais o pedido pode ir para {@code destino}.
+     * Lança IllegalArgumentException se nenhum status leva ao destino.
+     */
+    public static Set<StatusPedido> origensPara(StatusPedido destino) {
+        Set<StatusPedido> origens = ORIGENS.get(destino);
+        if (origens.isEmpty()) {
+            throw new IllegalArgumentException("Nenhuma transição leva ao status " + destino);
+        }
+        return Collections.unmodifiableSet(origens);
+    }
+
+    /**
+     * Status não finais, aceitos pelo cancelamento direto do pedido
+     */
+    public static Set<StatusPedido> naoFinalizados() {
+        Set<StatusPedido> origens = EnumSet.allOf(StatusPedido.class);
+        origens.removeIf(MaquinaEstadosPedido::finalizado);
+        return origens;
+    }
+
+    /**
+     * Mensagem para uma transição recusada a partir do status atual
+     */
+    public static String motivoRecusa(StatusPedido atual, StatusPedido novo) {
+        if (finalizado(atual)) {
+            return "Pedido já está em status final: " + atual;
+        }
+        Set<StatusPedido> proximos = PROXIMOS.getOrDefault(atual, Set.of());
+        if (proximos.isEmpty()) {
+            return "Status atual inválido: " + atual;
+        }
+        return String.format("De %s só pode ir para %s (solicitado: %s)", atual, proximos, novo);
+    }
+}
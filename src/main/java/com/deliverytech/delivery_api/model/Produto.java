@@ -11,7 +11,10 @@ import java.math.BigDecimal;
 @Builder
 public class Produto {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequência com alocação em bloco: IDENTITY impede o batch de INSERT na importação em lote
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produto_seq")
+    @SequenceGenerator(name = "produto_seq", sequenceName = "produto_seq", allocationSize = 50)
     private Long id;
 
     private String nome;
@@ -32,6 +32,13 @@ public class Restaurante {
 
     private Boolean ativo = true;
 
+    private String cep;
+
+    // Localização usada na busca por proximidade e na taxa de entrega por distância
+    private Double latitude;
+
+    private Double longitude;
+
     @OneToMany(mappedBy = "restaurante", cascade = CascadeType.ALL)
     private List<Produto> produtos;
 
@@ -39,6 +46,11 @@ public class Restaurante {
     @OneToMany(mappedBy = "restaurante")
     private List<Pedido> pedidos;
 
+    @JsonIgnore
+    public Coordenada getCoordenada() {
+        return latitude != null && longitude != null ? new Coordenada(latitude, longitude) : null;
+    }
+
     @JsonIgnore
     public void inativar() {
         this.ativo = false;
@@ -0,0 +1,25 @@
+package com.deliverytech.delivery_api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Token JWT revogado (logout, refresh já usado), pelo jti. Só precisa existir
+ * até a expiração do próprio token; depois disso a assinatura já o recusa.
+ */
+@Entity
+@Table(name = "token_revogado")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevogado {
+
+    @Id
+    @Column(length = 36)
+    private String jti;
+
+    @Column(nullable = false)
+    private LocalDateTime expiraEm;
+}
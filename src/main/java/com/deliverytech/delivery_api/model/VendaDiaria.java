@@ -0,0 +1,58 @@
+package com.deliverytech.delivery_api.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Rollup diário de vendas, mantido incrementalmente quando o pedido chega
+ * a ENTREGUE ou CANCELADO. Uma linha por (tipo, dia, referência), onde a
+ * referência é o id do restaurante, do produto ou do cliente.
+ */
+@Entity
+@Table(name = "venda_diaria",
+       uniqueConstraints = @UniqueConstraint(name = "uk_venda_diaria_tipo_dia_ref",
+                                             columnNames = {"tipo", "dia", "referencia_id"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VendaDiaria {
+
+    public enum Tipo { RESTAURANTE, PRODUTO, CLIENTE }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Tipo tipo;
+
+    @Column(nullable = false)
+    private LocalDate dia;
+
+    @Column(name = "referencia_id", nullable = false)
+    private Long referenciaId;
+
+    private String nome;
+
+    // Pedidos entregues (para produtos: pedidos que contêm o produto)
+    @Builder.Default
+    @Column(name = "quantidade_pedidos", nullable = false)
+    private Long quantidadePedidos = 0L;
+
+    @Builder.Default
+    @Column(name = "quantidade_itens", nullable = false)
+    private Long quantidadeItens = 0L;
+
+    @Builder.Default
+    @Column(name = "valor_total", nullable = false, precision = 14, scale = 2)
+    private BigDecimal valorTotal = BigDecimal.ZERO;
+
+    @Builder.Default
+    @Column(name = "pedidos_cancelados", nullable = false)
+    private Long pedidosCancelados = 0L;
+}
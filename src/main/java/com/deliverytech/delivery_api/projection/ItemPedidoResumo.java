@@ -0,0 +1,12 @@
+package com.deliverytech.delivery_api.projection;
+
+import java.math.BigDecimal;
+
+// Projeção dos itens para o modelo de leitura de pedidos
+public interface ItemPedidoResumo {
+    Long getPedidoId();
+    Long getProdutoId();
+    String getNomeProduto();
+    Integer getQuantidade();
+    BigDecimal getPrecoUnitario();
+}
@@ -0,0 +1,38 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.model.CargaHistorico;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface CargaHistoricoRepository extends JpaRepository<CargaHistorico, String> {
+
+    /**
+     * INSERT explícito: save() faria merge e duas instâncias subindo juntas gravariam limites diferentes
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO carga_historico (nome, limite_pedido_id, ultimo_pedido_id) VALUES (:nome, :limite, 0)",
+           nativeQuery = true)
+    int iniciar(@Param("nome") String nome, @Param("limite") Long limitePedidoId);
+
+    /** Trava a carga até o fim do lote: instâncias concorrentes processam lotes em sequência */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CargaHistorico c WHERE c.nome = :nome")
+    Optional<CargaHistorico> travar(@Param("nome") String nome);
+
+    @Modifying
+    @Query("UPDATE CargaHistorico c SET c.ultimoPedidoId = :ultimo WHERE c.nome = :nome")
+    int avancar(@Param("nome") String nome, @Param("ultimo") Long ultimoPedidoId);
+
+    @Modifying
+    @Query("UPDATE CargaHistorico c SET c.concluidaEm = :agora WHERE c.nome = :nome")
+    int concluir(@Param("nome") String nome, @Param("agora") LocalDateTime agora);
+}
@@ -0,0 +1,50 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.model.ChaveIdempotencia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface ChaveIdempotenciaRepository extends JpaRepository<ChaveIdempotencia, String> {
+
+    /**
+     * INSERT explícito: save() faria merge e nunca acusaria a chave duplicada
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO chave_idempotencia (chave, impressao, expira_em) VALUES (:chave, :impressao, :expiraEm)",
+           nativeQuery = true)
+    int reservar(@Param("chave") String chave,
+                 @Param("impressao") String impressao,
+                 @Param("expiraEm") LocalDateTime expiraEm);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ChaveIdempotencia c SET c.status = :status, c.contentType = :contentType, " +
+           "c.location = :location, c.corpo = :corpo, c.expiraEm = :expiraEm WHERE c.chave = :chave")
+    int concluir(@Param("chave") String chave,
+                 @Param("status") int status,
+                 @Param("contentType") String contentType,
+                 @Param("location") String location,
+                 @Param("corpo") byte[] corpo,
+                 @Param("expiraEm") LocalDateTime expiraEm);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ChaveIdempotencia c WHERE c.chave = :chave AND c.status IS NULL")
+    int liberar(@Param("chave") String chave);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ChaveIdempotencia c WHERE c.chave = :chave AND c.expiraEm < :agora")
+    int removerSeExpirada(@Param("chave") String chave, @Param("agora") LocalDateTime agora);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ChaveIdempotencia c WHERE c.expiraEm < :agora")
+    int removerExpiradas(@Param("agora") LocalDateTime agora);
+}
@@ -1,6 +1,9 @@
 package com.deliverytech.delivery_api.repository;
 
 import com.deliverytech.delivery_api.model.Cliente;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
@@ -20,36 +23,16 @@ public interface ClienteRepository extends JpaRepository<Cliente, Long> {
                    "ORDER BY total_pedidos DESC " +
                    "LIMIT 10", nativeQuery = true)
     List<Object[]> rankingClientesPorPedidos();
-}
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
-
 
+    /**
+     * Página de clientes com filtros opcionais; "after" é o cursor (id) da paginação por keyset
+     */
+    @Query("SELECT c FROM Cliente c " +
+           "WHERE (:ativo IS NULL OR c.ativo = :ativo) " +
+           "AND (:nome IS NULL OR LOWER(c.nome) LIKE LOWER(CONCAT('%', :nome, '%'))) " +
+           "AND (:after IS NULL OR c.id > :after)")
+    Slice<Cliente> buscarPagina(@Param("ativo") Boolean ativo,
+                                @Param("nome") String nome,
+                                @Param("after") Long after,
+                                Pageable pageable);
+}
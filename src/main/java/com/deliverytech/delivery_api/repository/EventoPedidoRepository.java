@@ -0,0 +1,63 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.model.EventoPedido;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EventoPedidoRepository extends JpaRepository<EventoPedido, Long> {
+
+    /**
+     * Eventos prontos para entrega, na ordem em que ocorreram. Um evento só sai
+     * depois dos anteriores do mesmo pedido para o mesmo assinante.
+     */
+    @Query("SELECT e FROM EventoPedido e WHERE e.situacao = com.deliverytech.delivery_api.model.EventoPedido.Situacao.PENDENTE " +
+           "AND e.proximaTentativa <= :agora AND NOT EXISTS (SELECT 1 FROM EventoPedido a " +
+           "WHERE a.pedidoId = e.pedidoId AND a.assinante = e.assinante AND a.id < e.id " +
+           "AND a.situacao = com.deliverytech.delivery_api.model.EventoPedido.Situacao.PENDENTE) ORDER BY e.id")
+    List<EventoPedido> buscarProntos(@Param("agora") LocalDateTime agora, Pageable pageable);
+
+    /**
+     * Reserva do evento para entrega até "ate"; 0 se outro despachante chegou antes.
+     * Se o nó cair durante a entrega, o evento volta a ficar pronto quando a reserva vence.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE EventoPedido e SET e.proximaTentativa = :ate WHERE e.id = :id " +
+           "AND e.situacao = com.deliverytech.delivery_api.model.EventoPedido.Situacao.PENDENTE " +
+           "AND e.proximaTentativa = :vista")
+    int reservar(@Param("id") Long id, @Param("vista") LocalDateTime vista, @Param("ate") LocalDateTime ate);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EventoPedido e SET e.situacao = com.deliverytech.delivery_api.model.EventoPedido.Situacao.ENTREGUE, " +
+           "e.entregueEm = :agora, e.tentativas = e.tentativas + 1 WHERE e.id = :id")
+    int marcarEntregue(@Param("id") Long id, @Param("agora") LocalDateTime agora);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EventoPedido e SET e.tentativas = :tentativas, e.proximaTentativa = :proxima, " +
+           "e.ultimoErro = :erro WHERE e.id = :id")
+    int reagendar(@Param("id") Long id, @Param("tentativas") int tentativas,
+                  @Param("proxima") LocalDateTime proxima, @Param("erro") String erro);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE EventoPedido e SET e.situacao = com.deliverytech.delivery_api.model.EventoPedido.Situacao.FALHOU, " +
+           "e.tentativas = :tentativas, e.ultimoErro = :erro WHERE e.id = :id")
+    int falhar(@Param("id") Long id, @Param("tentativas") int tentativas, @Param("erro") String erro);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM EventoPedido e WHERE e.situacao = com.deliverytech.delivery_api.model.EventoPedido.Situacao.ENTREGUE " +
+           "AND e.entregueEm < :antesDe")
+    int removerEntregues(@Param("antesDe") LocalDateTime antesDe);
+
+    List<EventoPedido> findByPedidoIdOrderById(Long pedidoId);
+}
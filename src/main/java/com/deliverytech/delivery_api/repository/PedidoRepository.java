@@ -1,16 +1,28 @@
 package com.deliverytech.delivery_api.repository;
 
+import com.deliverytech.delivery_api.dto.response.PedidoExportacao;
+import com.deliverytech.delivery_api.dto.response.PedidoResponse;
 import com.deliverytech.delivery_api.model.Pedido;
 import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.projection.ItemPedidoResumo;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PedidoRepository extends JpaRepository<Pedido, Long> {
@@ -68,4 +80,112 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
      * Buscar pedidos até uma data
      */
     List<Pedido> findByDataPedidoLessThanEqual(LocalDateTime data);
+
+    /**
+     * Página de pedidos com filtros opcionais, projetada direto em PedidoResponse
+     * (sem carregar cliente, restaurante ou itens); "after" é o cursor (id) da paginação por keyset
+     */
+    @Query("SELECT new com.deliverytech.delivery_api.dto.response.PedidoResponse(" +
+           "p.id, p.cliente.id, p.restaurante.id, p.enderecoEntrega, p.valorTotal, p.status, p.dataPedido) " +
+           "FROM Pedido p " +
+           "WHERE (:status IS NULL OR p.status = :status) " +
+           "AND (:inicio IS NULL OR p.dataPedido >= :inicio) " +
+           "AND (:fim IS NULL OR p.dataPedido <= :fim) " +
+           "AND (:clienteId IS NULL OR p.cliente.id = :clienteId) " +
+           "AND (:restauranteId IS NULL OR p.restaurante.id = :restauranteId) " +
+           "AND (:after IS NULL OR p.id > :after)")
+    Slice<PedidoResponse> buscarPagina(@Param("status") StatusPedido status,
+                                       @Param("inicio") LocalDateTime inicio,
+                                       @Param("fim") LocalDateTime fim,
+                                       @Param("clienteId") Long clienteId,
+                                       @Param("restauranteId") Long restauranteId,
+                                       @Param("after") Long after,
+                                       Pageable pageable);
+
+    /**
+     * Itens de vários pedidos numa única consulta (IN)
+     */
+    @Query("SELECT i.pedido.id as pedidoId, pr.id as produtoId, pr.nome as nomeProduto, " +
+           "i.quantidade as quantidade, i.precoUnitario as precoUnitario " +
+           "FROM ItemPedido i JOIN i.produto pr " +
+           "WHERE i.pedido.id IN :pedidoIds " +
+           "ORDER BY i.id")
+    List<ItemPedidoResumo> buscarItensDosPedidos(@Param("pedidoIds") Collection<Long> pedidoIds);
+
+    /**
+     * Pedidos em andamento, para a carga da fila dos restaurantes; os itens vêm de buscarItensDosPedidos
+     */
+    @Query("SELECT new com.deliverytech.delivery_api.dto.response.PedidoResponse(" +
+           "p.id, p.cliente.id, p.restaurante.id, p.enderecoEntrega, p.valorTotal, p.status, p.dataPedido) " +
+           "FROM Pedido p WHERE p.status IN :status")
+    List<PedidoResponse> listarAbertos(@Param("status") Collection<StatusPedido> status);
+
+    /**
+     * Aplica a transição de status num único UPDATE condicional.
+     * Só altera o pedido se o status atual estiver entre as origens aceitas.
+     * @return linhas afetadas (0 quando o pedido não existe ou o status mudou)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Pedido p SET p.status = :novo, p.versao = p.versao + 1 " +
+           "WHERE p.id = :id AND p.status IN :origens")
+    int transitarStatus(@Param("id") Long id,
+                        @Param("origens") Collection<StatusPedido> origens,
+                        @Param("novo") StatusPedido novo);
+
+    /**
+     * Confirmação: mesma transição condicional, exigindo ao menos um item no pedido
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Pedido p SET p.status = :novo, p.versao = p.versao + 1 " +
+           "WHERE p.id = :id AND p.status IN :origens " +
+           "AND EXISTS (SELECT i.id FROM ItemPedido i WHERE i.pedido.id = p.id)")
+    int transitarStatusComItens(@Param("id") Long id,
+                                @Param("origens") Collection<StatusPedido> origens,
+                                @Param("novo") StatusPedido novo);
+
+    /**
+     * Carga inicial de venda_diaria, paginada por id (keyset): pedidos finalizados em
+     * (depoisDe, ate] sem nenhum evento do assinante. Quem tem evento entra no rollup
+     * pelo outbox, e o evento é gravado na mesma transação que finaliza o pedido.
+     */
+    @Query("SELECT p.id FROM Pedido p WHERE p.status IN :status AND p.id > :depoisDe AND p.id <= :ate " +
+           "AND NOT EXISTS (SELECT e.id FROM EventoPedido e WHERE e.pedidoId = p.id AND e.assinante = :assinante) " +
+           "ORDER BY p.id")
+    List<Long> buscarIdsFinalizadosSemEvento(@Param("status") Collection<StatusPedido> status,
+                                             @Param("assinante") String assinante,
+                                             @Param("depoisDe") Long depoisDe,
+                                             @Param("ate") Long ate,
+                                             Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(p.id), 0) FROM Pedido p")
+    Long buscarMaiorId();
+
+    @Query("SELECT DISTINCT p FROM Pedido p JOIN FETCH p.cliente JOIN FETCH p.restaurante " +
+           "LEFT JOIN FETCH p.itens i LEFT JOIN FETCH i.produto WHERE p.id IN :ids")
+    List<Pedido> findByIdInWithItens(@Param("ids") Collection<Long> ids);
+
+    /** Pedido com cliente, restaurante e itens numa única consulta (resposta de uma transição) */
+    @Query("SELECT p FROM Pedido p LEFT JOIN FETCH p.cliente LEFT JOIN FETCH p.restaurante " +
+           "LEFT JOIN FETCH p.itens i LEFT JOIN FETCH i.produto WHERE p.id = :id")
+    Optional<Pedido> buscarCompleto(@Param("id") Long id);
+
+    @Query("SELECT p.status FROM Pedido p WHERE p.id = :id")
+    Optional<StatusPedido> buscarStatus(@Param("id") Long id);
+
+    /**
+     * Exportação por período: linhas lidas sob demanda (fetch size fixo), sem entidades
+     * no contexto de persistência. Deve ser consumido e fechado dentro de uma transação.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.deliverytech.delivery_api.dto.response.PedidoExportacao(" +
+           "p.id, p.numeroPedido, p.dataPedido, p.status, c.id, c.nome, r.id, r.nome, " +
+           "p.subtotal, p.valorTotal, p.enderecoEntrega.cep) " +
+           "FROM Pedido p LEFT JOIN p.cliente c LEFT JOIN p.restaurante r " +
+           "WHERE p.dataPedido >= :inicio AND p.dataPedido < :fim " +
+           "ORDER BY p.id")
+    Stream<PedidoExportacao> exportarPorPeriodo(@Param("inicio") LocalDateTime inicio,
+                                                @Param("fim") LocalDateTime fim);
 }
@@ -1,10 +1,14 @@
 package com.deliverytech.delivery_api.repository;
 
+import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
 import com.deliverytech.delivery_api.model.Produto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface ProdutoRepository extends JpaRepository<Produto, Long> {
@@ -12,9 +16,6 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
     List<Produto> findByDisponivelTrue();
     List<Produto> findByCategoria(String categoria);
     
-    @Query("SELECT p FROM Produto p WHERE LOWER(p.nome) LIKE LOWER(CONCAT('%', :nome, '%'))")
-    List<Produto> findByNomeContainingIgnoreCase(@Param("nome") String nome);
-    
     @Query(value = "SELECT p.nome, COUNT(ip.produto_id) as quantidade_vendida " +
                    "FROM produto p " +
                    "LEFT JOIN item_pedido ip ON p.id = ip.produto_id " +
@@ -22,6 +23,27 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
                    "ORDER BY quantidade_vendida DESC " +
                    "LIMIT 5", nativeQuery = true)
     List<Object[]> produtosMaisVendidos();
-}
 
+    /**
+     * Página de produtos com filtros opcionais; "after" é o cursor (id) da paginação por keyset
+     */
+    @Query("SELECT p FROM Produto p " +
+           "WHERE (:restauranteId IS NULL OR p.restaurante.id = :restauranteId) " +
+           "AND (:categoria IS NULL OR p.categoria = :categoria) " +
+           "AND (:nome IS NULL OR LOWER(p.nome) LIKE LOWER(CONCAT('%', :nome, '%'))) " +
+           "AND (:after IS NULL OR p.id > :after)")
+    Slice<Produto> buscarPagina(@Param("restauranteId") Long restauranteId,
+                                @Param("categoria") String categoria,
+                                @Param("nome") String nome,
+                                @Param("after") Long after,
+                                Pageable pageable);
 
+    /** Produtos com o restaurante numa única consulta (o restaurante é EAGER e viria em selects separados) */
+    @Query("SELECT p FROM Produto p LEFT JOIN FETCH p.restaurante WHERE p.id IN :ids")
+    List<Produto> buscarPorIds(@Param("ids") Collection<Long> ids);
+
+    /** Dados usados pelo índice de busca, sem carregar os restaurantes */
+    @Query("SELECT new com.deliverytech.delivery_api.dto.response.ProdutoResponse(" +
+           "p.id, p.nome, p.categoria, p.descricao, p.preco, p.disponivel) FROM Produto p")
+    List<ProdutoResponse> listarParaIndice();
+}
@@ -1,6 +1,9 @@
 package com.deliverytech.delivery_api.repository;
 
 import com.deliverytech.delivery_api.model.Restaurante;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
@@ -22,5 +25,16 @@ public interface RestauranteRepository extends JpaRepository<Restaurante, Long>
     List<RelatorioVendas> relatorioVendasPorRestaurante();
     List<Restaurante> findByAtivoFalse();
     List<Restaurante> findByCategoriaAndAtivo(String categoria, Boolean ativo);
-}
 
+    /**
+     * Página de restaurantes com filtros opcionais; "after" é o cursor (id) da paginação por keyset
+     */
+    @Query("SELECT r FROM Restaurante r " +
+           "WHERE (:categoria IS NULL OR r.categoria = :categoria) " +
+           "AND (:ativo IS NULL OR r.ativo = :ativo) " +
+           "AND (:after IS NULL OR r.id > :after)")
+    Slice<Restaurante> buscarPagina(@Param("categoria") String categoria,
+                                    @Param("ativo") Boolean ativo,
+                                    @Param("after") Long after,
+                                    Pageable pageable);
+}
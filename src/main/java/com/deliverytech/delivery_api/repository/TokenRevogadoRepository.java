@@ -0,0 +1,29 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.model.TokenRevogado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TokenRevogadoRepository extends JpaRepository<TokenRevogado, String> {
+
+    List<TokenRevogado> findByExpiraEmAfter(LocalDateTime agora);
+
+    /**
+     * INSERT explícito: save() faria merge e nunca acusaria o jti já revogado por outra instância
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO token_revogado (jti, expira_em) VALUES (:jti, :expiraEm)", nativeQuery = true)
+    int inserir(@Param("jti") String jti, @Param("expiraEm") LocalDateTime expiraEm);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TokenRevogado t WHERE t.expiraEm < :agora")
+    int removerExpirados(@Param("agora") LocalDateTime agora);
+}
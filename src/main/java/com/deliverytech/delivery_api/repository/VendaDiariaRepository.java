@@ -0,0 +1,108 @@
+package com.deliverytech.delivery_api.repository;
+
+import com.deliverytech.delivery_api.model.VendaDiaria;
+import com.deliverytech.delivery_api.projection.RelatorioVendas;
+import com.deliverytech.delivery_api.projection.RelatorioVendasClientes;
+import com.deliverytech.delivery_api.projection.RelatorioVendasProdutos;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Linhas zeradas podem sobrar quando a transação que criou a linha do dia é desfeita;
+ * os relatórios por restaurante, produto e cliente as descartam no HAVING.
+ */
+public interface VendaDiariaRepository extends JpaRepository<VendaDiaria, Long> {
+
+    /**
+     * Indica se o rollup já recebeu algum pedido (linhas zeradas não contam)
+     */
+    @Query("SELECT COUNT(v) > 0 FROM VendaDiaria v WHERE v.quantidadePedidos > 0 OR v.pedidosCancelados > 0")
+    boolean possuiVendas();
+
+    /**
+     * Somar valores na linha existente do rollup
+     * @return linhas afetadas (0 quando a linha do dia ainda não existe)
+     */
+    @Modifying
+    @Query("UPDATE VendaDiaria v SET " +
+           "v.nome = :nome, " +
+           "v.quantidadePedidos = v.quantidadePedidos + :pedidos, " +
+           "v.quantidadeItens = v.quantidadeItens + :itens, " +
+           "v.valorTotal = v.valorTotal + :valor, " +
+           "v.pedidosCancelados = v.pedidosCancelados + :cancelados " +
+           "WHERE v.tipo = :tipo AND v.dia = :dia AND v.referenciaId = :referenciaId")
+    int acumular(@Param("tipo") VendaDiaria.Tipo tipo,
+                 @Param("dia") LocalDate dia,
+                 @Param("referenciaId") Long referenciaId,
+                 @Param("nome") String nome,
+                 @Param("pedidos") long pedidos,
+                 @Param("itens") long itens,
+                 @Param("valor") BigDecimal valor,
+                 @Param("cancelados") long cancelados);
+
+    @Query("SELECT MAX(v.nome) as nomeRestaurante, " +
+           "SUM(v.valorTotal) as totalVendas, " +
+           "SUM(v.quantidadePedidos) as quantidadePedidos " +
+           "FROM VendaDiaria v " +
+           "WHERE v.tipo = com.deliverytech.delivery_api.model.VendaDiaria.Tipo.RESTAURANTE " +
+           "AND v.dia BETWEEN :inicio AND :fim " +
+           "GROUP BY v.referenciaId " +
+           "HAVING SUM(v.quantidadePedidos) + SUM(v.pedidosCancelados) > 0 " +
+           "ORDER BY SUM(v.valorTotal) DESC")
+    List<RelatorioVendas> vendasPorRestaurante(@Param("inicio") LocalDate inicio,
+                                               @Param("fim") LocalDate fim);
+
+    @Query("SELECT v.referenciaId as idProduto, " +
+           "MAX(v.nome) as nomeProduto, " +
+           "SUM(v.valorTotal) as totalVendas, " +
+           "SUM(v.quantidadeItens) as quantidadeItemPedido " +
+           "FROM VendaDiaria v " +
+           "WHERE v.tipo = com.deliverytech.delivery_api.model.VendaDiaria.Tipo.PRODUTO " +
+           "AND v.dia BETWEEN :inicio AND :fim " +
+           "GROUP BY v.referenciaId " +
+           "HAVING SUM(v.quantidadeItens) > 0 " +
+           "ORDER BY SUM(v.quantidadeItens) DESC")
+    List<RelatorioVendasProdutos> produtosMaisVendidos(@Param("inicio") LocalDate inicio,
+                                                       @Param("fim") LocalDate fim,
+                                                       Pageable pageable);
+
+    @Query("SELECT v.referenciaId as idCliente, " +
+           "MAX(v.nome) as nomeCliente, " +
+           "SUM(v.valorTotal) as totalCompras, " +
+           "SUM(v.quantidadePedidos) as quantidadePedidos " +
+           "FROM VendaDiaria v " +
+           "WHERE v.tipo = com.deliverytech.delivery_api.model.VendaDiaria.Tipo.CLIENTE " +
+           "AND v.dia BETWEEN :inicio AND :fim " +
+           "GROUP BY v.referenciaId " +
+           "HAVING SUM(v.quantidadePedidos) + SUM(v.pedidosCancelados) > 0 " +
+           "ORDER BY SUM(v.quantidadePedidos) DESC, SUM(v.valorTotal) DESC")
+    List<RelatorioVendasClientes> clientesMaisAtivos(@Param("inicio") LocalDate inicio,
+                                                     @Param("fim") LocalDate fim,
+                                                     Pageable pageable);
+
+    /**
+     * Totais por dia (dimensão restaurante: cada pedido conta uma única vez)
+     * Colunas: dia, pedidos entregues, valor, pedidos cancelados
+     */
+    @Query("SELECT v.dia, SUM(v.quantidadePedidos), SUM(v.valorTotal), SUM(v.pedidosCancelados) " +
+           "FROM VendaDiaria v " +
+           "WHERE v.tipo = com.deliverytech.delivery_api.model.VendaDiaria.Tipo.RESTAURANTE " +
+           "AND v.dia BETWEEN :inicio AND :fim " +
+           "GROUP BY v.dia " +
+           "ORDER BY v.dia")
+    List<Object[]> totaisPorDia(@Param("inicio") LocalDate inicio,
+                                @Param("fim") LocalDate fim);
+
+    @Query("SELECT COUNT(DISTINCT v.referenciaId) FROM VendaDiaria v " +
+           "WHERE v.tipo = :tipo AND v.dia BETWEEN :inicio AND :fim AND v.quantidadePedidos > 0")
+    long contarComVendas(@Param("tipo") VendaDiaria.Tipo tipo,
+                         @Param("inicio") LocalDate inicio,
+                         @Param("fim") LocalDate fim);
+}
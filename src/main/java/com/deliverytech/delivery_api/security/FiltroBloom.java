@@ -0,0 +1,67 @@
+package com.deliverytech.delivery_api.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de tamanho fixo (potência de dois em bits) sobre texto.
+ * As k posições saem de dois hashes de 64 bits (hashing duplo) calculados
+ * direto dos caracteres, sem alocar. Inserções concorrentes são seguras;
+ * não há remoção: quem precisa esquecer entradas monta um filtro novo.
+ */
+final class FiltroBloom {
+
+    private final AtomicLongArray bits;
+    private final long mascara;
+    private final int funcoes;
+
+    FiltroBloom(int capacidade, double taxaFalsosPositivos) {
+        double ln2 = Math.log(2);
+        long tamanho = (long) Math.ceil(-Math.max(1, capacidade) * Math.log(taxaFalsosPositivos) / (ln2 * ln2));
+        tamanho = Math.max(64, Long.highestOneBit(tamanho - 1) << 1);
+        this.bits = new AtomicLongArray((int) (tamanho >>> 6));
+        this.mascara = tamanho - 1;
+        this.funcoes = Math.max(1, (int) Math.round(-Math.log(taxaFalsosPositivos) / ln2));
+    }
+
+    void adicionar(CharSequence valor) {
+        long h1 = misturar(fnv(valor));
+        long h2 = misturar(h1) | 1;
+        for (int i = 0; i < funcoes; i++) {
+            long posicao = (h1 + i * h2) & mascara;
+            long bit = 1L << posicao;
+            bits.getAndAccumulate((int) (posicao >>> 6), bit, (atual, novo) -> atual | novo);
+        }
+    }
+
+    /** false: certamente ausente; true: presente ou falso positivo */
+    boolean podeConter(CharSequence valor) {
+        long h1 = misturar(fnv(valor));
+        long h2 = misturar(h1) | 1;
+        for (int i = 0; i < funcoes; i++) {
+            long posicao = (h1 + i * h2) & mascara;
+            if ((bits.get((int) (posicao >>> 6)) & (1L << posicao)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long fnv(CharSequence valor) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            h ^= valor.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    // Finalizador do MurmurHash3: espalha os bits do FNV pelas 64 posições
+    private static long misturar(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
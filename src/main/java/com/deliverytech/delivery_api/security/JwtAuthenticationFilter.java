@@ -9,7 +9,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.deliverytech.delivery_api.repository.UsuarioRepository;
+import io.jsonwebtoken.Claims;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -22,7 +22,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
     @Autowired
-    private UsuarioRepository usuarioRepository;
+    private UsuarioPrincipalCache usuarioPrincipalCache;
+    @Autowired
+    private ListaRevogacao listaRevogacao;
 
      @Override
     protected void doFilterInternal(
@@ -32,11 +34,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         var token = this.recoverToken(request);
         if (token != null){
-            var login = jwtUtil.getEmailFromToken(token);
-            UserDetails user = usuarioRepository.findByEmail(login);
-
-            var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+            Claims claims = jwtUtil.validarAcesso(token);
+            // Revogados (logout) seguem anônimos; a consulta não vai ao banco
+            String login = claims != null && !listaRevogacao.revogado(claims.getId()) ? claims.getSubject() : null;
+            // Sem ida ao banco quando o usuário já está no cache
+            UserDetails user = usuarioPrincipalCache.buscar(login);
+
+            if (user != null) {
+                var authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
         filterChain.doFilter(request, response);
     }
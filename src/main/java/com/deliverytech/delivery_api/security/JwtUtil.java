@@ -1,55 +1,108 @@
 package com.deliverytech.delivery_api.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.util.Date;
+import java.util.UUID;
 
 import javax.crypto.SecretKey;
 
+/**
+ * Tokens de acesso (curtos, enviados a cada requisição) e refresh tokens (longos,
+ * só trocados em /api/auth/refresh). Ambos levam jti, usado na revogação
+ * ({@link ListaRevogacao}), e o tipo na claim "tipo": um não vale pelo outro.
+ */
 @Component
 public class JwtUtil {
 
+    public static final String CLAIM_TIPO = "tipo";
+    public static final String TIPO_ACESSO = "acesso";
+    public static final String TIPO_REFRESH = "refresh";
+
     @Value("${jwt.secret}")
     private String secret;
     
     @Value("${jwt.expiration}")
     private Long expiration;
+
+    @Value("${jwt.refresh-expiration}")
+    private Long refreshExpiration;
+
+    // Chave e parser são imutáveis e thread-safe: montados uma única vez
+    private SecretKey key;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        this.key = Keys.hmacShaKeyFor(Decoders.BASE64URL.decode(secret));
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+    }
     
-    // Gera um token JWT para o usuário
+    // Gera um token de acesso JWT para o usuário
     public String gerarToken(String email) {
+        return gerar(email, TIPO_ACESSO, expiration);
+    }
+
+    // Gera um refresh token, trocado por um novo par de tokens
+    public String gerarRefreshToken(String email) {
+        return gerar(email, TIPO_REFRESH, refreshExpiration);
+    }
+
+    private String gerar(String email, String tipo, long validade) {
         Date agora = new Date();
-        Date dataExpiracao = new Date(agora.getTime() + expiration);
-        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64URL.decode(secret));
+        Date dataExpiracao = new Date(agora.getTime() + validade);
         
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(email)
+                .claim(CLAIM_TIPO, tipo)
                 .issuedAt(agora)
                 .expiration(dataExpiracao)
                 .signWith(key)
                 .compact();
     }
+
+    public long getExpiracaoSegundos() {
+        return expiration / 1000;
+    }
     
     // Valida um token JWT e retorna as claims
     public Claims validarToken(String token) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64URL.decode(secret));
-
-            return Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return parser.parseSignedClaims(token).getPayload();
         } catch (Exception e) {
             return null; // Token inválido
         }
     }
     
+    // Claims de um token de acesso válido; null para refresh tokens ou tokens sem jti
+    public Claims validarAcesso(String token) {
+        return validarTipo(token, TIPO_ACESSO);
+    }
+
+    // Claims de um refresh token válido; null para tokens de acesso
+    public Claims validarRefresh(String token) {
+        return validarTipo(token, TIPO_REFRESH);
+    }
+
+    private Claims validarTipo(String token, String tipo) {
+        Claims claims = validarToken(token);
+        if (claims == null || claims.getId() == null || !tipo.equals(claims.get(CLAIM_TIPO))) {
+            return null;
+        }
+        return claims;
+    }
+    
     // Extrai o email (subject) do token
     public String getEmailFromToken(String token) {
         Claims claims = validarToken(token);
@@ -60,4 +113,4 @@ public class JwtUtil {
         // TODO Auto-generated method stub
         throw new UnsupportedOperationException("Unimplemented method 'generateToken'");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,148 @@
+package com.deliverytech.delivery_api.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import com.deliverytech.delivery_api.model.TokenRevogado;
+import com.deliverytech.delivery_api.repository.TokenRevogadoRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tokens revogados (jti), consultada pelo filtro JWT a cada requisição.
+ *
+ * Um filtro de Bloom na frente do conjunto exato responde "não revogado" para
+ * quase todos os tokens sem tocar no mapa; só positivos (revogados de fato ou
+ * falsos positivos) vão ao {@code ConcurrentHashMap}. As revogações são gravadas
+ * em token_revogado e, a cada {@code limpeza}, a lista descarta o que expirou
+ * (no banco e em memória), incorpora revogações feitas por outras instâncias e
+ * monta um filtro novo, já que o de Bloom não remove entradas.
+ */
+@Slf4j
+@Component
+public class ListaRevogacao {
+
+    private static final double TAXA_FALSOS_POSITIVOS = 0.01;
+
+    private final TokenRevogadoRepository repository;
+    private final int capacidade;
+    private final Duration limpeza;
+    private final ScheduledExecutorService agendador;
+    private final Counter falsosPositivos;
+
+    // jti -> expiração do token (epoch millis)
+    private final Map<String, Long> revogados = new ConcurrentHashMap<>();
+    private volatile FiltroBloom filtro;
+
+    public ListaRevogacao(TokenRevogadoRepository repository,
+                          MeterRegistry meterRegistry,
+                          @Value("${jwt.revogacao.capacidade:100000}") int capacidade,
+                          @Value("${jwt.revogacao.limpeza:1m}") Duration limpeza) {
+        this.repository = repository;
+        this.capacidade = capacidade;
+        this.limpeza = limpeza;
+        this.filtro = new FiltroBloom(capacidade, TAXA_FALSOS_POSITIVOS);
+        this.agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "revogacao-jwt");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.falsosPositivos = Counter.builder("jwt.revogacao.falsos.positivos")
+                .description("Consultas em que o filtro de Bloom acusou um jti que não estava revogado")
+                .register(meterRegistry);
+        Gauge.builder("jwt.revogados", revogados, Map::size)
+                .description("Tokens revogados ainda dentro da validade")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        recarregar();
+        agendador.scheduleWithFixedDelay(this::recarregarComLog, limpeza.toMillis(), limpeza.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void parar() {
+        agendador.shutdownNow();
+    }
+
+    /** O(1) e sem alocação: a maioria das consultas termina no filtro de Bloom */
+    public boolean revogado(String jti) {
+        if (jti == null || !filtro.podeConter(jti)) {
+            return false;
+        }
+        if (revogados.get(jti) != null) {
+            return true;
+        }
+        falsosPositivos.increment();
+        return false;
+    }
+
+    /**
+     * Revoga o token até a sua expiração
+     * @return false se o jti já estava revogado, aqui ou por outra instância (ex.: refresh token reutilizado)
+     */
+    public boolean revogar(String jti, Instant expiraEm) {
+        if (revogados.putIfAbsent(jti, expiraEm.toEpochMilli()) != null) {
+            return false;
+        }
+        boolean revogadoAgora = true;
+        try {
+            repository.inserir(jti, LocalDateTime.ofInstant(expiraEm, ZoneId.systemDefault()));
+        } catch (DataIntegrityViolationException e) {
+            // Outra instância gravou o jti antes: já está revogado, só não foi por esta chamada
+            revogadoAgora = false;
+        } catch (RuntimeException e) {
+            revogados.remove(jti);
+            throw e;
+        }
+        // Sincronizado com a troca do filtro: a inserção nunca cai num filtro já descartado
+        synchronized (this) {
+            filtro.adicionar(jti);
+        }
+        return revogadoAgora;
+    }
+
+    /** Descarta expirados, traz as revogações do banco e reconstrói o filtro */
+    void recarregar() {
+        LocalDateTime agora = LocalDateTime.now();
+        int removidos = repository.removerExpirados(agora);
+        for (TokenRevogado token : repository.findByExpiraEmAfter(agora)) {
+            revogados.putIfAbsent(token.getJti(), token.getExpiraEm().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        long agoraMillis = System.currentTimeMillis();
+        revogados.values().removeIf(expiraEm -> expiraEm < agoraMillis);
+
+        synchronized (this) {
+            FiltroBloom novo = new FiltroBloom(Math.max(capacidade, revogados.size() * 2), TAXA_FALSOS_POSITIVOS);
+            revogados.keySet().forEach(novo::adicionar);
+            filtro = novo;
+        }
+        log.debug("Lista de revogação recarregada: {} tokens revogados, {} expirados removidos", revogados.size(), removidos);
+    }
+
+    private void recarregarComLog() {
+        try {
+            recarregar();
+        } catch (RuntimeException e) {
+            // Mantém a lista atual; a próxima execução tenta de novo
+            log.warn("Falha ao recarregar a lista de revogação: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.deliverytech.delivery_api.security;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.deliverytech.delivery_api.repository.UsuarioRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache dos usuários autenticados, indexado pelo subject (email) do JWT.
+ * Evita a consulta em usuario a cada requisição autenticada; alterações
+ * no usuário devem chamar {@link #invalidar(String)}.
+ */
+@Component
+public class UsuarioPrincipalCache {
+
+    private final UsuarioRepository usuarioRepository;
+    private final Cache<String, UserDetails> cache;
+
+    public UsuarioPrincipalCache(UsuarioRepository usuarioRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${security.principal-cache.max-size:10000}") long maxSize,
+                                 @Value("${security.principal-cache.ttl:5m}") Duration ttl) {
+        this.usuarioRepository = usuarioRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // cache_gets_total{cache="usuarioPrincipal",result="hit|miss"} no /actuator/prometheus
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "usuarioPrincipal");
+    }
+
+    /**
+     * Buscar usuário pelo email, consultando o banco apenas em cache miss.
+     * Emails inexistentes não são cacheados.
+     */
+    public UserDetails buscar(String email) {
+        if (email == null) {
+            return null;
+        }
+        return cache.get(email, usuarioRepository::findByEmail);
+    }
+
+    public void invalidar(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+
+    public void invalidarTodos() {
+        cache.invalidateAll();
+    }
+}
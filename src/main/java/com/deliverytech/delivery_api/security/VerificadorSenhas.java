@@ -0,0 +1,184 @@
+package com.deliverytech.delivery_api.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.deliverytech.delivery_api.exception.ServiceUnavailableException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * BCrypt com custo configurável, executado num pool próprio e limitado: rajadas de
+ * login ocupam no máximo {@code threads} núcleos e não roubam CPU das demais
+ * requisições. Fila cheia ou espera acima do timeout viram 503 com Retry-After.
+ *
+ * Hashes com custo diferente do configurado são regravados no próximo login
+ * ({@link #upgradeEncoding}, via UserDetailsPasswordService). Verificações bem-sucedidas
+ * ficam num cache curto, indexado por HMAC (chave aleatória do processo) do hash e da
+ * senha, para que repetições do mesmo login não paguem o BCrypt de novo. Falhas nunca
+ * são cacheadas; trocar a senha muda o hash e, com ele, a chave.
+ */
+public class VerificadorSenhas implements PasswordEncoder, AutoCloseable {
+
+    private static final String HMAC = "HmacSHA256";
+
+    private final PasswordEncoder bcrypt;
+    private final int custo;
+    private final long timeoutNanos;
+    private final ThreadPoolExecutor executor;
+    private final Cache<String, Boolean> verificadas;
+    private final SecretKeySpec chaveCache;
+    private final Counter rejeicoes;
+
+    public VerificadorSenhas(int custo, int threads, int fila, Duration timeout,
+                             Duration cacheTtl, long cacheMaxSize, MeterRegistry meterRegistry) {
+        this(new BCryptPasswordEncoder(custo), custo, threads, fila, timeout, cacheTtl, cacheMaxSize, meterRegistry);
+    }
+
+    VerificadorSenhas(PasswordEncoder bcrypt, int custo, int threads, int fila, Duration timeout,
+                      Duration cacheTtl, long cacheMaxSize, MeterRegistry meterRegistry) {
+        this.bcrypt = bcrypt;
+        this.custo = custo;
+        this.timeoutNanos = timeout.toNanos();
+
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(fila), tarefa -> {
+                    Thread thread = new Thread(tarefa, "bcrypt-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // executor_active_threads / executor_queued_tasks{name="verificacaoSenhas"}
+        new ExecutorServiceMetrics(executor, "verificacaoSenhas", Tags.empty()).bindTo(meterRegistry);
+        this.rejeicoes = Counter.builder("senha.verificacao.rejeicoes")
+                .description("Verificações de senha recusadas por fila cheia ou espera esgotada")
+                .register(meterRegistry);
+
+        if (cacheTtl.isZero()) {
+            this.verificadas = null;
+        } else {
+            this.verificadas = Caffeine.newBuilder()
+                    .maximumSize(cacheMaxSize)
+                    .expireAfterWrite(cacheTtl)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, verificadas, "credenciais");
+        }
+        byte[] chave = new byte[32];
+        new SecureRandom().nextBytes(chave);
+        this.chaveCache = new SecretKeySpec(chave, HMAC);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return executar(() -> bcrypt.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null || encodedPassword.isEmpty()) {
+            return false;
+        }
+        String chave = verificadas != null ? chave(rawPassword, encodedPassword) : null;
+        if (chave != null && verificadas.getIfPresent(chave) != null) {
+            return true;
+        }
+        boolean confere = executar(() -> bcrypt.matches(rawPassword, encodedPassword));
+        if (confere && chave != null) {
+            verificadas.put(chave, Boolean.TRUE);
+        }
+        return confere;
+    }
+
+    /** Custo do hash diferente do configurado, para mais ou para menos */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int custoAtual = custo(encodedPassword);
+        return custoAtual > 0 && custoAtual != custo;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /** "$2a$10$..." -> 10; 0 se não for BCrypt */
+    static int custo(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(0) != '$'
+                || encodedPassword.charAt(3) != '$' || encodedPassword.charAt(6) != '$') {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(encodedPassword, 4, 6, 10);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private <T> T executar(Callable<T> tarefa) {
+        Future<T> futuro;
+        try {
+            futuro = executor.submit(tarefa);
+        } catch (RejectedExecutionException e) {
+            throw sobrecarga();
+        }
+        try {
+            return futuro.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            throw sobrecarga();
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw sobrecarga();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private ServiceUnavailableException sobrecarga() {
+        rejeicoes.increment();
+        return new ServiceUnavailableException("Verificação de senhas sobrecarregada, tente novamente em instantes", 1);
+    }
+
+    private String chave(CharSequence rawPassword, String encodedPassword) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(chaveCache);
+            mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return Base64.getEncoder().encodeToString(
+                    mac.doFinal(rawPassword.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            // Sem HMAC disponível, apenas não usa o cache
+            return null;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.deliverytech.delivery_api.service;
+
+import com.deliverytech.delivery_api.model.EventoPedido;
+import com.deliverytech.delivery_api.model.StatusPedido;
+
+/**
+ * Trabalho disparado por uma mudança de status do pedido, executado fora da
+ * requisição pelo despachante do outbox. A entrega é pelo menos uma vez: o que
+ * o assinante grava no banco é confirmado junto com a entrega, mas efeitos
+ * externos podem se repetir e devem ser idempotentes por pedido.
+ */
+public interface AssinanteEventoPedido {
+
+    /** Identifica o assinante nas linhas do outbox; não deve mudar entre versões */
+    String nome();
+
+    /** Status pelos quais o assinante se interessa; os demais nem são gravados para ele */
+    boolean interessado(StatusPedido status);
+
+    /** Lançar exceção agenda uma nova tentativa */
+    void receber(EventoPedido evento);
+}
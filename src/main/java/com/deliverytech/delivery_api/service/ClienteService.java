@@ -2,9 +2,12 @@
 package com.deliverytech.delivery_api.service;
 
 import com.deliverytech.delivery_api.dto.request.ClienteRequest;
+import com.deliverytech.delivery_api.dto.request.PaginacaoRequest;
 import com.deliverytech.delivery_api.model.Cliente;
 
 
+import org.springframework.data.domain.Slice;
+
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +30,9 @@ public interface ClienteService {
     
 
     List<Cliente> buscarPorNome(String nome);
+
+
+    Slice<Cliente> listarPagina(Boolean ativo, String nome, PaginacaoRequest paginacao);
     
 
     Cliente atualizar(Long id, ClienteRequest clienteRequest);
@@ -0,0 +1,15 @@
+package com.deliverytech.delivery_api.service;
+
+import com.deliverytech.delivery_api.dto.request.ProdutoRequest;
+import com.deliverytech.delivery_api.dto.response.ImportacaoProdutosResponse;
+
+import java.util.List;
+
+public interface ImportacaoProdutoService {
+
+    /**
+     * Importar (inserir ou atualizar) produtos do cardápio de um restaurante em lote.
+     * O nome identifica o produto dentro do cardápio; linhas inválidas não impedem as demais.
+     */
+    ImportacaoProdutosResponse importar(Long restauranteId, List<ProdutoRequest> produtos);
+}
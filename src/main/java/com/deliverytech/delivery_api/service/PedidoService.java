@@ -3,18 +3,34 @@ package com.deliverytech.delivery_api.service;
 import com.deliverytech.delivery_api.dto.request.ItemPedidoRequest;
 import java.time.LocalDate;
 
+import com.deliverytech.delivery_api.dto.request.PaginacaoRequest;
+import com.deliverytech.delivery_api.dto.response.CotacaoResponse;
+import com.deliverytech.delivery_api.dto.response.PedidoExportacao;
+import com.deliverytech.delivery_api.dto.response.PedidoResponse;
 import com.deliverytech.delivery_api.model.Pedido;
 import com.deliverytech.delivery_api.model.StatusPedido;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import org.springframework.data.domain.Slice;
+
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface PedidoService {
     
     // === OPERAÇÕES BÁSICAS ===
     Pedido criar(Pedido pedido);
+
+    /**
+     * Criar pedido já com os itens em uma única transação
+     * Produtos são resolvidos em uma só consulta e os itens inseridos em batch
+     * @param pedido pedido com cliente, restaurante e endereço preenchidos
+     * @param itens itens solicitados
+     * @return pedido salvo com itens e totais calculados
+     */
+    Pedido criarComItens(Pedido pedido, List<ItemPedidoRequest> itens);
     Pedido buscarPorId(Long id);
     
     // === BUSCAS ESPECÍFICAS ===
@@ -40,13 +56,41 @@ public interface PedidoService {
      */
     BigDecimal calcularTotalPedido(List<ItemPedidoRequest> itens);
 
+    /**
+     * Cotação do carrinho sem salvar: produtos resolvidos numa única busca (cache ou IN),
+     * todos do restaurante e disponíveis; subtotal, taxa de entrega pelo CEP e total.
+     * O número de idas ao banco não depende da quantidade de itens.
+     */
+    CotacaoResponse cotar(Long restauranteId, String cep, List<ItemPedidoRequest> itens);
+
     /**
      * Listar pedidos com filtros opcionais
      */
     List<Pedido> listarComFiltros(StatusPedido status, LocalDate dataInicio, LocalDate dataFim);
+
+    /**
+     * Listar uma página de pedidos (cursor ou offset) com filtros opcionais.
+     * Executa sempre duas consultas por página: pedidos e itens (IN)
+     */
+    Slice<PedidoResponse> listarPagina(StatusPedido status, LocalDate dataInicio, LocalDate dataFim,
+                                       Long clienteId, Long restauranteId, PaginacaoRequest paginacao);
+
+    /**
+     * Fila da cozinha: pedidos em andamento do restaurante, por status e ordem de chegada,
+     * servidos do índice em memória (custo proporcional aos pedidos abertos, não ao histórico)
+     * @param status CONFIRMADO, PREPARANDO ou SAIU_PARA_ENTREGA; nulo traz todos
+     */
+    List<PedidoResponse> filaDoRestaurante(Long restauranteId, StatusPedido status);
     
     // === RELATÓRIOS ===
     List<Pedido> buscarPorPeriodo(LocalDateTime inicio, LocalDateTime fim);
+
+    /**
+     * Exportar pedidos do período (datas inclusivas), entregando uma linha por vez ao destino.
+     * Nada é acumulado em memória: o destino deve escrever cada linha assim que a recebe.
+     * @return quantidade de pedidos exportados
+     */
+    long exportarPorPeriodo(LocalDate dataInicio, LocalDate dataFim, Consumer<PedidoExportacao> destino);
     
     // === BUSCAS COM ITENS ===
     Optional<Pedido> buscarPorIdComItens(Long id);
@@ -1,15 +1,28 @@
 package com.deliverytech.delivery_api.service;
 
+import com.deliverytech.delivery_api.dto.request.PaginacaoRequest;
+import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
 import com.deliverytech.delivery_api.model.Produto;
 
 import java.math.BigDecimal;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface ProdutoService {
     // === OPERAÇÕES BÁSICAS ===
     Produto cadastrar(Produto produto);                        
     Optional<Produto> buscarPorId(Long id);                   
+
+    /**
+     * Produtos por id com no máximo uma consulta: os que estão no cache de produtos
+     * não vão ao banco, os demais vêm num único IN e entram no cache
+     * @return mapa id → produto; ids inexistentes ficam de fora
+     */
+    Map<Long, Produto> buscarPorIds(Collection<Long> ids);
     List<Produto> listarTodos();                              
     Produto atualizar(Long id, Produto produtoAtualizado);    
     void inativar(Long id);                                   
@@ -21,6 +34,12 @@ public interface ProdutoService {
     List<Produto> listarDisponiveis();
     List<Produto> buscarPorNome(String nome);
 
+    /** Listar uma página de produtos (cursor ou offset) com filtros opcionais */
+    Slice<Produto> listarPagina(Long restauranteId, String categoria, String nome, PaginacaoRequest paginacao);
+
+    /** Busca textual em nome, categoria e descrição (sem acentos), ordenada por relevância */
+    Slice<ProdutoResponse> buscar(String texto, PaginacaoRequest paginacao);
+
     
     // === REGRAS DE NEGÓCIO ===
     void alterarDisponibilidade(Long id, boolean disponivel); 
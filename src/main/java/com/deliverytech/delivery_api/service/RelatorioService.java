@@ -1,5 +1,7 @@
 package com.deliverytech.delivery_api.service;
 
+import com.deliverytech.delivery_api.model.Pedido;
+
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
@@ -31,4 +33,9 @@ public interface RelatorioService {
      * Resumo geral de vendas
      */
     Map<String, Object> resumoVendas(LocalDate dataInicio, LocalDate dataFim);
+
+    /**
+     * Acumular no rollup diário um pedido que chegou a ENTREGUE ou CANCELADO
+     */
+    void registrarPedidoFinalizado(Pedido pedido);
 }
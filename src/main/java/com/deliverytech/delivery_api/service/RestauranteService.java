@@ -2,9 +2,13 @@
 package com.deliverytech.delivery_api.service;
 
 import com.deliverytech.delivery_api.dto.request.RestauranteRequest;
+import com.deliverytech.delivery_api.dto.request.PaginacaoRequest;
+import com.deliverytech.delivery_api.dto.response.RestauranteResponse;
 import com.deliverytech.delivery_api.model.Restaurante;
 
 import java.math.BigDecimal;
+import org.springframework.data.domain.Slice;
+
 import java.util.List;
 import java.util.Optional;
 
@@ -65,7 +69,17 @@ public interface RestauranteService {
 
     Restaurante alterarStatus(Long id, Boolean ativo);
 
-    List<Restaurante> buscarProximos(String cep);
+    /**
+     * Restaurantes ativos mais próximos do CEP, do mais perto ao mais longe
+     * @param raioKm distância máxima (padrão: raio de entrega)
+     * @param limite quantidade máxima de restaurantes
+     */
+    List<RestauranteResponse> buscarProximos(String cep, Double raioKm, Integer limite);
 
     List<Restaurante> listarComFiltros(String categoria, Boolean ativo);
+
+    /**
+     * Listar uma página de restaurantes (cursor ou offset) com filtros opcionais
+     */
+    Slice<Restaurante> listarPagina(String categoria, Boolean ativo, PaginacaoRequest paginacao);
 }
@@ -23,5 +23,9 @@ public interface UsuarioService {
 
     LoginResponse login(LoginRequest loginRequest);
 
+    LoginResponse emitirTokens(String email);
+
+    LoginResponse renovar(String refreshToken);
+
     void logout(String token);
 }
\ No newline at end of file
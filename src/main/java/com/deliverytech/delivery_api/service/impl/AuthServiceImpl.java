@@ -2,6 +2,7 @@ package com.deliverytech.delivery_api.service.impl;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -12,14 +13,16 @@ import com.deliverytech.delivery_api.dto.response.LoginResponse;
 import com.deliverytech.delivery_api.dto.response.UserResponse;
 import com.deliverytech.delivery_api.model.Usuario;
 import com.deliverytech.delivery_api.repository.UsuarioRepository;
+import com.deliverytech.delivery_api.security.UsuarioPrincipalCache;
 import com.deliverytech.delivery_api.service.AuthService;
 
 import lombok.RequiredArgsConstructor;
 
 @RequiredArgsConstructor
 @Service
-public class AuthServiceImpl implements UserDetailsService, AuthService {
+public class AuthServiceImpl implements UserDetailsService, UserDetailsPasswordService, AuthService {
     private final UsuarioRepository usuarioRepository;
+    private final UsuarioPrincipalCache usuarioPrincipalCache;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
@@ -30,6 +33,22 @@ public class AuthServiceImpl implements UserDetailsService, AuthService {
         return usuario;
     }
 
+    /**
+     * Regrava o hash no login quando o custo do BCrypt mudou (chamado pelo
+     * DaoAuthenticationProvider com a senha já codificada no custo atual)
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Usuario usuario = (Usuario) usuarioRepository.findByEmail(user.getUsername());
+        if (usuario == null) {
+            return user;
+        }
+        usuario.setSenha(newPassword);
+        Usuario salvo = usuarioRepository.save(usuario);
+        usuarioPrincipalCache.invalidar(salvo.getEmail());
+        return salvo;
+    }
+
     @Override
     public LoginResponse login(LoginRequest request) {
         throw new UnsupportedOperationException("Login ainda não implementado");
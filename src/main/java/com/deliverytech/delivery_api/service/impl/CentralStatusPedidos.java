@@ -0,0 +1,341 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.deliverytech.delivery_api.config.Transacoes.aposCommit;
+
+/**
+ * Distribuição das mudanças de status dos pedidos para as conexões SSE abertas,
+ * por pedido (cliente) e por restaurante (tablet). As conexões são assíncronas e
+ * não prendem thread: cada uma tem um buffer limitado, drenado por poucas threads
+ * de envio. Quem deixa o buffer encher (consumidor lento) é desconectado e
+ * reconecta pelo EventSource; o heartbeat mantém proxies abertos e revela
+ * conexões mortas. Só alcança as conexões desta instância.
+ *
+ * Um cliente parado (janela TCP cheia) prende a thread de envio no write, que só
+ * volta com o timeout de escrita do conector (server.tomcat.connection-timeout).
+ * Envio que passa de sse.prazo-envio desconecta a assinatura e a thread presa é
+ * compensada por uma extra até voltar, então clientes parados não congelam os demais.
+ */
+@Slf4j
+@Component
+public class CentralStatusPedidos {
+
+    public static final String EVENTO_STATUS = "status";
+
+    public record EventoStatus(Long pedidoId, Long restauranteId, StatusPedido status, LocalDateTime momento) {
+    }
+
+    // Marcador do heartbeat no buffer (enviado como comentário SSE)
+    private static final EventoStatus BATIMENTO = new EventoStatus(null, null, null, null);
+
+    private final Map<Long, Set<Assinatura>> porPedido = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Assinatura>> porRestaurante = new ConcurrentHashMap<>();
+    private final AtomicInteger conexoes = new AtomicInteger();
+    private final LongAdder desconectadosLentos = new LongAdder();
+
+    private final int maxConexoes;
+    private final int tamanhoBuffer;
+    private final Duration heartbeat;
+    private final Duration timeout;
+    private final long prazoEnvioNanos;
+    private final int threadsEnvio;
+    private final ThreadPoolExecutor envio;
+    private final ScheduledExecutorService batimentos;
+    // Threads de envio presas em clientes já desconectados por prazo
+    private int enviosPresos;
+
+    public CentralStatusPedidos(@Value("${sse.max-conexoes:50000}") int maxConexoes,
+                                @Value("${sse.buffer:32}") int tamanhoBuffer,
+                                @Value("${sse.heartbeat:15s}") Duration heartbeat,
+                                @Value("${sse.timeout:30m}") Duration timeout,
+                                @Value("${sse.threads-envio:4}") int threadsEnvio,
+                                @Value("${sse.prazo-envio:5s}") Duration prazoEnvio) {
+        this.maxConexoes = maxConexoes;
+        this.tamanhoBuffer = tamanhoBuffer;
+        this.heartbeat = heartbeat;
+        this.timeout = timeout;
+        this.prazoEnvioNanos = prazoEnvio.toNanos();
+        this.threadsEnvio = threadsEnvio;
+        this.envio = new ThreadPoolExecutor(threadsEnvio, threadsEnvio, 1, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(), threads("sse-envio-"));
+        this.batimentos = Executors.newSingleThreadScheduledExecutor(threads("sse-heartbeat-"));
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        batimentos.scheduleAtFixedRate(this::bater, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+        long vigia = Math.max(1, TimeUnit.NANOSECONDS.toMillis(prazoEnvioNanos) / 2);
+        batimentos.scheduleAtFixedRate(this::vigiarEnvios, vigia, vigia, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void parar() {
+        batimentos.shutdownNow();
+        porPedido.values().forEach(assinaturas -> assinaturas.forEach(Assinatura::encerrar));
+        porRestaurante.values().forEach(assinaturas -> assinaturas.forEach(Assinatura::encerrar));
+        envio.shutdownNow();
+    }
+
+    /**
+     * Conexão que acompanha um pedido; começa pelo status atual
+     * @return vazio se o limite de conexões foi atingido
+     */
+    public Optional<SseEmitter> assinarPedido(Long pedidoId, Long restauranteId, StatusPedido atual) {
+        Optional<Assinatura> assinatura = assinar(porPedido, pedidoId);
+        // Depois de registrada: uma transição concorrente chega como evento, nunca se perde
+        assinatura.ifPresent(a -> a.inicial(new EventoStatus(pedidoId, restauranteId, atual, LocalDateTime.now())));
+        return assinatura.map(Assinatura::emitter);
+    }
+
+    /**
+     * Conexão que acompanha todos os pedidos de um restaurante, inclusive os novos
+     * @return vazio se o limite de conexões foi atingido
+     */
+    public Optional<SseEmitter> assinarRestaurante(Long restauranteId) {
+        return assinar(porRestaurante, restauranteId).map(Assinatura::emitter);
+    }
+
+    /** Status do pedido mudou; distribuído após o commit da transação corrente */
+    public void publicar(Pedido pedido) {
+        EventoStatus evento = new EventoStatus(pedido.getId(),
+                pedido.getRestaurante() != null ? pedido.getRestaurante().getId() : null,
+                pedido.getStatus(), LocalDateTime.now());
+        aposCommit(() -> {
+            distribuir(porPedido.get(evento.pedidoId()), evento);
+            if (evento.restauranteId() != null) {
+                distribuir(porRestaurante.get(evento.restauranteId()), evento);
+            }
+        });
+    }
+
+    public int conexoes() {
+        return conexoes.get();
+    }
+
+    public long desconectadosLentos() {
+        return desconectadosLentos.sum();
+    }
+
+    public synchronized int enviosPresos() {
+        return enviosPresos;
+    }
+
+    private Optional<Assinatura> assinar(Map<Long, Set<Assinatura>> indice, Long chave) {
+        if (conexoes.incrementAndGet() > maxConexoes) {
+            conexoes.decrementAndGet();
+            return Optional.empty();
+        }
+        Assinatura assinatura = new Assinatura(new SseEmitter(timeout.toMillis()), indice, chave);
+        assinatura.emitter.onCompletion(assinatura::remover);
+        assinatura.emitter.onTimeout(assinatura::encerrar);
+        assinatura.emitter.onError(erro -> assinatura.remover());
+        indice.computeIfAbsent(chave, c -> ConcurrentHashMap.newKeySet()).add(assinatura);
+        return Optional.of(assinatura);
+    }
+
+    private static void distribuir(Set<Assinatura> assinaturas, EventoStatus evento) {
+        if (assinaturas != null) {
+            assinaturas.forEach(assinatura -> assinatura.entregar(evento));
+        }
+    }
+
+    private void bater() {
+        porPedido.values().forEach(assinaturas -> distribuir(assinaturas, BATIMENTO));
+        porRestaurante.values().forEach(assinaturas -> distribuir(assinaturas, BATIMENTO));
+    }
+
+    private void vigiarEnvios() {
+        long agora = System.nanoTime();
+        porPedido.values().forEach(assinaturas -> assinaturas.forEach(assinatura -> assinatura.vigiar(agora)));
+        porRestaurante.values().forEach(assinaturas -> assinaturas.forEach(assinatura -> assinatura.vigiar(agora)));
+    }
+
+    /** Uma thread a mais (ou a menos) no envio enquanto houver threads presas em escrita */
+    private synchronized void compensarEnvioPreso(int delta) {
+        enviosPresos += delta;
+        int tamanho = threadsEnvio + Math.max(0, enviosPresos);
+        if (tamanho > envio.getMaximumPoolSize()) {
+            envio.setMaximumPoolSize(tamanho);
+            envio.setCorePoolSize(tamanho);
+        } else {
+            envio.setCorePoolSize(tamanho);
+            envio.setMaximumPoolSize(tamanho);
+        }
+    }
+
+    /** Uma conexão SSE, com buffer próprio e no máximo uma thread de envio por vez */
+    private final class Assinatura implements Runnable {
+
+        private final SseEmitter emitter;
+        private final Map<Long, Set<Assinatura>> indice;
+        private final Long chave;
+        private final ArrayBlockingQueue<EventoStatus> buffer = new ArrayBlockingQueue<>(tamanhoBuffer);
+        private final AtomicBoolean agendada = new AtomicBoolean();
+        private final AtomicBoolean removida = new AtomicBoolean();
+        // Início do envio em andamento (System.nanoTime), 0 sem envio
+        private volatile long enviandoDesde;
+        // Thread de envio compensada por uma extra; protegido pelo monitor da assinatura
+        private boolean presa;
+        private boolean iniciada;
+
+        Assinatura(SseEmitter emitter, Map<Long, Set<Assinatura>> indice, Long chave) {
+            this.emitter = emitter;
+            this.indice = indice;
+            this.chave = chave;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        /** Estado inicial, descartado se um evento ao vivo chegou antes (ele é mais novo) */
+        synchronized void inicial(EventoStatus evento) {
+            if (!iniciada) {
+                iniciada = true;
+                enfileirar(evento);
+            }
+        }
+
+        synchronized void entregar(EventoStatus evento) {
+            if (evento != BATIMENTO) {
+                iniciada = true;
+            }
+            enfileirar(evento);
+        }
+
+        private void enfileirar(EventoStatus evento) {
+            if (removida.get()) {
+                return;
+            }
+            if (!buffer.offer(evento)) {
+                desconectadosLentos.increment();
+                log.debug("Conexão SSE desconectada por não acompanhar os eventos - {}", chave);
+                // O envio pode estar bloqueado no socket: quem encerra é a thread de envio, nunca quem publica
+                remover();
+            }
+            agendar();
+        }
+
+        private void agendar() {
+            if (agendada.compareAndSet(false, true)) {
+                envio.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                EventoStatus evento;
+                while (!removida.get() && (evento = buffer.poll()) != null) {
+                    enviandoDesde = System.nanoTime() | 1;
+                    emitter.send(evento == BATIMENTO
+                            ? SseEmitter.event().comment("")
+                            : SseEmitter.event().name(EVENTO_STATUS).data(evento, MediaType.APPLICATION_JSON));
+                    enviandoDesde = 0;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Cliente foi embora ou a resposta já terminou
+                remover();
+            } finally {
+                boolean estavaPresa;
+                synchronized (this) {
+                    enviandoDesde = 0;
+                    estavaPresa = presa;
+                    presa = false;
+                }
+                if (estavaPresa) {
+                    compensarEnvioPreso(-1);
+                }
+                agendada.set(false);
+            }
+            if (removida.get()) {
+                completar();
+            } else if (!buffer.isEmpty()) {
+                // Evento que chegou entre o último poll e a liberação
+                agendar();
+            }
+        }
+
+        /**
+         * Envio acima do prazo: desconecta e compensa a thread presa. O emitter é
+         * completado pela própria thread de envio quando o write voltar, já que
+         * o envio segura o lock de escrita dele.
+         */
+        void vigiar(long agora) {
+            long desde = enviandoDesde;
+            if (desde == 0 || agora - desde <= prazoEnvioNanos || removida.get()) {
+                return;
+            }
+            desconectadosLentos.increment();
+            log.debug("Conexão SSE desconectada por envio acima do prazo - {}", chave);
+            remover();
+            synchronized (this) {
+                if (enviandoDesde != 0 && !presa) {
+                    presa = true;
+                    compensarEnvioPreso(1);
+                }
+            }
+        }
+
+        void encerrar() {
+            remover();
+            completar();
+        }
+
+        private void completar() {
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                // já encerrado
+            }
+        }
+
+        void remover() {
+            if (!removida.compareAndSet(false, true)) {
+                return;
+            }
+            conexoes.decrementAndGet();
+            buffer.clear();
+            indice.computeIfPresent(chave, (c, assinaturas) -> {
+                assinaturas.remove(this);
+                return assinaturas.isEmpty() ? null : assinaturas;
+            });
+        }
+    }
+
+    private static ThreadFactory threads(String prefixo) {
+        AtomicInteger contador = new AtomicInteger();
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, prefixo + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
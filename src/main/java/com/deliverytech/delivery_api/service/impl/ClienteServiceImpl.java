@@ -1,11 +1,13 @@
 package com.deliverytech.delivery_api.service.impl;
 
+import com.deliverytech.delivery_api.dto.request.PaginacaoRequest;
 import com.deliverytech.delivery_api.model.Cliente;
 import com.deliverytech.delivery_api.dto.request.ClienteRequest; // ADICIONAR IMPORT
 import com.deliverytech.delivery_api.repository.ClienteRepository;
 import com.deliverytech.delivery_api.service.ClienteService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -95,6 +97,16 @@ public class ClienteServiceImpl implements ClienteService {
         return clienteRepository.findByNomeContainingIgnoreCase(nome);
     }
 
+    /**
+     * Listar uma página de clientes (cursor ou offset)
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Cliente> listarPagina(Boolean ativo, String nome, PaginacaoRequest paginacao) {
+        log.debug("Listando página de clientes - ativo: {}, nome: {}, after: {}", ativo, nome, paginacao.getAfter());
+        return clienteRepository.buscarPagina(ativo, nome, paginacao.cursor(), paginacao.toPageable());
+    }
+
     /**
      * Atualizar dados do cliente COM TODAS AS VALIDAÇÕES
      */
@@ -0,0 +1,195 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.model.EventoPedido;
+import com.deliverytech.delivery_api.repository.EventoPedidoRepository;
+import com.deliverytech.delivery_api.service.AssinanteEventoPedido;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Thread única que drena o outbox (evento_pedido) em lotes e entrega cada evento
+ * ao seu assinante. A entrega e a baixa do evento são confirmadas na mesma
+ * transação; em caso de erro o evento é reagendado com backoff exponencial
+ * (com jitter) até outbox.max-tentativas, quando fica como FALHOU para análise.
+ */
+@Slf4j
+@Component
+public class DespachanteEventosPedido {
+
+    private static final int TAMANHO_MAXIMO_ERRO = 500;
+    private static final Duration INTERVALO_LIMPEZA = Duration.ofHours(1);
+
+    private final EventoPedidoRepository eventoPedidoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, AssinanteEventoPedido> assinantes;
+    private final int tamanhoLote;
+    private final Duration intervalo;
+    private final Duration reserva;
+    private final int maxTentativas;
+    private final Duration backoffInicial;
+    private final Duration backoffMaximo;
+    private final Duration retencao;
+
+    private volatile boolean ativo;
+    private Thread thread;
+    private LocalDateTime proximaLimpeza = LocalDateTime.now();
+
+    public DespachanteEventosPedido(EventoPedidoRepository eventoPedidoRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    ObjectProvider<AssinanteEventoPedido> assinantes,
+                                    @Value("${outbox.batch-size:100}") int tamanhoLote,
+                                    @Value("${outbox.intervalo:500ms}") Duration intervalo,
+                                    @Value("${outbox.reserva:1m}") Duration reserva,
+                                    @Value("${outbox.max-tentativas:10}") int maxTentativas,
+                                    @Value("${outbox.backoff-inicial:1s}") Duration backoffInicial,
+                                    @Value("${outbox.backoff-maximo:10m}") Duration backoffMaximo,
+                                    @Value("${outbox.retencao:7d}") Duration retencao) {
+        this.eventoPedidoRepository = eventoPedidoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.assinantes = assinantes.orderedStream()
+                .collect(Collectors.toMap(AssinanteEventoPedido::nome, Function.identity()));
+        this.tamanhoLote = tamanhoLote;
+        this.intervalo = intervalo;
+        this.reserva = reserva;
+        this.maxTentativas = maxTentativas;
+        this.backoffInicial = backoffInicial;
+        this.backoffMaximo = backoffMaximo;
+        this.retencao = retencao;
+    }
+
+    /** Começa depois dos CommandLineRunner (DataLoader) */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        ativo = true;
+        thread = new Thread(this::executar, "outbox-pedidos");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Despachante de eventos de pedido iniciado - assinantes: {}", assinantes.keySet());
+    }
+
+    @PreDestroy
+    public void parar() throws InterruptedException {
+        ativo = false;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    /** Há eventos novos confirmados: antecipa a próxima varredura */
+    public void acordar() {
+        Thread atual = thread;
+        if (atual != null) {
+            LockSupport.unpark(atual);
+        }
+    }
+
+    private void executar() {
+        while (ativo) {
+            int entregues = 0;
+            try {
+                entregues = despacharLote();
+                limparEntregues();
+            } catch (RuntimeException e) {
+                log.warn("Falha ao varrer o outbox de pedidos", e);
+            }
+            // Lote com entregas: pode haver eventos liberados por elas, volta direto
+            if (entregues == 0) {
+                LockSupport.parkNanos(intervalo.toNanos());
+            }
+        }
+    }
+
+    /**
+     * Um ciclo do despachante: reserva e entrega os eventos prontos
+     * @return quantidade de eventos entregues
+     */
+    public int despacharLote() {
+        LocalDateTime agora = LocalDateTime.now();
+        List<EventoPedido> prontos = eventoPedidoRepository.buscarProntos(agora, PageRequest.of(0, tamanhoLote));
+        int entregues = 0;
+        for (EventoPedido evento : prontos) {
+            if (eventoPedidoRepository.reservar(evento.getId(), evento.getProximaTentativa(), agora.plus(reserva)) == 0) {
+                continue; // outro despachante reservou primeiro
+            }
+            if (entregar(evento)) {
+                entregues++;
+            }
+        }
+        return entregues;
+    }
+
+    private boolean entregar(EventoPedido evento) {
+        AssinanteEventoPedido assinante = assinantes.get(evento.getAssinante());
+        if (assinante == null) {
+            eventoPedidoRepository.falhar(evento.getId(), evento.getTentativas(),
+                    "Assinante não registrado: " + evento.getAssinante());
+            return false;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                assinante.receber(evento);
+                eventoPedidoRepository.marcarEntregue(evento.getId(), LocalDateTime.now());
+            });
+            return true;
+        } catch (RuntimeException e) {
+            int tentativas = evento.getTentativas() + 1;
+            String erro = resumo(e);
+            if (tentativas >= maxTentativas) {
+                eventoPedidoRepository.falhar(evento.getId(), tentativas, erro);
+                log.error("Evento {} do pedido {} ({}) desistido para {} após {} tentativas: {}",
+                        evento.getId(), evento.getPedidoId(), evento.getStatus(), evento.getAssinante(), tentativas, erro);
+            } else {
+                Duration espera = backoff(tentativas);
+                eventoPedidoRepository.reagendar(evento.getId(), tentativas, LocalDateTime.now().plus(espera), erro);
+                log.warn("Evento {} do pedido {} ({}) falhou em {} - tentativa {} de {}, nova em {} ms: {}",
+                        evento.getId(), evento.getPedidoId(), evento.getStatus(), evento.getAssinante(),
+                        tentativas, maxTentativas, espera.toMillis(), erro);
+            }
+            return false;
+        }
+    }
+
+    /** Exponencial a partir de backoff-inicial, limitado a backoff-maximo, com metade aleatória */
+    private Duration backoff(int tentativas) {
+        long base = backoffInicial.toMillis() << Math.min(tentativas - 1, 30);
+        long limite = Math.min(base < 0 ? Long.MAX_VALUE : base, backoffMaximo.toMillis());
+        long metade = limite / 2;
+        return Duration.ofMillis(metade + ThreadLocalRandom.current().nextLong(limite - metade + 1));
+    }
+
+    private void limparEntregues() {
+        LocalDateTime agora = LocalDateTime.now();
+        if (agora.isBefore(proximaLimpeza)) {
+            return;
+        }
+        proximaLimpeza = agora.plus(INTERVALO_LIMPEZA);
+        int removidos = eventoPedidoRepository.removerEntregues(agora.minus(retencao));
+        if (removidos > 0) {
+            log.info("Outbox de pedidos: {} eventos entregues removidos", removidos);
+        }
+    }
+
+    private static String resumo(Exception e) {
+        String mensagem = e.getClass().getSimpleName() + (e.getMessage() != null ? ": " + e.getMessage() : "");
+        return mensagem.length() > TAMANHO_MAXIMO_ERRO ? mensagem.substring(0, TAMANHO_MAXIMO_ERRO) : mensagem;
+    }
+}
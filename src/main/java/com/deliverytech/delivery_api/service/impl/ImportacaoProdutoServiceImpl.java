@@ -0,0 +1,171 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.config.CacheConfig;
+import com.deliverytech.delivery_api.config.CatalogoVersao;
+import com.deliverytech.delivery_api.dto.request.ProdutoRequest;
+import com.deliverytech.delivery_api.dto.response.ImportacaoProdutosResponse;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.service.ImportacaoProdutoService;
+import com.deliverytech.delivery_api.service.ProdutoService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Importação em lote do cardápio: uma passada de validação, uma consulta para os
+ * produtos existentes, INSERTs/UPDATEs em batch (hibernate.jdbc.batch_size) e uma
+ * única invalidação do cache do cardápio ao final.
+ */
+@Slf4j
+@Service
+@Transactional
+public class ImportacaoProdutoServiceImpl implements ImportacaoProdutoService {
+
+    private final ProdutoRepository produtoRepository;
+    private final RestauranteRepository restauranteRepository;
+    private final ProdutoService produtoService;
+    private final Validator validator;
+    private final CacheManager cacheManager;
+    private final CatalogoVersao catalogoVersao;
+    private final IndiceProdutos indiceProdutos;
+    private final int maxLinhas;
+
+    public ImportacaoProdutoServiceImpl(ProdutoRepository produtoRepository,
+                                        RestauranteRepository restauranteRepository,
+                                        ProdutoService produtoService,
+                                        Validator validator,
+                                        CacheManager cacheManager,
+                                        CatalogoVersao catalogoVersao,
+                                        IndiceProdutos indiceProdutos,
+                                        @Value("${produtos.importacao.max-linhas:10000}") int maxLinhas) {
+        this.produtoRepository = produtoRepository;
+        this.restauranteRepository = restauranteRepository;
+        this.produtoService = produtoService;
+        this.validator = validator;
+        this.cacheManager = cacheManager;
+        this.catalogoVersao = catalogoVersao;
+        this.indiceProdutos = indiceProdutos;
+        this.maxLinhas = maxLinhas;
+    }
+
+    @Override
+    public ImportacaoProdutosResponse importar(Long restauranteId, List<ProdutoRequest> produtos) {
+        if (produtos == null || produtos.isEmpty()) {
+            throw new IllegalArgumentException("Nenhum produto informado para importação");
+        }
+        if (produtos.size() > maxLinhas) {
+            throw new IllegalArgumentException("Importação limitada a " + maxLinhas + " produtos por requisição");
+        }
+        Restaurante restaurante = restauranteRepository.findById(restauranteId)
+                .orElseThrow(() -> new RuntimeException("Restaurante não encontrado - ID: " + restauranteId));
+
+        ImportacaoProdutosResponse relatorio = new ImportacaoProdutosResponse(produtos.size());
+
+        // Validação de todas as linhas antes de qualquer escrita
+        Map<String, ProdutoRequest> validos = new LinkedHashMap<>();
+        for (int i = 0; i < produtos.size(); i++) {
+            ProdutoRequest produto = produtos.get(i);
+            List<String> erros = validar(restauranteId, produto);
+            if (erros.isEmpty() && validos.putIfAbsent(chave(produto.getNome()), produto) != null) {
+                erros = List.of("Produto repetido na importação: " + produto.getNome().trim());
+            }
+            if (!erros.isEmpty()) {
+                relatorio.getErros().add(new ImportacaoProdutosResponse.ErroLinha(i + 1, erros));
+            }
+        }
+
+        Map<String, Produto> existentes = new HashMap<>();
+        for (Produto produto : produtoRepository.findByRestauranteId(restauranteId)) {
+            existentes.putIfAbsent(chave(produto.getNome()), produto);
+        }
+
+        List<Produto> novos = new ArrayList<>();
+        List<Produto> atualizados = new ArrayList<>();
+        validos.forEach((chave, linha) -> {
+            Produto produto = existentes.get(chave);
+            if (produto == null) {
+                novos.add(Produto.builder()
+                        .nome(linha.getNome().trim())
+                        .categoria(linha.getCategoria())
+                        .descricao(linha.getDescricao())
+                        .preco(linha.getPreco())
+                        .disponivel(true)
+                        .restaurante(restaurante)
+                        .build());
+            } else {
+                // Entidade gerenciada: o UPDATE sai no flush, agrupado com os demais
+                produto.setCategoria(linha.getCategoria());
+                produto.setDescricao(linha.getDescricao());
+                produto.setPreco(linha.getPreco());
+                atualizados.add(produto);
+            }
+        });
+        produtoRepository.saveAll(novos);
+        indiceProdutos.indexar(novos);
+        indiceProdutos.indexar(atualizados);
+
+        relatorio.setInseridos(novos.size());
+        relatorio.setAtualizados(atualizados.size());
+        if (!validos.isEmpty()) {
+            catalogoInvalidado(restauranteId, atualizados);
+        }
+        log.info("Importação de produtos - Restaurante ID: {}, inseridos: {}, atualizados: {}, com erro: {}",
+                restauranteId, novos.size(), atualizados.size(), relatorio.getErros().size());
+        return relatorio;
+    }
+
+    private List<String> validar(Long restauranteId, ProdutoRequest produto) {
+        if (produto == null) {
+            return List.of("Linha vazia");
+        }
+        // O restaurante vem da URL; divergência na linha é erro, ausência é preenchida
+        if (produto.getRestauranteId() == null) {
+            produto.setRestauranteId(restauranteId);
+        }
+
+        List<String> erros = new ArrayList<>();
+        for (ConstraintViolation<ProdutoRequest> violacao : validator.validate(produto)) {
+            erros.add(violacao.getPropertyPath() + ": " + violacao.getMessage());
+        }
+        if (!Objects.equals(produto.getRestauranteId(), restauranteId)) {
+            erros.add("restauranteId: diferente do restaurante da importação");
+        }
+        if (produto.getPreco() != null) {
+            try {
+                produtoService.validarPreco(produto.getPreco());
+            } catch (IllegalArgumentException e) {
+                erros.add("preco: " + e.getMessage());
+            }
+        }
+        erros.sort(null);
+        return erros;
+    }
+
+    /** Os caches só são invalidados após o commit (proxy transacional do CacheManager) */
+    private void catalogoInvalidado(Long restauranteId, List<Produto> produtosAtualizados) {
+        Cache produtos = cacheManager.getCache(CacheConfig.PRODUTO);
+        produtosAtualizados.forEach(produto -> produtos.evict(produto.getId()));
+        cacheManager.getCache(CacheConfig.CARDAPIO).evict(restauranteId);
+        catalogoVersao.cardapioAlterado(restauranteId);
+    }
+
+    private static String chave(String nome) {
+        return nome.trim().toLowerCase(Locale.ROOT);
+    }
+}
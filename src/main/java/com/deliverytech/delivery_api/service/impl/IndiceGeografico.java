@@ -0,0 +1,199 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.dto.response.RestauranteResponse;
+import com.deliverytech.delivery_api.model.Coordenada;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.deliverytech.delivery_api.config.Transacoes.aposCommit;
+
+/**
+ * Índice espacial, em memória, dos restaurantes ativos com localização.
+ * Os pontos ficam em células de uma grade de latitude/longitude; a busca
+ * percorre anéis de células a partir da origem e para assim que nenhuma
+ * célula mais distante pode conter um resultado melhor.
+ * Construído na subida da aplicação e atualizado pelo serviço de restaurantes após o commit.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndiceGeografico {
+
+    // ~2,2 km de latitude por célula
+    private static final double CELULA_GRAUS = 0.02;
+    private static final double KM_POR_GRAU = 111.32;
+
+    private final RestauranteRepository restauranteRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Ponto> porRestaurante = new HashMap<>();
+    private final Map<Long, List<Ponto>> celulas = new HashMap<>();
+
+    public record Ponto(RestauranteResponse restaurante, Coordenada coordenada) {
+    }
+
+    public record Proximo(RestauranteResponse restaurante, double distanciaKm) {
+    }
+
+    /** Carga inicial; roda depois dos CommandLineRunner (DataLoader) */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        reconstruir(restauranteRepository.findByAtivoTrue());
+        log.info("Índice geográfico carregado - {} restaurantes localizados", tamanho());
+    }
+
+    public void reconstruir(Collection<Restaurante> restaurantes) {
+        lock.writeLock().lock();
+        try {
+            porRestaurante.clear();
+            celulas.clear();
+            restaurantes.forEach(this::incluir);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Restaurante criado, alterado ou inativado; aplicado após o commit da transação corrente */
+    public void atualizar(Restaurante restaurante) {
+        aposCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                excluir(restaurante.getId());
+                incluir(restaurante);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return porRestaurante.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Restaurante ativo e localizado, se estiver no índice */
+    public Optional<Ponto> localizar(Long restauranteId) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(porRestaurante.get(restauranteId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Até "limite" restaurantes a no máximo "raioKm" da origem, do mais próximo ao mais distante
+     */
+    public List<Proximo> proximos(Coordenada origem, double raioKm, int limite) {
+        if (limite <= 0 || raioKm < 0) {
+            return List.of();
+        }
+        // Heap invertido: o topo é o pior dos melhores encontrados até agora
+        PriorityQueue<Proximo> melhores = new PriorityQueue<>(
+                Comparator.comparingDouble(Proximo::distanciaKm).reversed());
+        // Menor lado da célula (a longitude encolhe com a latitude), para o limite inferior de distância;
+        // a folga de 10% cobre a variação do cosseno dentro do raio e o erro da aproximação plana
+        double ladoKm = 0.9 * CELULA_GRAUS * KM_POR_GRAU * Math.max(Math.cos(Math.toRadians(origem.latitude())), 0.01);
+        int linha = indice(origem.latitude());
+        int coluna = indice(origem.longitude());
+        int maxAnel = (int) Math.ceil(raioKm / ladoKm) + 1;
+
+        lock.readLock().lock();
+        try {
+            for (int anel = 0; anel <= maxAnel; anel++) {
+                double minimoNoAnel = Math.max(anel - 1, 0) * ladoKm;
+                if (minimoNoAnel > raioKm
+                        || (melhores.size() == limite && minimoNoAnel > melhores.peek().distanciaKm())) {
+                    break;
+                }
+                for (int dl = -anel; dl <= anel; dl++) {
+                    for (int dc = -anel; dc <= anel; dc++) {
+                        if (Math.abs(dl) != anel && Math.abs(dc) != anel) {
+                            continue; // só a borda do anel
+                        }
+                        List<Ponto> pontos = celulas.get(chave(linha + dl, coluna + dc));
+                        if (pontos == null) {
+                            continue;
+                        }
+                        for (Ponto ponto : pontos) {
+                            double distancia = origem.distanciaKm(ponto.coordenada());
+                            if (distancia > raioKm) {
+                                continue;
+                            }
+                            if (melhores.size() < limite) {
+                                melhores.add(new Proximo(ponto.restaurante(), distancia));
+                            } else if (distancia < melhores.peek().distanciaKm()) {
+                                melhores.poll();
+                                melhores.add(new Proximo(ponto.restaurante(), distancia));
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Proximo> resultado = new ArrayList<>(melhores);
+        resultado.sort(Comparator.comparingDouble(Proximo::distanciaKm)
+                .thenComparing(p -> p.restaurante().getId()));
+        return resultado;
+    }
+
+    private void incluir(Restaurante restaurante) {
+        Coordenada coordenada = restaurante.getCoordenada();
+        if (!Boolean.TRUE.equals(restaurante.getAtivo()) || coordenada == null) {
+            return;
+        }
+        Ponto ponto = new Ponto(new RestauranteResponse(restaurante.getId(), restaurante.getNome(),
+                restaurante.getCategoria(), restaurante.getTelefone(), restaurante.getTaxaEntrega(),
+                restaurante.getTempoEntregaMinutos(), restaurante.getAtivo()), coordenada);
+        porRestaurante.put(restaurante.getId(), ponto);
+        celulas.computeIfAbsent(chave(coordenada), c -> new ArrayList<>()).add(ponto);
+    }
+
+    private void excluir(Long restauranteId) {
+        Ponto ponto = porRestaurante.remove(restauranteId);
+        if (ponto == null) {
+            return;
+        }
+        long chave = chave(ponto.coordenada());
+        List<Ponto> pontos = celulas.get(chave);
+        pontos.remove(ponto);
+        if (pontos.isEmpty()) {
+            celulas.remove(chave);
+        }
+    }
+
+    private static int indice(double graus) {
+        return (int) Math.floor(graus / CELULA_GRAUS);
+    }
+
+    private static long chave(Coordenada coordenada) {
+        return chave(indice(coordenada.latitude()), indice(coordenada.longitude()));
+    }
+
+    private static long chave(int linha, int coluna) {
+        return ((long) linha << 32) | (coluna & 0xffffffffL);
+    }
+}
@@ -0,0 +1,254 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.dto.response.ItemPedidoResponse;
+import com.deliverytech.delivery_api.dto.response.PedidoResponse;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.projection.ItemPedidoResumo;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.deliverytech.delivery_api.config.Transacoes.aposCommit;
+
+/**
+ * Fila da cozinha: índice, em memória, dos pedidos em andamento de cada restaurante,
+ * por restaurante e status (na ordem de chegada). Pedidos finalizados saem do índice,
+ * então a leitura custa o número de pedidos abertos, não o histórico.
+ * Construído na subida da aplicação, antes do servidor web aceitar requisições, e
+ * atualizado pelo serviço de pedidos após o commit. Os callbacks de commit de
+ * transações diferentes podem chegar fora de ordem: cada atualização leva a versão
+ * do pedido e as mais antigas que a já aplicada são descartadas.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndicePedidosAbertos implements SmartInitializingSingleton {
+
+    public static final Set<StatusPedido> ABERTOS =
+            EnumSet.of(StatusPedido.CONFIRMADO, StatusPedido.PREPARANDO, StatusPedido.SAIU_PARA_ENTREGA);
+
+    // Limite de ids por IN na carga dos itens
+    private static final int LOTE_ITENS = 1000;
+
+    // Pedidos que saíram da fila lembrados para barrar callbacks atrasados de versões anteriores
+    private static final int MAX_ENCERRADOS = 10_000;
+
+    private final PedidoRepository pedidoRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, PedidoResponse> porPedido = new HashMap<>();
+    private final Map<Long, Map<StatusPedido, NavigableMap<Long, PedidoResponse>>> porRestaurante = new HashMap<>();
+    // Última versão aplicada por pedido na fila e pelos que saíram dela há pouco
+    private final Map<Long, Long> versoes = new HashMap<>();
+    private final Map<Long, Long> encerrados = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Long> maisAntigo) {
+            return size() > MAX_ENCERRADOS;
+        }
+    };
+
+    /**
+     * Carga inicial, antes do servidor web subir: nenhuma transição commita durante a
+     * leitura, então a foto do banco não sobrescreve mudanças nem perde nenhuma
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        carregar();
+    }
+
+    public void carregar() {
+        List<PedidoResponse> abertos = pedidoRepository.listarAbertos(ABERTOS);
+        Map<Long, PedidoResponse> porId = abertos.stream()
+                .collect(Collectors.toMap(PedidoResponse::getId, Function.identity()));
+        List<Long> ids = new ArrayList<>(porId.keySet());
+        for (int i = 0; i < ids.size(); i += LOTE_ITENS) {
+            for (ItemPedidoResumo item : pedidoRepository.buscarItensDosPedidos(ids.subList(i, Math.min(i + LOTE_ITENS, ids.size())))) {
+                porId.get(item.getPedidoId()).getItens().add(new ItemPedidoResponse(
+                        item.getProdutoId(), item.getNomeProduto(), item.getQuantidade(), item.getPrecoUnitario()));
+            }
+        }
+        reconstruir(abertos);
+        log.info("Fila dos restaurantes carregada - {} pedidos em andamento", tamanho());
+    }
+
+    public void reconstruir(Collection<PedidoResponse> pedidos) {
+        lock.writeLock().lock();
+        try {
+            porPedido.clear();
+            porRestaurante.clear();
+            versoes.clear();
+            encerrados.clear();
+            pedidos.forEach(this::incluir);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Status do pedido mudou; aplicado após o commit da transação corrente.
+     * Deve ser chamado dentro da transação: os itens são lidos só quando o pedido entra na fila.
+     * Quem já está na fila só sai dela por uma versão mais nova, que torna esta obsoleta.
+     */
+    public void atualizar(Pedido pedido) {
+        Long pedidoId = pedido.getId();
+        StatusPedido status = pedido.getStatus();
+        Long versao = pedido.getVersao();
+        PedidoResponse entrada = ABERTOS.contains(status) && !contem(pedidoId) ? resposta(pedido) : null;
+        aposCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                if (obsoleta(pedidoId, versao)) {
+                    log.debug("Atualização obsoleta do pedido {} na fila ignorada (versão {})", pedidoId, versao);
+                    return;
+                }
+                PedidoResponse anterior = excluir(pedidoId);
+                if (!ABERTOS.contains(status)) {
+                    encerrar(pedidoId, versao);
+                    return;
+                }
+                if (entrada != null) {
+                    incluir(entrada);
+                } else if (anterior != null) {
+                    // Mudança entre status abertos: mesma entrada, novo status
+                    incluir(new PedidoResponse(anterior.getId(), anterior.getClienteId(), anterior.getRestauranteId(),
+                            anterior.getEnderecoEntrega(), anterior.getValorTotal(), status,
+                            anterior.getDataPedido(), anterior.getItens()));
+                } else {
+                    log.warn("Pedido {} ({}) saiu da fila antes da atualização e não foi reincluído", pedidoId, status);
+                    return;
+                }
+                if (versao != null) {
+                    versoes.put(pedidoId, versao);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remover(Long pedidoId) {
+        aposCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                excluir(pedidoId);
+                encerrar(pedidoId, Long.MAX_VALUE);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return porPedido.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Pedidos em andamento do restaurante, por status (CONFIRMADO, PREPARANDO,
+     * SAIU_PARA_ENTREGA) e ordem de chegada; "status" nulo traz todos os abertos
+     */
+    public List<PedidoResponse> fila(Long restauranteId, StatusPedido status) {
+        lock.readLock().lock();
+        try {
+            Map<StatusPedido, NavigableMap<Long, PedidoResponse>> doRestaurante = porRestaurante.get(restauranteId);
+            if (doRestaurante == null) {
+                return List.of();
+            }
+            if (status != null) {
+                NavigableMap<Long, PedidoResponse> pedidos = doRestaurante.get(status);
+                return pedidos != null ? List.copyOf(pedidos.values()) : List.of();
+            }
+            List<PedidoResponse> resultado = new ArrayList<>();
+            doRestaurante.values().forEach(pedidos -> resultado.addAll(pedidos.values()));
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean contem(Long pedidoId) {
+        lock.readLock().lock();
+        try {
+            return porPedido.containsKey(pedidoId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Versão igual ou anterior à já aplicada (na fila ou ao sair dela); sem versão não há como ordenar */
+    private boolean obsoleta(Long pedidoId, Long versao) {
+        if (versao == null) {
+            return false;
+        }
+        Long aplicada = versoes.get(pedidoId);
+        if (aplicada == null) {
+            aplicada = encerrados.get(pedidoId);
+        }
+        return aplicada != null && versao <= aplicada;
+    }
+
+    private void encerrar(Long pedidoId, Long versao) {
+        versoes.remove(pedidoId);
+        if (versao != null) {
+            encerrados.put(pedidoId, versao);
+        }
+    }
+
+    private void incluir(PedidoResponse pedido) {
+        porPedido.put(pedido.getId(), pedido);
+        porRestaurante.computeIfAbsent(pedido.getRestauranteId(), r -> new EnumMap<>(StatusPedido.class))
+                .computeIfAbsent(pedido.getStatus(), s -> new TreeMap<>())
+                .put(pedido.getId(), pedido);
+    }
+
+    private PedidoResponse excluir(Long pedidoId) {
+        PedidoResponse pedido = porPedido.remove(pedidoId);
+        if (pedido == null) {
+            return null;
+        }
+        Map<StatusPedido, NavigableMap<Long, PedidoResponse>> doRestaurante = porRestaurante.get(pedido.getRestauranteId());
+        NavigableMap<Long, PedidoResponse> doStatus = doRestaurante.get(pedido.getStatus());
+        doStatus.remove(pedidoId);
+        if (doStatus.isEmpty()) {
+            doRestaurante.remove(pedido.getStatus());
+            if (doRestaurante.isEmpty()) {
+                porRestaurante.remove(pedido.getRestauranteId());
+            }
+        }
+        return pedido;
+    }
+
+    private static PedidoResponse resposta(Pedido pedido) {
+        List<ItemPedidoResponse> itens = pedido.getItens() == null ? List.of() : pedido.getItens().stream()
+                .map(i -> new ItemPedidoResponse(i.getProduto().getId(), i.getProduto().getNome(),
+                        i.getQuantidade(), i.getPrecoUnitario()))
+                .toList();
+        return new PedidoResponse(pedido.getId(),
+                pedido.getCliente() != null ? pedido.getCliente().getId() : null,
+                pedido.getRestaurante().getId(), pedido.getEnderecoEntrega(), pedido.getValorTotal(),
+                pedido.getStatus(), pedido.getDataPedido(), itens);
+    }
+}
@@ -0,0 +1,272 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import static com.deliverytech.delivery_api.config.Transacoes.aposCommit;
+
+/**
+ * Índice invertido, em memória, de nome, categoria e descrição dos produtos.
+ * Os termos são normalizados sem acento ("salmão" = "salmao") e casam por termo
+ * exato, por prefixo (dicionário ordenado) ou por trecho interno (trigramas).
+ * Construído na subida da aplicação e atualizado pelos serviços de produto após o commit.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IndiceProdutos {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Peso de cada campo e fator de cada forma de casamento na relevância
+    private static final float PESO_NOME = 3f;
+    private static final float PESO_CATEGORIA = 2f;
+    private static final float PESO_DESCRICAO = 1f;
+    private static final float FATOR_EXATO = 1f;
+    private static final float FATOR_PREFIXO = 0.6f;
+    private static final float FATOR_TRECHO = 0.3f;
+    private static final int TAMANHO_GRAMA = 3;
+
+    private final ProdutoRepository produtoRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Documento> documentos = new HashMap<>();
+    private final NavigableMap<String, Map<Long, Float>> termos = new TreeMap<>();
+    private final Map<String, Set<String>> gramas = new HashMap<>();
+
+    private record Documento(ProdutoResponse produto, Map<String, Float> pesos) {
+    }
+
+    private record Resultado(ProdutoResponse produto, float relevancia) {
+    }
+
+    /** Carga inicial; roda depois dos CommandLineRunner (DataLoader) */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        long inicio = System.nanoTime();
+        reconstruir(produtoRepository.listarParaIndice());
+        log.info("Índice de produtos carregado - {} produtos em {} ms",
+                tamanho(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    public void reconstruir(Collection<ProdutoResponse> produtos) {
+        lock.writeLock().lock();
+        try {
+            documentos.clear();
+            termos.clear();
+            gramas.clear();
+            produtos.forEach(this::incluir);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Produto criado ou alterado; aplicado após o commit da transação corrente */
+    public void indexar(Produto produto) {
+        indexar(List.of(produto));
+    }
+
+    public void indexar(Collection<Produto> produtos) {
+        aposCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                for (Produto produto : produtos) {
+                    excluir(produto.getId());
+                    incluir(new ProdutoResponse(produto.getId(), produto.getNome(), produto.getCategoria(),
+                            produto.getDescricao(), produto.getPreco(), produto.getDisponivel()));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remover(Long produtoId) {
+        aposCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                excluir(produtoId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Produtos que casam com todos os termos da busca, do mais relevante para o menos
+     * relevante (empate: id crescente). "quantidade" limita o retorno a partir de "inicio".
+     */
+    public List<ProdutoResponse> buscar(String texto, int inicio, int quantidade) {
+        Set<String> consulta = new LinkedHashSet<>(termosDe(texto));
+        if (consulta.isEmpty()) {
+            return List.of();
+        }
+
+        List<Resultado> resultados = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> relevancia = null;
+            for (String termo : consulta) {
+                Map<Long, Float> parcial = casamentos(termo);
+                if (relevancia == null) {
+                    relevancia = parcial;
+                } else {
+                    relevancia.keySet().retainAll(parcial.keySet());
+                    relevancia.replaceAll((id, valor) -> valor + parcial.get(id));
+                }
+                if (relevancia.isEmpty()) {
+                    return List.of();
+                }
+            }
+            relevancia.forEach((id, valor) -> resultados.add(new Resultado(documentos.get(id).produto(), valor)));
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return resultados.stream()
+                .sorted(Comparator.comparing(Resultado::relevancia).reversed()
+                        .thenComparing(r -> r.produto().getId()))
+                .skip(inicio)
+                .limit(quantidade)
+                .map(Resultado::produto)
+                .toList();
+    }
+
+    /** Maior relevância de cada produto para um termo da busca */
+    private Map<Long, Float> casamentos(String termo) {
+        Map<Long, Float> parcial = new HashMap<>();
+        termos.subMap(termo, true, termo + Character.MAX_VALUE, false).forEach((indexado, postings) ->
+                somar(parcial, postings, indexado.equals(termo) ? FATOR_EXATO : FATOR_PREFIXO));
+
+        // Trecho no meio da palavra ("herita" em "margherita"); termos curtos só por prefixo
+        if (termo.length() >= TAMANHO_GRAMA) {
+            for (String indexado : candidatosPorGrama(termo)) {
+                if (!indexado.startsWith(termo) && indexado.contains(termo)) {
+                    somar(parcial, termos.get(indexado), FATOR_TRECHO);
+                }
+            }
+        }
+        return parcial;
+    }
+
+    private static void somar(Map<Long, Float> parcial, Map<Long, Float> postings, float fator) {
+        postings.forEach((id, peso) -> parcial.merge(id, peso * fator, Math::max));
+    }
+
+    private Set<String> candidatosPorGrama(String termo) {
+        Set<String> candidatos = null;
+        for (String grama : gramasDe(termo)) {
+            Set<String> comGrama = gramas.get(grama);
+            if (comGrama == null) {
+                return Set.of();
+            }
+            if (candidatos == null) {
+                candidatos = new HashSet<>(comGrama);
+            } else {
+                candidatos.retainAll(comGrama);
+            }
+        }
+        return candidatos != null ? candidatos : Set.of();
+    }
+
+    private void incluir(ProdutoResponse produto) {
+        Map<String, Float> pesos = new HashMap<>();
+        pesar(pesos, produto.getNome(), PESO_NOME);
+        pesar(pesos, produto.getCategoria(), PESO_CATEGORIA);
+        pesar(pesos, produto.getDescricao(), PESO_DESCRICAO);
+
+        documentos.put(produto.getId(), new Documento(produto, pesos));
+        pesos.forEach((termo, peso) -> {
+            Map<Long, Float> postings = termos.computeIfAbsent(termo, t -> {
+                gramasDe(t).forEach(g -> gramas.computeIfAbsent(g, x -> new HashSet<>()).add(t));
+                return new HashMap<>();
+            });
+            postings.put(produto.getId(), peso);
+        });
+    }
+
+    private void excluir(Long produtoId) {
+        Documento documento = documentos.remove(produtoId);
+        if (documento == null) {
+            return;
+        }
+        for (String termo : documento.pesos().keySet()) {
+            Map<Long, Float> postings = termos.get(termo);
+            postings.remove(produtoId);
+            if (postings.isEmpty()) {
+                termos.remove(termo);
+                for (String grama : gramasDe(termo)) {
+                    Set<String> comGrama = gramas.get(grama);
+                    comGrama.remove(termo);
+                    if (comGrama.isEmpty()) {
+                        gramas.remove(grama);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void pesar(Map<String, Float> pesos, String campo, float peso) {
+        for (String termo : termosDe(campo)) {
+            pesos.merge(termo, peso, Math::max);
+        }
+    }
+
+    /** Minúsculas, sem acento, separado em letras/dígitos */
+    static List<String> termosDe(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        String normalizado = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> resultado = new ArrayList<>();
+        for (String termo : SEPARADORES.split(normalizado)) {
+            if (!termo.isEmpty()) {
+                resultado.add(termo);
+            }
+        }
+        return resultado;
+    }
+
+    private static List<String> gramasDe(String termo) {
+        List<String> resultado = new ArrayList<>();
+        for (int i = 0; i + TAMANHO_GRAMA <= termo.length(); i++) {
+            resultado.add(termo.substring(i, i + TAMANHO_GRAMA));
+        }
+        return resultado;
+    }
+}
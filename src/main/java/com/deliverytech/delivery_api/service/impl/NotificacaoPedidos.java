@@ -0,0 +1,31 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.model.EventoPedido;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.service.AssinanteEventoPedido;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aviso ao cliente a cada mudança de status do pedido. Ainda sem canal
+ * (e-mail/push): a notificação é registrada no log.
+ */
+@Slf4j
+@Component
+public class NotificacaoPedidos implements AssinanteEventoPedido {
+
+    @Override
+    public String nome() {
+        return "notificacao";
+    }
+
+    @Override
+    public boolean interessado(StatusPedido status) {
+        return true;
+    }
+
+    @Override
+    public void receber(EventoPedido evento) {
+        log.info("Notificação - pedido {}: {}", evento.getPedidoId(), evento.getStatus().getDescricao());
+    }
+}
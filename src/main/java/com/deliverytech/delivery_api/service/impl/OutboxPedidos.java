@@ -0,0 +1,47 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.model.EventoPedido;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.repository.EventoPedidoRepository;
+import com.deliverytech.delivery_api.service.AssinanteEventoPedido;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.deliverytech.delivery_api.config.Transacoes.aposCommit;
+
+/**
+ * Gravação dos eventos do pedido no outbox. Deve ser chamada dentro da transação
+ * que muda o status: o evento existe se e somente se a mudança foi confirmada.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxPedidos {
+
+    private final EventoPedidoRepository eventoPedidoRepository;
+    private final ObjectProvider<AssinanteEventoPedido> assinantes;
+    private final ObjectProvider<DespachanteEventosPedido> despachante;
+
+    public void registrar(Long pedidoId, StatusPedido status) {
+        LocalDateTime agora = LocalDateTime.now();
+        List<EventoPedido> eventos = assinantes.orderedStream()
+                .filter(assinante -> assinante.interessado(status))
+                .map(assinante -> EventoPedido.builder()
+                        .pedidoId(pedidoId)
+                        .status(status)
+                        .assinante(assinante.nome())
+                        .ocorridoEm(agora)
+                        .proximaTentativa(agora)
+                        .build())
+                .toList();
+        if (eventos.isEmpty()) {
+            return;
+        }
+        eventoPedidoRepository.saveAll(eventos);
+        // Sem esperar o próximo ciclo de varredura
+        aposCommit(() -> despachante.ifAvailable(DespachanteEventosPedido::acordar));
+    }
+}
@@ -0,0 +1,38 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.model.EventoPedido;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.service.AssinanteEventoPedido;
+import com.deliverytech.delivery_api.service.PagamentoService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Cobrança do pedido confirmado, disparada pelo outbox. Ainda sem gateway:
+ * apenas registra a cobrança. A integração deve usar o id do pedido como
+ * chave de idempotência, já que o evento pode ser entregue mais de uma vez.
+ */
+@Slf4j
+@Service
+public class PagamentoServiceImpl implements PagamentoService, AssinanteEventoPedido {
+
+    @Override
+    public void processPayment(Long orderId) {
+        log.info("Pagamento processado - pedido: {}", orderId);
+    }
+
+    @Override
+    public String nome() {
+        return "pagamento";
+    }
+
+    @Override
+    public boolean interessado(StatusPedido status) {
+        return status == StatusPedido.CONFIRMADO;
+    }
+
+    @Override
+    public void receber(EventoPedido evento) {
+        processPayment(evento.getPedidoId());
+    }
+}
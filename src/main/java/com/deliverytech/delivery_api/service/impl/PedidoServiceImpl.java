@@ -1,13 +1,24 @@
 package com.deliverytech.delivery_api.service.impl;
 
 import com.deliverytech.delivery_api.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery_api.dto.request.PaginacaoRequest;
+import com.deliverytech.delivery_api.dto.response.CotacaoResponse;
+import com.deliverytech.delivery_api.dto.response.ItemPedidoResponse;
+import com.deliverytech.delivery_api.dto.response.PedidoExportacao;
+import com.deliverytech.delivery_api.dto.response.PedidoResponse;
+import com.deliverytech.delivery_api.exception.ConflictException;
 import com.deliverytech.delivery_api.model.*;
+import com.deliverytech.delivery_api.projection.ItemPedidoResumo;
 import com.deliverytech.delivery_api.repository.PedidoRepository;
 import com.deliverytech.delivery_api.repository.ProdutoRepository;
 import com.deliverytech.delivery_api.service.PedidoService;
+import com.deliverytech.delivery_api.service.ProdutoService;
+import com.deliverytech.delivery_api.service.RestauranteService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -15,7 +26,13 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -25,6 +42,12 @@ public class PedidoServiceImpl implements PedidoService {
 
     private final PedidoRepository pedidoRepository;
     private final ProdutoRepository produtoRepository;
+    private final ProdutoService produtoService;
+    private final RestauranteService restauranteService;
+    private final OutboxPedidos outboxPedidos;
+    private final CentralStatusPedidos centralStatusPedidos;
+    private final IndicePedidosAbertos indicePedidosAbertos;
+    private final TabelaCep tabelaCep;
 
     @Override
     public Pedido criar(Pedido pedido) {
@@ -32,14 +55,65 @@ public class PedidoServiceImpl implements PedidoService {
         pedido.setStatus(StatusPedido.CRIADO); // ✅ USAR CRIADO ao invés de PENDENTE
         pedido.setDataPedido(LocalDateTime.now());
         pedido.setValorTotal(BigDecimal.ZERO); // ✅ Iniciar com valor zero
+        localizarEntrega(pedido);
         
         // ✅ SALVAR e retornar o pedido
         Pedido pedidoSalvo = pedidoRepository.save(pedido);
+        outboxPedidos.registrar(pedidoSalvo.getId(), StatusPedido.CRIADO);
+        centralStatusPedidos.publicar(pedidoSalvo);
         log.info("Pedido criado com sucesso - ID: {}", pedidoSalvo.getId());
         
         return pedidoSalvo;
     }
 
+    @Override
+    public Pedido criarComItens(Pedido pedido, List<ItemPedidoRequest> itens) {
+        if (itens == null || itens.isEmpty()) {
+            return criar(pedido);
+        }
+
+        // Mesma cotação do carrinho: produtos numa única busca e as mesmas validações
+        Long restauranteId = pedido.getRestaurante() != null ? pedido.getRestaurante().getId() : null;
+        ItensCotados cotados = cotarItens(restauranteId, itens);
+        List<ItemPedido> itensPedido = cotados.itens().stream()
+                .map(item -> ItemPedido.builder()
+                        .pedido(pedido)
+                        .produto(item.produto())
+                        .quantidade(item.quantidade())
+                        .precoUnitario(item.produto().getPreco())
+                        .subtotal(item.subtotal())
+                        .build())
+                .collect(Collectors.toCollection(ArrayList::new));
+        BigDecimal subtotal = cotados.subtotal();
+
+        pedido.setStatus(StatusPedido.CRIADO);
+        pedido.setDataPedido(LocalDateTime.now());
+        pedido.setItens(itensPedido);
+        pedido.setSubtotal(subtotal);
+        pedido.setValorTotal(subtotal);
+        localizarEntrega(pedido);
+
+        // Cascade ALL: itens são inseridos junto com o pedido (JDBC batch)
+        Pedido pedidoSalvo = pedidoRepository.save(pedido);
+        outboxPedidos.registrar(pedidoSalvo.getId(), StatusPedido.CRIADO);
+        centralStatusPedidos.publicar(pedidoSalvo);
+        log.info("Pedido criado com {} itens - ID: {}, total: R$ {}", itensPedido.size(), pedidoSalvo.getId(), subtotal);
+
+        return pedidoSalvo;
+    }
+
+    /** Coordenadas do endereço de entrega a partir do CEP, quando o cliente não as envia */
+    private void localizarEntrega(Pedido pedido) {
+        Endereco endereco = pedido.getEnderecoEntrega();
+        if (endereco == null || (endereco.getLatitude() != null && endereco.getLongitude() != null)) {
+            return;
+        }
+        tabelaCep.localizar(endereco.getCep()).ifPresent(coordenada -> {
+            endereco.setLatitude(coordenada.latitude());
+            endereco.setLongitude(coordenada.longitude());
+        });
+    }
+
     // ✅ IMPLEMENTAR métodos básicos se não existirem
     @Override
     @Transactional(readOnly = true)
@@ -97,30 +171,28 @@ public class PedidoServiceImpl implements PedidoService {
 
     @Override
     public Pedido confirmar(Long pedidoId) {
-        Pedido pedido = pedidoRepository.findById(pedidoId)
-                .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
-
-        pedido.setStatus(StatusPedido.CONFIRMADO);
-        return pedidoRepository.save(pedido);
+        Set<StatusPedido> origens = MaquinaEstadosPedido.origensPara(StatusPedido.CONFIRMADO);
+        if (pedidoRepository.transitarStatusComItens(pedidoId, origens, StatusPedido.CONFIRMADO) == 0) {
+            StatusPedido atual = statusAtual(pedidoId);
+            if (origens.contains(atual)) {
+                throw new IllegalArgumentException("Não é possível confirmar um pedido sem itens");
+            }
+            throw new ConflictException(MaquinaEstadosPedido.motivoRecusa(atual, StatusPedido.CONFIRMADO));
+        }
+        outboxPedidos.registrar(pedidoId, StatusPedido.CONFIRMADO);
+        Pedido pedido = recarregar(pedidoId);
+        centralStatusPedidos.publicar(pedido);
+        indicePedidosAbertos.atualizar(pedido);
+        return pedido;
     }
 
 @Override
-@Transactional
-public Pedido atualizarStatus(Long pedidoId, StatusPedido novoStatus) {
-    log.info("Atualizando status do pedido {} para: {}", pedidoId, novoStatus);
-    
-    Pedido pedido = pedidoRepository.findById(pedidoId)
-        .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
-    
-    log.info("Status atual do pedido {}: {}", pedidoId, pedido.getStatus());
-    
-    pedido.setStatus(novoStatus);
-    
-    Pedido salvo = pedidoRepository.save(pedido);
-    log.info("Status do pedido {} atualizado com sucesso para: {}", pedidoId, novoStatus);
-    
-    return salvo;
-}
+    public Pedido atualizarStatus(Long pedidoId, StatusPedido novoStatus) {
+        log.info("Atualizando status do pedido {} para: {}", pedidoId, novoStatus);
+        Pedido pedido = transitar(pedidoId, MaquinaEstadosPedido.origensPara(novoStatus), novoStatus);
+        log.info("Status do pedido {} atualizado com sucesso para: {}", pedidoId, novoStatus);
+        return pedido;
+    }
 
     // ✅ IMPLEMENTAR método calcularTotal
     @Override
@@ -144,19 +216,8 @@ public Pedido atualizarStatus(Long pedidoId, StatusPedido novoStatus) {
     // ✅ ADICIONAR: Método para cancelar pedido
     @Override
     public Pedido cancelar(Long pedidoId) {
-        Pedido pedido = pedidoRepository.findById(pedidoId)
-                .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
-
-        // Verificar se pode cancelar
-        if (pedido.getStatus() == StatusPedido.ENTREGUE) {
-            throw new RuntimeException("Não é possível cancelar um pedido já entregue");
-        }
-        if (pedido.getStatus() == StatusPedido.CANCELADO) {
-            throw new RuntimeException("Pedido já está cancelado");
-        }
-
-        pedido.setStatus(StatusPedido.CANCELADO);
-        Pedido pedidoCancelado = pedidoRepository.save(pedido);
+        // Cancelamento direto aceita qualquer status não final
+        Pedido pedidoCancelado = transitar(pedidoId, MaquinaEstadosPedido.naoFinalizados(), StatusPedido.CANCELADO);
         log.info("Pedido cancelado - ID: {}", pedidoId);
         
         return pedidoCancelado; // ✅ RETORNAR o pedido cancelado
@@ -176,6 +237,28 @@ public Pedido atualizarStatus(Long pedidoId, StatusPedido novoStatus) {
         return pedidoRepository.findByDataPedidoBetween(inicio, fim);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public long exportarPorPeriodo(LocalDate dataInicio, LocalDate dataFim, Consumer<PedidoExportacao> destino) {
+        if (dataInicio == null || dataFim == null) {
+            throw new IllegalArgumentException("Data inicial e data final são obrigatórias");
+        }
+        if (dataFim.isBefore(dataInicio)) {
+            throw new IllegalArgumentException("Data final deve ser igual ou posterior à data inicial");
+        }
+
+        long exportados = 0;
+        try (Stream<PedidoExportacao> linhas = pedidoRepository.exportarPorPeriodo(
+                dataInicio.atStartOfDay(), dataFim.plusDays(1).atStartOfDay())) {
+            for (PedidoExportacao linha : (Iterable<PedidoExportacao>) linhas::iterator) {
+                destino.accept(linha);
+                exportados++;
+            }
+        }
+        log.info("Exportação de pedidos {} a {}: {} linhas", dataInicio, dataFim, exportados);
+        return exportados;
+    }
+
         @Override
     @Transactional(readOnly = true)
     public List<Pedido> listarTodos() {
@@ -189,38 +272,71 @@ public Pedido atualizarStatus(Long pedidoId, StatusPedido novoStatus) {
     @Override
     @Transactional(readOnly = true)
     public BigDecimal calcularTotalPedido(List<ItemPedidoRequest> itens) {
-        log.info("Calculando total do pedido com {} itens", itens.size());
-        
         if (itens == null || itens.isEmpty()) {
             log.warn("Lista de itens vazia, retornando total zero");
             return BigDecimal.ZERO;
         }
-        
-        BigDecimal total = BigDecimal.ZERO;
-        
-        for (ItemPedidoRequest itemRequest : itens) {
-            // Buscar produto para obter preço atual
-            Produto produto = produtoRepository.findById(itemRequest.getProdutoId()) // CORRIGIDO: itemDTO → itemRequest
-                .orElseThrow(() -> new RuntimeException("Produto não encontrado - ID: " + itemRequest.getProdutoId())); // CORRIGIDO
-            
-            // Validar disponibilidade
+        BigDecimal total = cotarItens(null, itens).subtotal();
+        log.info("Total calculado para {} itens: R$ {}", itens.size(), total);
+        return total;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CotacaoResponse cotar(Long restauranteId, String cep, List<ItemPedidoRequest> itens) {
+        Restaurante restaurante = restauranteService.buscarPorId(restauranteId)
+                .orElseThrow(() -> new RuntimeException("Restaurante não encontrado"));
+        ItensCotados cotados = cotarItens(restauranteId, itens);
+        BigDecimal taxaEntrega = restauranteService.calcularTaxaEntrega(restauranteId, cep);
+        List<ItemPedidoResponse> linhas = cotados.itens().stream()
+                .map(item -> new ItemPedidoResponse(item.produto().getId(), item.produto().getNome(),
+                        item.quantidade(), item.produto().getPreco()))
+                .toList();
+        return new CotacaoResponse(cotados.subtotal(), taxaEntrega, cotados.subtotal().add(taxaEntrega),
+                restaurante.getNome(), "BRL", linhas);
+    }
+
+    private record ItemCotado(Produto produto, Integer quantidade) {
+
+        BigDecimal subtotal() {
+            return produto.getPreco().multiply(BigDecimal.valueOf(quantidade));
+        }
+    }
+
+    private record ItensCotados(List<ItemCotado> itens, BigDecimal subtotal) {
+    }
+
+    /**
+     * Motor único de cotação, usado pelo carrinho (cotar) e pela criação do pedido:
+     * resolve os produtos de todos os itens numa única busca e valida e soma numa passada.
+     * "restauranteId" nulo dispensa a verificação de que os produtos são do restaurante.
+     */
+    private ItensCotados cotarItens(Long restauranteId, List<ItemPedidoRequest> itens) {
+        if (itens == null || itens.isEmpty()) {
+            return new ItensCotados(List.of(), BigDecimal.ZERO);
+        }
+        Map<Long, Produto> produtos = produtoService.buscarPorIds(
+                itens.stream().map(ItemPedidoRequest::getProdutoId).toList());
+
+        List<ItemCotado> cotados = new ArrayList<>(itens.size());
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (ItemPedidoRequest item : itens) {
+            Produto produto = produtos.get(item.getProdutoId());
+            if (produto == null) {
+                throw new RuntimeException("Produto não encontrado - ID: " + item.getProdutoId());
+            }
+            if (restauranteId != null && (produto.getRestaurante() == null
+                    || !restauranteId.equals(produto.getRestaurante().getId()))) {
+                throw new IllegalArgumentException("Produto " + produto.getId() + " não pertence ao restaurante " + restauranteId);
+            }
             if (!produto.getAtivo()) {
-                throw new RuntimeException("Produto não está disponível - ID: " + itemRequest.getProdutoId()); // CORRIGIDO
+                throw new IllegalArgumentException("Produto não está disponível - ID: " + produto.getId());
             }
-            
-            // Calcular subtotal do item
-            BigDecimal precoUnitario = produto.getPreco();
-            BigDecimal quantidade = BigDecimal.valueOf(itemRequest.getQuantidade()); // CORRIGIDO: itemDTO → itemRequest
-            BigDecimal subtotal = precoUnitario.multiply(quantidade);
-            
-            total = total.add(subtotal);
-            
-            log.debug("Item calculado - Produto: {}, Qtd: {}, Preço: R$ {}, Subtotal: R$ {}", 
-                    produto.getNome(), itemRequest.getQuantidade(), precoUnitario, subtotal); // CORRIGIDO: itemDTO → itemRequest
+            ItemCotado cotado = new ItemCotado(produto, item.getQuantidade());
+            cotados.add(cotado);
+            subtotal = subtotal.add(cotado.subtotal());
         }
-        
-        log.info("Total calculado: R$ {}", total);
-        return total;
+        return new ItensCotados(cotados, subtotal);
     }
 
     @Override
@@ -229,6 +345,7 @@ public Pedido atualizarStatus(Long pedidoId, StatusPedido novoStatus) {
         Pedido pedido = pedidoRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
         pedidoRepository.delete(pedido);
+        indicePedidosAbertos.remover(id);
         log.info("Pedido deletado - ID: {}", id);
     }
 
@@ -272,4 +389,68 @@ public Pedido atualizarStatus(Long pedidoId, StatusPedido novoStatus) {
         
         return pedidoRepository.findAll();
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<PedidoResponse> listarPagina(StatusPedido status, LocalDate dataInicio, LocalDate dataFim,
+                                              Long clienteId, Long restauranteId, PaginacaoRequest paginacao) {
+        LocalDateTime inicioDateTime = dataInicio != null ? dataInicio.atStartOfDay() : null;
+        LocalDateTime fimDateTime = dataFim != null ? dataFim.atTime(23, 59, 59) : null;
+        Slice<PedidoResponse> pagina = pedidoRepository.buscarPagina(status, inicioDateTime, fimDateTime,
+                clienteId, restauranteId, paginacao.cursor(), paginacao.toPageable());
+        if (pagina.isEmpty()) {
+            return pagina;
+        }
+
+        // Itens da página inteira numa única consulta
+        Map<Long, PedidoResponse> porId = pagina.stream()
+                .collect(Collectors.toMap(PedidoResponse::getId, Function.identity()));
+        for (ItemPedidoResumo item : pedidoRepository.buscarItensDosPedidos(porId.keySet())) {
+            porId.get(item.getPedidoId()).getItens().add(new ItemPedidoResponse(
+                    item.getProdutoId(), item.getNomeProduto(), item.getQuantidade(), item.getPrecoUnitario()));
+        }
+        return pagina;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<PedidoResponse> filaDoRestaurante(Long restauranteId, StatusPedido status) {
+        if (status != null && !IndicePedidosAbertos.ABERTOS.contains(status)) {
+            throw new IllegalArgumentException("Status fora da fila: " + status + ". Use " + IndicePedidosAbertos.ABERTOS);
+        }
+        // Resposta montada só com o índice em memória, sem conexão com o banco
+        return indicePedidosAbertos.fila(restauranteId, status);
+    }
+
+    /**
+     * Transição sem leitura prévia: um UPDATE condicional ao status de origem.
+     * O evento vai para o outbox na mesma transação; pagamento, notificação e
+     * rollup de vendas são feitos depois, pelo despachante.
+     *
+     * Custo de uma transição aceita: o UPDATE, uma consulta que monta a resposta
+     * (pedido, cliente, restaurante e itens) e o INSERT em lote dos eventos no
+     * commit, além de um nextval da sequência a cada 50 eventos.
+     */
+    private Pedido transitar(Long pedidoId, Set<StatusPedido> origens, StatusPedido novoStatus) {
+        if (pedidoRepository.transitarStatus(pedidoId, origens, novoStatus) == 0) {
+            throw new ConflictException(MaquinaEstadosPedido.motivoRecusa(statusAtual(pedidoId), novoStatus));
+        }
+        // Só quem mudou o status grava o evento: cada transição é publicada uma única vez
+        outboxPedidos.registrar(pedidoId, novoStatus);
+        Pedido pedido = recarregar(pedidoId);
+        centralStatusPedidos.publicar(pedido);
+        indicePedidosAbertos.atualizar(pedido);
+        return pedido;
+    }
+
+    /** Diagnóstico de uma transição recusada: 404 se o pedido não existe */
+    private StatusPedido statusAtual(Long pedidoId) {
+        return pedidoRepository.buscarStatus(pedidoId)
+                .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
+    }
+
+    private Pedido recarregar(Long pedidoId) {
+        return pedidoRepository.buscarCompleto(pedidoId)
+                .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
+    }
 }
@@ -1,16 +1,36 @@
 package com.deliverytech.delivery_api.service.impl;
 
+import com.deliverytech.delivery_api.dto.request.PaginacaoRequest;
+import com.deliverytech.delivery_api.config.CacheConfig;
+import com.deliverytech.delivery_api.config.CatalogoVersao;
+import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
 import com.deliverytech.delivery_api.model.Produto;
 import com.deliverytech.delivery_api.repository.ProdutoRepository;
 import com.deliverytech.delivery_api.service.ProdutoService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j; //ADICIONAR ESTE IMPORT
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j // ADICIONAR ESTA ANOTAÇÃO
 @Service
@@ -19,6 +39,9 @@ import java.util.Optional;
 public class ProdutoServiceImpl implements ProdutoService {
 
     private final ProdutoRepository produtoRepository;
+    private final CacheManager cacheManager;
+    private final CatalogoVersao catalogoVersao;
+    private final IndiceProdutos indiceProdutos;
 
     @Override
     public Produto cadastrar(Produto produto) {
@@ -30,20 +53,50 @@ public class ProdutoServiceImpl implements ProdutoService {
             produto.setDisponivel(true);
         }
         
-        return produtoRepository.save(produto);
+        Produto salvo = produtoRepository.save(produto);
+        cardapioAlterado(salvo);
+        indiceProdutos.indexar(salvo);
+        return salvo;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.PRODUTO, key = "#id", unless = "#result == null")
     public Optional<Produto> buscarPorId(Long id) {
         return produtoRepository.findById(id);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<Long, Produto> buscarPorIds(Collection<Long> ids) {
+        // Mesmo cache (e mesma chave) de buscarPorId
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUTO);
+        Map<Long, Produto> encontrados = new HashMap<>();
+        List<Long> faltantes = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Produto produto = cache.get(id, Produto.class);
+            if (produto != null) {
+                encontrados.put(id, produto);
+            } else {
+                faltantes.add(id);
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            for (Produto produto : produtoRepository.buscarPorIds(faltantes)) {
+                cache.put(produto.getId(), produto);
+                encontrados.put(produto.getId(), produto);
+            }
+        }
+        return encontrados;
+    }
+
     @Override
     public List<Produto> listarTodos() {
         return produtoRepository.findAll();
     }
 
     @Override
+    @CacheEvict(value = CacheConfig.PRODUTO, key = "#id")
     public Produto atualizar(Long id, Produto atualizado) {
         return produtoRepository.findById(id)
             .map(produto -> {
@@ -63,27 +116,34 @@ public class ProdutoServiceImpl implements ProdutoService {
                     produto.setCategoria(atualizado.getCategoria());
                 }
                 
+                cardapioAlterado(produto);
+                indiceProdutos.indexar(produto);
                 return produtoRepository.save(produto);
             })
             .orElseThrow(() -> new RuntimeException("Produto não encontrado"));
     }
 
     @Override
+    @CacheEvict(value = CacheConfig.PRODUTO, key = "#id")
     public void deletar(Long id) {
-        if (!produtoRepository.existsById(id)) {
-            throw new RuntimeException("Produto não encontrado - ID: " + id);
-        }
-        produtoRepository.deleteById(id);
+        Produto produto = produtoRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Produto não encontrado - ID: " + id));
+        produtoRepository.delete(produto);
+        cardapioAlterado(produto);
+        indiceProdutos.remover(id);
         log.info("Produto deletado - ID: {}", id); //Agora funciona
     }
 
     @Override
+    @CacheEvict(value = CacheConfig.PRODUTO, key = "#id")
     public void inativar(Long id) {
         produtoRepository.findById(id)
             .ifPresentOrElse(
                 produto -> {
                     produto.setDisponivel(false);
                     produtoRepository.save(produto);
+                    cardapioAlterado(produto);
+                    indiceProdutos.indexar(produto);
                     log.info("Produto inativado - ID: {}", id); // ✅ Agora funciona
                 },
                 () -> {
@@ -93,6 +153,8 @@ public class ProdutoServiceImpl implements ProdutoService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.CARDAPIO, key = "#restauranteId")
     public List<Produto> buscarPorRestaurante(Long restauranteId) {
         return produtoRepository.findByRestauranteId(restauranteId);
     }
@@ -108,11 +170,14 @@ public class ProdutoServiceImpl implements ProdutoService {
     }
 
     @Override
+    @CacheEvict(value = CacheConfig.PRODUTO, key = "#id")
     public void alterarDisponibilidade(Long id, boolean disponivel) {
         produtoRepository.findById(id)
             .ifPresentOrElse(produto -> {
                 produto.setDisponivel(disponivel);
                 produtoRepository.save(produto);
+                cardapioAlterado(produto);
+                indiceProdutos.indexar(produto);
             }, () -> {
                 throw new RuntimeException("Produto não encontrado");
             });
@@ -137,10 +202,46 @@ public class ProdutoServiceImpl implements ProdutoService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Produto> buscarPorNome(String nome) {
         if (nome == null || nome.trim().isEmpty()) {
             return List.of(); // Retorna lista vazia se nome for nulo ou vazio
         }
-        return produtoRepository.findByNomeContainingIgnoreCase(nome.trim());
+        // Ids vêm do índice já ordenados por relevância; o banco só carrega as entidades
+        List<Long> ids = indiceProdutos.buscar(nome, 0, Integer.MAX_VALUE).stream()
+                .map(ProdutoResponse::getId)
+                .toList();
+        Map<Long, Produto> porId = produtoRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+        return ids.stream().map(porId::get).filter(Objects::nonNull).toList();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Slice<ProdutoResponse> buscar(String texto, PaginacaoRequest paginacao) {
+        // Resposta montada só com o índice em memória, sem conexão com o banco
+        Pageable pageable = paginacao.toPageable();
+        List<ProdutoResponse> janela = indiceProdutos.buscar(texto, (int) pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean temProxima = janela.size() > pageable.getPageSize();
+        return new SliceImpl<>(temProxima ? janela.subList(0, pageable.getPageSize()) : janela, pageable, temProxima);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Produto> listarPagina(Long restauranteId, String categoria, String nome, PaginacaoRequest paginacao) {
+        String termo = nome != null && !nome.isBlank() ? nome.trim() : null;
+        return produtoRepository.buscarPagina(restauranteId, categoria, termo,
+                paginacao.cursor(), paginacao.toPageable());
+    }
+
+    /**
+     * Remove o cardápio do cache e avança a versão usada nos ETags. O cardápio é
+     * indexado pelo restaurante, que não vem nos parâmetros dos métodos de escrita
+     */
+    private void cardapioAlterado(Produto produto) {
+        if (produto.getRestaurante() != null) {
+            cacheManager.getCache(CacheConfig.CARDAPIO).evict(produto.getRestaurante().getId());
+            catalogoVersao.cardapioAlterado(produto.getRestaurante().getId());
+        }
     }
 }
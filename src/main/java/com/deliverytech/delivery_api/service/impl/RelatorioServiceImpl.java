@@ -1,68 +1,250 @@
 package com.deliverytech.delivery_api.service.impl;
 
-import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.model.ItemPedido;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.model.VendaDiaria;
+import com.deliverytech.delivery_api.repository.VendaDiariaRepository;
 import com.deliverytech.delivery_api.service.RelatorioService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * Relatórios lidos do rollup diário (venda_diaria), que é mantido
+ * incrementalmente quando um pedido é entregue ou cancelado.
+ * As consultas varrem dias x restaurantes/produtos/clientes, não pedidos.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class RelatorioServiceImpl implements RelatorioService {
 
-    private final PedidoRepository pedidoRepository;
+    // Limites usados quando o período não é informado
+    private static final LocalDate INICIO_PADRAO = LocalDate.of(2000, 1, 1);
+    private static final LocalDate FIM_PADRAO = LocalDate.of(9999, 12, 31);
+
+    private final VendaDiariaRepository vendaDiariaRepository;
+    private final TransactionTemplate transacaoPropria;
+
+    public RelatorioServiceImpl(VendaDiariaRepository vendaDiariaRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.vendaDiariaRepository = vendaDiariaRepository;
+        this.transacaoPropria = new TransactionTemplate(transactionManager);
+        this.transacaoPropria.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
     @Override
     public List<Map<String, Object>> relatorioVendasPorRestaurante(LocalDate dataInicio, LocalDate dataFim) {
-        // Implementação simplificada - você pode usar queries nativas ou JPQL
-        return List.of(
-            Map.of("restaurante", "Restaurante A", "totalVendas", new BigDecimal("1500.00"), "quantidadePedidos", 25),
-            Map.of("restaurante", "Restaurante B", "totalVendas", new BigDecimal("1200.00"), "quantidadePedidos", 18)
-        );
+        return vendaDiariaRepository.vendasPorRestaurante(inicio(dataInicio), fim(dataFim)).stream()
+                .map(r -> linha(
+                        "restaurante", r.getNomeRestaurante(),
+                        "totalVendas", r.getTotalVendas(),
+                        "quantidadePedidos", r.getQuantidadePedidos()))
+                .toList();
     }
 
     @Override
     public List<Map<String, Object>> relatorioProdutosMaisVendidos(int limite, LocalDate dataInicio, LocalDate dataFim) {
-        return List.of(
-            Map.of("produto", "Pizza Margherita", "quantidadeVendida", 50, "totalArrecadado", new BigDecimal("1000.00")),
-            Map.of("produto", "Hambúrguer", "quantidadeVendida", 35, "totalArrecadado", new BigDecimal("700.00"))
-        );
+        return vendaDiariaRepository.produtosMaisVendidos(inicio(dataInicio), fim(dataFim), pagina(limite)).stream()
+                .map(r -> linha(
+                        "produtoId", r.getIdProduto(),
+                        "produto", r.getNomeProduto(),
+                        "quantidadeVendida", r.getQuantidadeItemPedido(),
+                        "totalArrecadado", r.getTotalVendas()))
+                .toList();
     }
 
     @Override
     public List<Map<String, Object>> relatorioClientesAtivos(int limite, LocalDate dataInicio, LocalDate dataFim) {
-        return List.of(
-            Map.of("cliente", "João Silva", "quantidadePedidos", 12, "totalGasto", new BigDecimal("600.00")),
-            Map.of("cliente", "Maria Santos", "quantidadePedidos", 8, "totalGasto", new BigDecimal("450.00"))
-        );
+        return vendaDiariaRepository.clientesMaisAtivos(inicio(dataInicio), fim(dataFim), pagina(limite)).stream()
+                .map(r -> linha(
+                        "clienteId", r.getIdCliente(),
+                        "cliente", r.getNomeCliente(),
+                        "quantidadePedidos", r.getQuantidadePedidos(),
+                        "totalGasto", r.getTotalCompras()))
+                .toList();
     }
 
     @Override
     public Map<String, Object> relatorioPedidosPorPeriodo(LocalDate dataInicio, LocalDate dataFim, String agrupamento) {
-        return Map.of(
-            "periodo", dataInicio + " até " + dataFim,
-            "totalPedidos", 150,
-            "valorTotal", new BigDecimal("7500.00"),
-            "agrupamento", agrupamento != null ? agrupamento : "total"
-        );
+        LocalDate inicio = inicio(dataInicio);
+        LocalDate fim = fim(dataFim);
+        Function<LocalDate, String> chave = chaveAgrupamento(agrupamento);
+
+        long totalPedidos = 0;
+        long totalCancelados = 0;
+        BigDecimal valorTotal = BigDecimal.ZERO;
+        Map<String, Map<String, Object>> series = new LinkedHashMap<>();
+
+        for (Object[] dia : vendaDiariaRepository.totaisPorDia(inicio, fim)) {
+            long pedidos = ((Number) dia[1]).longValue();
+            BigDecimal valor = (BigDecimal) dia[2];
+            long cancelados = ((Number) dia[3]).longValue();
+
+            totalPedidos += pedidos;
+            totalCancelados += cancelados;
+            valorTotal = valorTotal.add(valor);
+
+            if (chave != null) {
+                Map<String, Object> ponto = series.computeIfAbsent(chave.apply((LocalDate) dia[0]),
+                        k -> linha("periodo", k, "totalPedidos", 0L, "valorTotal", BigDecimal.ZERO, "pedidosCancelados", 0L));
+                ponto.merge("totalPedidos", pedidos, (a, b) -> (Long) a + (Long) b);
+                ponto.merge("valorTotal", valor, (a, b) -> ((BigDecimal) a).add((BigDecimal) b));
+                ponto.merge("pedidosCancelados", cancelados, (a, b) -> (Long) a + (Long) b);
+            }
+        }
+
+        Map<String, Object> relatorio = linha(
+                "periodo", inicio + " até " + fim,
+                "totalPedidos", totalPedidos,
+                "valorTotal", valorTotal,
+                "pedidosCancelados", totalCancelados,
+                "agrupamento", agrupamento != null ? agrupamento : "total");
+        if (chave != null) {
+            relatorio.put("series", new ArrayList<>(series.values()));
+        }
+        return relatorio;
     }
 
     @Override
     public Map<String, Object> resumoVendas(LocalDate dataInicio, LocalDate dataFim) {
-        return Map.of(
-            "totalPedidos", 150,
-            "valorTotalVendas", new BigDecimal("7500.00"),
-            "ticketMedio", new BigDecimal("50.00"),
-            "restaurantesAtivos", 5,
-            "clientesAtivos", 45
-        );
+        LocalDate inicio = inicio(dataInicio);
+        LocalDate fim = fim(dataFim);
+
+        long totalPedidos = 0;
+        long totalCancelados = 0;
+        BigDecimal valorTotal = BigDecimal.ZERO;
+        for (Object[] dia : vendaDiariaRepository.totaisPorDia(inicio, fim)) {
+            totalPedidos += ((Number) dia[1]).longValue();
+            valorTotal = valorTotal.add((BigDecimal) dia[2]);
+            totalCancelados += ((Number) dia[3]).longValue();
+        }
+
+        BigDecimal ticketMedio = totalPedidos == 0
+                ? BigDecimal.ZERO
+                : valorTotal.divide(BigDecimal.valueOf(totalPedidos), 2, RoundingMode.HALF_UP);
+
+        return linha(
+                "totalPedidos", totalPedidos,
+                "valorTotalVendas", valorTotal,
+                "ticketMedio", ticketMedio,
+                "pedidosCancelados", totalCancelados,
+                "restaurantesAtivos", vendaDiariaRepository.contarComVendas(VendaDiaria.Tipo.RESTAURANTE, inicio, fim),
+                "clientesAtivos", vendaDiariaRepository.contarComVendas(VendaDiaria.Tipo.CLIENTE, inicio, fim));
+    }
+
+    @Override
+    @Transactional
+    public void registrarPedidoFinalizado(Pedido pedido) {
+        boolean cancelado = pedido.getStatus() == StatusPedido.CANCELADO;
+        if (!cancelado && pedido.getStatus() != StatusPedido.ENTREGUE) {
+            throw new IllegalArgumentException("Pedido não está finalizado: " + pedido.getStatus());
+        }
+
+        LocalDate dia = pedido.getDataPedido() != null ? pedido.getDataPedido().toLocalDate() : LocalDate.now();
+        List<ItemPedido> itens = pedido.getItens() != null ? pedido.getItens() : List.of();
+        long quantidadeItens = itens.stream().mapToLong(ItemPedido::getQuantidade).sum();
+        BigDecimal valor = cancelado || pedido.getValorTotal() == null ? BigDecimal.ZERO : pedido.getValorTotal();
+        long pedidos = cancelado ? 0 : 1;
+        long cancelados = cancelado ? 1 : 0;
+
+        acumular(VendaDiaria.Tipo.RESTAURANTE, dia, pedido.getRestaurante().getId(), pedido.getRestaurante().getNome(),
+                pedidos, cancelado ? 0 : quantidadeItens, valor, cancelados);
+        acumular(VendaDiaria.Tipo.CLIENTE, dia, pedido.getCliente().getId(), pedido.getCliente().getNome(),
+                pedidos, cancelado ? 0 : quantidadeItens, valor, cancelados);
+
+        if (cancelado) {
+            return;
+        }
+
+        // Um pedido pode repetir o mesmo produto em mais de um item
+        Map<Long, List<ItemPedido>> porProduto = itens.stream()
+                .collect(Collectors.groupingBy(i -> i.getProduto().getId(), LinkedHashMap::new, Collectors.toList()));
+        porProduto.forEach((produtoId, doProduto) -> acumular(
+                VendaDiaria.Tipo.PRODUTO, dia, produtoId, doProduto.get(0).getProduto().getNome(),
+                1,
+                doProduto.stream().mapToLong(ItemPedido::getQuantidade).sum(),
+                doProduto.stream().map(ItemPedido::getSubtotal).filter(Objects::nonNull)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add),
+                0));
+
+        log.debug("Rollup diário atualizado para o pedido {}", pedido.getId());
+    }
+
+    /**
+     * Somar na linha do dia. Na primeira venda a linha zerada é criada numa transação
+     * própria: se outra finalização do mesmo dia criar antes, a chave única recusa o
+     * INSERT só lá, sem comprometer esta transação, e o UPDATE soma na linha existente.
+     */
+    private void acumular(VendaDiaria.Tipo tipo, LocalDate dia, Long referenciaId, String nome,
+                          long pedidos, long itens, BigDecimal valor, long cancelados) {
+        if (vendaDiariaRepository.acumular(tipo, dia, referenciaId, nome, pedidos, itens, valor, cancelados) > 0) {
+            return;
+        }
+        criarLinha(tipo, dia, referenciaId, nome);
+        if (vendaDiariaRepository.acumular(tipo, dia, referenciaId, nome, pedidos, itens, valor, cancelados) == 0) {
+            throw new IllegalStateException("Linha do rollup não encontrada: " + tipo + " " + dia + " " + referenciaId);
+        }
+    }
+
+    private void criarLinha(VendaDiaria.Tipo tipo, LocalDate dia, Long referenciaId, String nome) {
+        try {
+            transacaoPropria.executeWithoutResult(status -> vendaDiariaRepository.saveAndFlush(VendaDiaria.builder()
+                    .tipo(tipo)
+                    .dia(dia)
+                    .referenciaId(referenciaId)
+                    .nome(nome)
+                    .build()));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Linha do rollup {} {} {} criada por outra transação", tipo, dia, referenciaId);
+        }
+    }
+
+    private static Function<LocalDate, String> chaveAgrupamento(String agrupamento) {
+        if (agrupamento == null || agrupamento.isBlank()) {
+            return null;
+        }
+        return switch (agrupamento.toLowerCase()) {
+            case "dia" -> LocalDate::toString;
+            case "mes" -> d -> String.format("%d-%02d", d.getYear(), d.getMonthValue());
+            case "ano" -> d -> String.valueOf(d.getYear());
+            default -> throw new IllegalArgumentException("Agrupamento inválido: " + agrupamento + " (use dia, mes ou ano)");
+        };
+    }
+
+    private static LocalDate inicio(LocalDate dataInicio) {
+        return dataInicio != null ? dataInicio : INICIO_PADRAO;
+    }
+
+    private static LocalDate fim(LocalDate dataFim) {
+        return dataFim != null ? dataFim : FIM_PADRAO;
+    }
+
+    private static PageRequest pagina(int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("Limite deve ser maior que zero");
+        }
+        return PageRequest.of(0, limite);
+    }
+
+    private static Map<String, Object> linha(Object... chavesEValores) {
+        Map<String, Object> linha = new LinkedHashMap<>();
+        for (int i = 0; i < chavesEValores.length; i += 2) {
+            linha.put((String) chavesEValores[i], chavesEValores[i + 1]);
+        }
+        return linha;
     }
 }
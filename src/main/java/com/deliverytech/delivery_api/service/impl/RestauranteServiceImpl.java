@@ -1,25 +1,55 @@
 package com.deliverytech.delivery_api.service.impl;
 
+import com.deliverytech.delivery_api.dto.request.PaginacaoRequest;
+import com.deliverytech.delivery_api.config.CacheConfig;
+import com.deliverytech.delivery_api.config.CatalogoVersao;
+import com.deliverytech.delivery_api.dto.response.RestauranteResponse;
+import com.deliverytech.delivery_api.model.Coordenada;
 import com.deliverytech.delivery_api.model.Restaurante;
 import com.deliverytech.delivery_api.dto.request.RestauranteRequest;
 import com.deliverytech.delivery_api.repository.RestauranteRepository;
 import com.deliverytech.delivery_api.service.RestauranteService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 @Slf4j 
 @Service
 @Transactional
-@RequiredArgsConstructor
 public class RestauranteServiceImpl implements RestauranteService {
 
     private final RestauranteRepository restauranteRepository;
+    private final CatalogoVersao catalogoVersao;
+    private final TabelaCep tabelaCep;
+    private final IndiceGeografico indiceGeografico;
+    private final BigDecimal taxaPorKm;
+    private final double raioEntregaKm;
+
+    public RestauranteServiceImpl(RestauranteRepository restauranteRepository,
+                                  CatalogoVersao catalogoVersao,
+                                  TabelaCep tabelaCep,
+                                  IndiceGeografico indiceGeografico,
+                                  @Value("${entrega.taxa-por-km:1.00}") BigDecimal taxaPorKm,
+                                  @Value("${entrega.raio-maximo-km:15}") double raioEntregaKm) {
+        this.restauranteRepository = restauranteRepository;
+        this.catalogoVersao = catalogoVersao;
+        this.tabelaCep = tabelaCep;
+        this.indiceGeografico = indiceGeografico;
+        this.taxaPorKm = taxaPorKm;
+        this.raioEntregaKm = raioEntregaKm;
+    }
 
     @Override
+    @CacheEvict(value = CacheConfig.RESTAURANTES_ATIVOS, allEntries = true)
     public Restaurante cadastrar(RestauranteRequest restauranteRequest) {
         log.info("Iniciando cadastro de restaurante: {}", restauranteRequest.getNome());
         
@@ -32,8 +62,11 @@ public class RestauranteServiceImpl implements RestauranteService {
 /*         restaurante.setEmail(restauranteRequest.getEmail()); */
         restaurante.setTempoEntregaMinutos(restauranteRequest.getTempoEntregaMinutos()); 
         restaurante.setAtivo(true);
+        localizar(restaurante, restauranteRequest);
         
         Restaurante salvo = restauranteRepository.save(restaurante);
+        catalogoVersao.restauranteAlterado(salvo.getId());
+        indiceGeografico.atualizar(salvo);
         log.info("Restaurante cadastrado com sucesso - ID: {}", salvo.getId());
         
         return salvo;
@@ -41,6 +74,7 @@ public class RestauranteServiceImpl implements RestauranteService {
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.RESTAURANTE, key = "#id", unless = "#result == null")
     public Optional<Restaurante> buscarPorId(Long id) {
         return restauranteRepository.findById(id);
     }
@@ -54,6 +88,7 @@ public class RestauranteServiceImpl implements RestauranteService {
     // ✅ IMPLEMENTAR MÉTODO FALTANTE
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(value = CacheConfig.RESTAURANTES_ATIVOS, key = "'todos'")
     public List<Restaurante> listarAtivos() {
         return restauranteRepository.findByAtivoTrue();
     }
@@ -79,6 +114,10 @@ public class RestauranteServiceImpl implements RestauranteService {
     }
 
     @Override
+    @Caching(evict = {
+        @CacheEvict(value = CacheConfig.RESTAURANTE, key = "#id"),
+        @CacheEvict(value = CacheConfig.RESTAURANTES_ATIVOS, allEntries = true)
+    })
     public Restaurante atualizar(Long id, RestauranteRequest atualizado) {
         return restauranteRepository.findById(id)
             .map(r -> {
@@ -87,18 +126,29 @@ public class RestauranteServiceImpl implements RestauranteService {
                 r.setCategoria(atualizado.getCategoria());
                 r.setTaxaEntrega(atualizado.getTaxaEntrega());
                 r.setTempoEntregaMinutos(atualizado.getTempoEntregaMinutos());
+                if (atualizado.getCep() != null || atualizado.getLatitude() != null) {
+                    localizar(r, atualizado);
+                }
+                catalogoVersao.restauranteAlterado(id);
+                indiceGeografico.atualizar(r);
                 return restauranteRepository.save(r);
             }).orElseThrow(() -> new RuntimeException("Restaurante não encontrado"));
     }
 
     // ✅ IMPLEMENTAR MÉTODO FALTANTE
     @Override
+    @Caching(evict = {
+        @CacheEvict(value = CacheConfig.RESTAURANTE, key = "#id"),
+        @CacheEvict(value = CacheConfig.RESTAURANTES_ATIVOS, allEntries = true)
+    })
     public void inativar(Long id) {
         restauranteRepository.findById(id)
             .ifPresentOrElse(
                 restaurante -> {
                     restaurante.setAtivo(false);
                     restauranteRepository.save(restaurante);
+                    catalogoVersao.restauranteAlterado(id);
+                    indiceGeografico.atualizar(restaurante);
                     log.info("Restaurante inativado - ID: {}", id);
                 },
                 () -> {
@@ -108,66 +158,51 @@ public class RestauranteServiceImpl implements RestauranteService {
     }
 
     /**
-     * Calcular taxa de entrega baseada no restaurante e CEP
-     * Lógica simplificada para demonstração
+     * Taxa de entrega: taxa base do restaurante mais um valor por km em linha reta até o CEP.
+     * Restaurante ativo e localizado vem do índice geográfico, sem consulta ao banco
      */
     @Override
     @Transactional(readOnly = true)
     public BigDecimal calcularTaxaEntrega(Long restauranteId, String cep) {
-        log.info("Calculando taxa de entrega - Restaurante ID: {}, CEP: {}", restauranteId, cep);
-        
-        // Buscar restaurante
-        Restaurante restaurante = restauranteRepository.findById(restauranteId)
-            .orElseThrow(() -> new RuntimeException("Restaurante não encontrado - ID: " + restauranteId));
-        
-        // Verificar se restaurante está ativo
-        if (!restaurante.getAtivo()) {
-            throw new RuntimeException("Restaurante não está disponível para entrega");
-        }
-        
-        // Lógica simplificada de cálculo baseada no CEP
-        BigDecimal taxaBase = restaurante.getTaxaEntrega();
-        
-        // Simular cálculo por região do CEP
-        String primeirosDigitos = cep.substring(0, Math.min(2, cep.length()));
-        
-        try {
-            int codigoRegiao = Integer.parseInt(primeirosDigitos);
-            
-            // Lógica de exemplo:
-            // CEP 01xxx-xxx (centro) = taxa normal
-            // CEP 02xxx-xxx a 05xxx-xxx = taxa + 20%
-            // CEP 06xxx-xxx a 09xxx-xxx = taxa + 50%
-            // Outros = taxa + 100%
-            
-            BigDecimal multiplicador;
-            if (codigoRegiao == 1) {
-                multiplicador = BigDecimal.ONE; // Taxa normal
-            } else if (codigoRegiao >= 2 && codigoRegiao <= 5) {
-                multiplicador = new BigDecimal("1.20"); // +20%
-            } else if (codigoRegiao >= 6 && codigoRegiao <= 9) {
-                multiplicador = new BigDecimal("1.50"); // +50%
-            } else {
-                multiplicador = new BigDecimal("2.00"); // +100%
+        log.debug("Calculando taxa de entrega - Restaurante ID: {}, CEP: {}", restauranteId, cep);
+
+        Optional<IndiceGeografico.Ponto> ponto = indiceGeografico.localizar(restauranteId);
+        if (ponto.isEmpty()) {
+            Restaurante restaurante = restauranteRepository.findById(restauranteId)
+                .orElseThrow(() -> new RuntimeException("Restaurante não encontrado - ID: " + restauranteId));
+            if (!restaurante.getAtivo()) {
+                throw new RuntimeException("Restaurante não está disponível para entrega");
             }
-            
-            BigDecimal taxaFinal = taxaBase.multiply(multiplicador).setScale(2, BigDecimal.ROUND_HALF_UP);
-            
-            log.info("Taxa calculada: R$ {} (base: R$ {}, multiplicador: {})", 
-                    taxaFinal, taxaBase, multiplicador);
-            
-            return taxaFinal;
-            
-        } catch (NumberFormatException e) {
-            log.warn("CEP inválido: {}, usando taxa base", cep);
+            log.warn("Restaurante {} sem localização, usando taxa base", restauranteId);
+            return restaurante.getTaxaEntrega();
+        }
+
+        BigDecimal taxaBase = ponto.get().restaurante().getTaxaEntrega();
+        Optional<Coordenada> destino = tabelaCep.localizar(cep);
+        if (destino.isEmpty()) {
+            log.warn("CEP não localizado: {}, usando taxa base", cep);
             return taxaBase;
         }
+
+        double distanciaKm = ponto.get().coordenada().distanciaKm(destino.get());
+        if (distanciaKm > raioEntregaKm) {
+            throw new IllegalArgumentException(String.format(Locale.ROOT,
+                    "CEP %s fora da área de entrega do restaurante (%.1f km, máximo %.1f km)", cep, distanciaKm, raioEntregaKm));
+        }
+        BigDecimal taxaFinal = taxaBase.add(taxaPorKm.multiply(BigDecimal.valueOf(distanciaKm)))
+                .setScale(2, RoundingMode.HALF_UP);
+        log.debug("Taxa calculada: R$ {} (base: R$ {}, distância: {} km)", taxaFinal, taxaBase, distanciaKm);
+        return taxaFinal;
     }
 
     /**
      * Alterar status ativo/inativo do restaurante
      */
     @Override
+    @Caching(evict = {
+        @CacheEvict(value = CacheConfig.RESTAURANTE, key = "#id"),
+        @CacheEvict(value = CacheConfig.RESTAURANTES_ATIVOS, allEntries = true)
+    })
     public Restaurante alterarStatus(Long id, Boolean ativo) {
         log.info("Alterando status do restaurante ID: {} para: {}", id, ativo);
         
@@ -176,50 +211,29 @@ public class RestauranteServiceImpl implements RestauranteService {
         
         restaurante.setAtivo(ativo);
         Restaurante salvo = restauranteRepository.save(restaurante);
+        catalogoVersao.restauranteAlterado(id);
+        indiceGeografico.atualizar(salvo);
         
         log.info("Status do restaurante {} alterado para: {}", id, ativo);
         return salvo;
     }
 
     /**
-     * Buscar restaurantes próximos por CEP
-     * Lógica simplificada baseada nos primeiros dígitos do CEP
+     * Buscar restaurantes próximos por CEP, pelo índice geográfico em memória
      */
     @Override
-    @Transactional(readOnly = true)
-    public List<Restaurante> buscarProximos(String cep) {
-        log.info("Buscando restaurantes próximos ao CEP: {}", cep);
-        
-        // Lógica simplificada: considera próximos os restaurantes ativos
-        // Em um cenário real, seria feita integração com API de mapas
-        List<Restaurante> restaurantesAtivos = restauranteRepository.findByAtivoTrue();
-        
-        // Simular proximidade baseada no CEP
-        String primeirosDigitos = cep.substring(0, Math.min(2, cep.length()));
-        
-        try {
-            int codigoRegiao = Integer.parseInt(primeirosDigitos);
-            
-            // Filtrar restaurantes "próximos" baseado na região do CEP
-            // Para demonstração, considera próximo se código da região for <= 5
-            if (codigoRegiao <= 5) {
-                log.info("Encontrados {} restaurantes próximos ao CEP {}", restaurantesAtivos.size(), cep);
-                return restaurantesAtivos;
-            } else {
-                // Para regiões mais distantes, retorna apenas restaurantes com taxa <= 10.00
-                List<Restaurante> restaurantesProximos = restaurantesAtivos.stream()
-                    .filter(r -> r.getTaxaEntrega().compareTo(new BigDecimal("10.00")) <= 0)
-                    .toList();
-                
-                log.info("Encontrados {} restaurantes próximos ao CEP {} (região distante)", 
-                        restaurantesProximos.size(), cep);
-                return restaurantesProximos;
-            }
-            
-        } catch (NumberFormatException e) {
-            log.warn("CEP inválido: {}, retornando todos os restaurantes ativos", cep);
-            return restaurantesAtivos;
-        }
+    public List<RestauranteResponse> buscarProximos(String cep, Double raioKm, Integer limite) {
+        Coordenada origem = tabelaCep.localizar(cep)
+            .orElseThrow(() -> new IllegalArgumentException("CEP não localizado: " + cep));
+        double raio = raioKm != null ? Math.min(raioKm, raioEntregaKm) : raioEntregaKm;
+        int quantidade = limite != null && limite > 0
+                ? Math.min(limite, PaginacaoRequest.LIMITE_MAXIMO) : PaginacaoRequest.LIMITE_PADRAO;
+
+        List<RestauranteResponse> proximos = indiceGeografico.proximos(origem, raio, quantidade).stream()
+            .map(IndiceGeografico.Proximo::restaurante)
+            .toList();
+        log.debug("Encontrados {} restaurantes a até {} km do CEP {}", proximos.size(), raio, cep);
+        return proximos;
     }
 
     /**
@@ -249,4 +263,23 @@ public class RestauranteServiceImpl implements RestauranteService {
         // Se ambos os filtros foram fornecidos
         return restauranteRepository.findByCategoriaAndAtivo(categoria, ativo);
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<Restaurante> listarPagina(String categoria, Boolean ativo, PaginacaoRequest paginacao) {
+        return restauranteRepository.buscarPagina(categoria, ativo, paginacao.cursor(), paginacao.toPageable());
+    }
+
+    /** Coordenadas informadas no cadastro ou, na falta delas, as do CEP */
+    private void localizar(Restaurante restaurante, RestauranteRequest request) {
+        restaurante.setCep(request.getCep());
+        if (request.getLatitude() != null && request.getLongitude() != null) {
+            restaurante.setLatitude(request.getLatitude());
+            restaurante.setLongitude(request.getLongitude());
+            return;
+        }
+        Optional<Coordenada> coordenada = tabelaCep.localizar(request.getCep());
+        restaurante.setLatitude(coordenada.map(Coordenada::latitude).orElse(null));
+        restaurante.setLongitude(coordenada.map(Coordenada::longitude).orElse(null));
+    }
 }
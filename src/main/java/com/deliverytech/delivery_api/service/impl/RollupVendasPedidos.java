@@ -0,0 +1,141 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.model.CargaHistorico;
+import com.deliverytech.delivery_api.model.EventoPedido;
+import com.deliverytech.delivery_api.model.MaquinaEstadosPedido;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.repository.CargaHistoricoRepository;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.service.AssinanteEventoPedido;
+import com.deliverytech.delivery_api.service.RelatorioService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Rollup diário de vendas alimentado pelo outbox quando o pedido é finalizado.
+ * Roda na transação que dá baixa no evento, então cada pedido entra uma única vez.
+ */
+@Slf4j
+@Component
+public class RollupVendasPedidos implements AssinanteEventoPedido {
+
+    private static final int LOTE_CARGA = 200;
+    private static final Set<StatusPedido> FINALIZADOS = EnumSet.of(StatusPedido.ENTREGUE, StatusPedido.CANCELADO);
+
+    private final PedidoRepository pedidoRepository;
+    private final RelatorioService relatorioService;
+    private final CargaHistoricoRepository cargaHistoricoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean cargaNaSubida;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public RollupVendasPedidos(PedidoRepository pedidoRepository,
+                               RelatorioService relatorioService,
+                               CargaHistoricoRepository cargaHistoricoRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${rollup.carga-historico:true}") boolean cargaNaSubida) {
+        this.pedidoRepository = pedidoRepository;
+        this.relatorioService = relatorioService;
+        this.cargaHistoricoRepository = cargaHistoricoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cargaNaSubida = cargaNaSubida;
+    }
+
+    @Override
+    public String nome() {
+        return "rollup-vendas";
+    }
+
+    @Override
+    public boolean interessado(StatusPedido status) {
+        return MaquinaEstadosPedido.finalizado(status);
+    }
+
+    @Override
+    public void receber(EventoPedido evento) {
+        Pedido pedido = pedidoRepository.findByIdWithItens(evento.getPedidoId())
+                .orElseThrow(() -> new RuntimeException("Pedido não encontrado"));
+        relatorioService.registrarPedidoFinalizado(pedido);
+    }
+
+    /** Fora da thread de subida: a aplicação fica pronta sem esperar a carga */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciarCarga() {
+        if (!cargaNaSubida) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                carregarHistorico();
+            } catch (RuntimeException e) {
+                // O progresso fica em carga_historico; a próxima subida retoma do último lote
+                log.warn("Carga do rollup diário interrompida", e);
+            }
+        }, "rollup-carga");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Carga única dos pedidos finalizados antes do rollup existir, em lotes por id,
+     * cada um na sua transação. O progresso fica em carga_historico e avança junto com
+     * o lote, então uma carga interrompida é retomada sem somar um pedido duas vezes.
+     * Pedidos com evento do rollup ficam de fora: o outbox os soma ao entregar.
+     */
+    public void carregarHistorico() {
+        if (cargaHistoricoRepository.findById(nome()).isEmpty()) {
+            try {
+                cargaHistoricoRepository.iniciar(nome(), pedidoRepository.buscarMaiorId());
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Carga do rollup já iniciada por outra instância");
+            }
+        }
+        long carregados = 0;
+        int lote;
+        while ((lote = carregarLote()) > 0) {
+            carregados += lote;
+        }
+        if (carregados > 0) {
+            log.info("Rollup diário carregado com {} pedidos já finalizados", carregados);
+        }
+    }
+
+    /** @return pedidos somados no lote; 0 quando a carga terminou */
+    private int carregarLote() {
+        Integer carregados = transactionTemplate.execute(status -> {
+            CargaHistorico carga = cargaHistoricoRepository.travar(nome())
+                    .orElseThrow(() -> new IllegalStateException("Carga do rollup não iniciada"));
+            List<Long> ids = carga.getConcluidaEm() != null ? List.of()
+                    : pedidoRepository.buscarIdsFinalizadosSemEvento(FINALIZADOS, nome(),
+                            carga.getUltimoPedidoId(), carga.getLimitePedidoId(), PageRequest.of(0, LOTE_CARGA));
+            if (!ids.isEmpty()) {
+                pedidoRepository.findByIdInWithItens(ids).forEach(relatorioService::registrarPedidoFinalizado);
+                cargaHistoricoRepository.avancar(nome(), ids.get(ids.size() - 1));
+            } else if (carga.getConcluidaEm() == null) {
+                cargaHistoricoRepository.concluir(nome(), LocalDateTime.now());
+            }
+            // A carga lida acima fica obsoleta com os UPDATEs; o próximo lote a relê travada
+            entityManager.flush();
+            entityManager.clear();
+            return ids.size();
+        });
+        return carregados != null ? carregados : 0;
+    }
+}
@@ -0,0 +1,63 @@
+package com.deliverytech.delivery_api.service.impl;
+
+import com.deliverytech.delivery_api.model.Coordenada;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Localização aproximada de um CEP a partir de uma tabela local de prefixos
+ * (prefixo,latitude,longitude), carregada na subida. Sem serviço externo:
+ * vale o prefixo mais longo que casar com os dígitos do CEP.
+ */
+@Slf4j
+@Component
+public class TabelaCep {
+
+    private static final int DIGITOS_CEP = 8;
+
+    private final Map<String, Coordenada> porPrefixo = new HashMap<>();
+
+    public TabelaCep(@Value("${geo.cep.tabela:classpath:cep-coordenadas.csv}") Resource tabela) throws IOException {
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(tabela.getInputStream(), StandardCharsets.UTF_8))) {
+            String linha;
+            int numero = 0;
+            while ((linha = leitor.readLine()) != null) {
+                numero++;
+                linha = linha.trim();
+                if (linha.isEmpty() || linha.startsWith("#")) {
+                    continue;
+                }
+                String[] campos = linha.split(",");
+                if (campos.length != 3 || !campos[0].matches("\\d{1," + DIGITOS_CEP + "}")) {
+                    throw new IllegalStateException("Tabela de CEPs, linha " + numero + " inválida: " + linha);
+                }
+                porPrefixo.put(campos[0], new Coordenada(Double.parseDouble(campos[1]), Double.parseDouble(campos[2])));
+            }
+        }
+        log.info("Tabela de CEPs carregada - {} prefixos", porPrefixo.size());
+    }
+
+    public Optional<Coordenada> localizar(String cep) {
+        String digitos = cep != null ? cep.replaceAll("\\D", "") : "";
+        if (digitos.length() != DIGITOS_CEP) {
+            return Optional.empty();
+        }
+        for (int tamanho = DIGITOS_CEP; tamanho > 0; tamanho--) {
+            Coordenada coordenada = porPrefixo.get(digitos.substring(0, tamanho));
+            if (coordenada != null) {
+                return Optional.of(coordenada);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -8,9 +8,14 @@ import com.deliverytech.delivery_api.model.Usuario;
 import com.deliverytech.delivery_api.repository.UsuarioRepository;
 import com.deliverytech.delivery_api.service.UsuarioService;
 import com.deliverytech.delivery_api.security.JwtUtil;
+import com.deliverytech.delivery_api.security.ListaRevogacao;
+import com.deliverytech.delivery_api.security.UsuarioPrincipalCache;
+
+import io.jsonwebtoken.Claims;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -35,6 +40,12 @@ public class UsuarioServiceImpl implements UsuarioService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UsuarioPrincipalCache usuarioPrincipalCache;
+
+    @Autowired
+    private ListaRevogacao listaRevogacao;
+
     @Override
     public LoginResponse login(LoginRequest loginRequest) {
         try {
@@ -58,9 +69,36 @@ public class UsuarioServiceImpl implements UsuarioService {
         }
     }
 
+    @Override
+    public LoginResponse emitirTokens(String email) {
+        return new LoginResponse(jwtUtil.gerarToken(email), jwtUtil.gerarRefreshToken(email),
+                jwtUtil.getExpiracaoSegundos());
+    }
+
+    /**
+     * Troca um refresh token por um novo par; o usado é revogado na hora, então
+     * só a primeira de duas trocas concorrentes (ou de um token vazado) vence
+     */
+    @Override
+    public LoginResponse renovar(String refreshToken) {
+        Claims claims = jwtUtil.validarRefresh(refreshToken);
+        if (claims == null || !listaRevogacao.revogar(claims.getId(), claims.getExpiration().toInstant())) {
+            throw new BadCredentialsException("Refresh token inválido ou já utilizado");
+        }
+        UserDetails usuario = usuarioPrincipalCache.buscar(claims.getSubject());
+        if (usuario == null || !usuario.isEnabled()) {
+            throw new BadCredentialsException("Usuário inexistente ou inativo");
+        }
+        return emitirTokens(usuario.getUsername());
+    }
+
+    /** Revoga o token (de acesso ou refresh) até a sua expiração; inválidos são ignorados */
     @Override
     public void logout(String token) {
-        // Implementar lógica de logout se necessário (ex: blacklist)
+        Claims claims = jwtUtil.validarToken(token);
+        if (claims != null && claims.getId() != null) {
+            listaRevogacao.revogar(claims.getId(), claims.getExpiration().toInstant());
+        }
     }
 
     @Override
@@ -79,6 +117,7 @@ public class UsuarioServiceImpl implements UsuarioService {
             Usuario usuario = usuarioOpt.get();
             usuario.setAtivo(false);
             usuarioRepository.save(usuario);
+            usuarioPrincipalCache.invalidar(usuario.getEmail());
         } else {
             throw new RuntimeException("Usuário não encontrado com id: " + id);
         }
@@ -117,6 +156,8 @@ public class UsuarioServiceImpl implements UsuarioService {
             usuario.setRole(registerRequest.getRole());
         }
 
-        return usuarioRepository.save(usuario);
+        Usuario salvo = usuarioRepository.save(usuario);
+        usuarioPrincipalCache.invalidar(salvo.getEmail());
+        return salvo;
     }
 }
@@ -0,0 +1,69 @@
+package com.deliverytech.delivery_api.config;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class AdmissaoConexoesDataSourceTest {
+
+    @Test
+    @DisplayName("Conexão fechada deve devolver a permissão uma única vez")
+    void testClose_DevolvePermissao() throws Exception {
+        DataSource alvo = mock(DataSource.class);
+        Connection conexao = mock(Connection.class);
+        when(alvo.getConnection()).thenReturn(conexao);
+        AdmissaoConexoesDataSource admissao = new AdmissaoConexoesDataSource(alvo, 1, 10, 100);
+
+        Connection primeira = admissao.getConnection();
+        assertEquals(0, admissao.getDisponiveis());
+        assertThrows(SQLTransientConnectionException.class, admissao::getConnection);
+
+        primeira.close();
+        primeira.close();
+        assertEquals(1, admissao.getDisponiveis());
+        verify(conexao, times(2)).close();
+    }
+
+    @Test
+    @DisplayName("Fila de espera cheia deve falhar na hora, sem aguardar o timeout")
+    void testFilaCheia_FalhaImediata() throws Exception {
+        DataSource alvo = mock(DataSource.class);
+        when(alvo.getConnection()).thenAnswer(i -> mock(Connection.class));
+        AdmissaoConexoesDataSource admissao = new AdmissaoConexoesDataSource(alvo, 1, 1, 10_000);
+
+        Connection emprestada = admissao.getConnection();
+        CountDownLatch iniciou = new CountDownLatch(1);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Future<Connection> aguardando = executor.submit(() -> {
+                iniciou.countDown();
+                return admissao.getConnection();
+            });
+            iniciou.await();
+            while (admissao.getAguardando() == 0) {
+                Thread.onSpinWait();
+            }
+
+            long inicio = System.nanoTime();
+            assertThrows(SQLTransientConnectionException.class, admissao::getConnection);
+            assertTrue(System.nanoTime() - inicio < TimeUnit.SECONDS.toNanos(1));
+
+            emprestada.close();
+            assertNotNull(aguardando.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
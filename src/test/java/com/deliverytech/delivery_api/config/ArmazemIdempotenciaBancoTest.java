@@ -0,0 +1,64 @@
+package com.deliverytech.delivery_api.config;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.deliverytech.delivery_api.repository.ChaveIdempotenciaRepository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sem transação de teste: cada operação do armazém roda na própria transação, como no filtro
+@DataJpaTest(properties = "idempotencia.armazenamento=banco")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(ArmazemIdempotenciaBanco.class)
+public class ArmazemIdempotenciaBancoTest {
+
+    @Autowired
+    private ArmazemIdempotencia armazem;
+
+    @Autowired
+    private ChaveIdempotenciaRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Reserva na tabela deve ser única por chave e devolver a resposta concluída")
+    void testReservarConcluir() {
+        assertEquals(ArmazemIdempotencia.Situacao.NOVA, armazem.reservar("k1", "imp").situacao());
+        assertEquals(ArmazemIdempotencia.Situacao.EM_ANDAMENTO, armazem.reservar("k1", "imp").situacao());
+        assertEquals(ArmazemIdempotencia.Situacao.OUTRA_REQUISICAO, armazem.reservar("k1", "outra").situacao());
+
+        armazem.concluir("k1", "imp", new ArmazemIdempotencia.Resposta(201, "application/json", "/api/pedidos/9",
+                "{\"id\":9}".getBytes(StandardCharsets.UTF_8)));
+
+        // Outra instância: só a tabela conhece a chave
+        ArmazemIdempotencia outraInstancia = new ArmazemIdempotenciaBanco(repository, 10,
+                Duration.ofHours(1), Duration.ofMinutes(1));
+        ArmazemIdempotencia.Reserva reserva = outraInstancia.reservar("k1", "imp");
+        assertEquals(ArmazemIdempotencia.Situacao.CONCLUIDA, reserva.situacao());
+        assertEquals(201, reserva.resposta().status());
+        assertEquals("/api/pedidos/9", reserva.resposta().location());
+        assertEquals("{\"id\":9}", new String(reserva.resposta().corpo(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("Reserva liberada após falha deve permitir nova tentativa")
+    void testLiberar() {
+        armazem.reservar("k2", "imp");
+        armazem.liberar("k2");
+
+        assertEquals(ArmazemIdempotencia.Situacao.NOVA, armazem.reservar("k2", "imp").situacao());
+    }
+}
@@ -0,0 +1,111 @@
+package com.deliverytech.delivery_api.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class CapturaWriterTest {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    @DisplayName("Fila cheia deve descartar o registro e contabilizar na métrica")
+    void testEnfileirar_FilaCheia_DeveDescartar() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CapturaWriter writer = new CapturaWriter(registry, diretorio.toString(), 2, 10, 1024 * 1024);
+
+        assertTrue(writer.enfileirar(registro("/api/produtos")));
+        assertTrue(writer.enfileirar(registro("/api/restaurantes")));
+        assertFalse(writer.enfileirar(registro("/api/pedidos")));
+
+        assertEquals(1L, writer.getDescartados());
+        assertEquals(1.0, registry.get("captura.registros.descartados").functionCounter().count());
+
+        writer.iniciar();
+        writer.parar();
+
+        List<String> linhas = lerSegmentos();
+        assertEquals(2, linhas.size());
+        assertTrue(linhas.get(0).contains("\"uri\":\"/api/produtos\""));
+        assertEquals(2.0, registry.get("captura.registros.gravados").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Segmento deve ser rotacionado ao atingir o tamanho máximo")
+    void testGravar_DeveRotacionarSegmentos() throws Exception {
+        CapturaWriter writer = new CapturaWriter(new SimpleMeterRegistry(), diretorio.toString(), 100, 1, 200);
+        for (int i = 0; i < 5; i++) {
+            writer.enfileirar(registro("/api/produtos/" + i));
+        }
+
+        writer.iniciar();
+        writer.parar();
+
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            assertTrue(arquivos.count() > 1);
+        }
+        assertEquals(5, lerSegmentos().size());
+    }
+
+    @Test
+    @DisplayName("Falha ao capturar deve ser contabilizada sem afetar a resposta")
+    void testFiltro_FalhaNaCaptura_DeveContarErro() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CapturaWriter writer = mock(CapturaWriter.class);
+        when(writer.enfileirar(any())).thenThrow(new IllegalStateException("falha"));
+        ResponseCaptureFilter filtro = new ResponseCaptureFilter(registry, writer, 1.0, 4096);
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(new MockHttpServletRequest("GET", "/api/produtos"), response,
+                new MockFilterChain(new HttpServlet() {
+                    @Override
+                    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                        resp.getWriter().write("{\"id\":1}");
+                    }
+                }));
+
+        assertEquals("{\"id\":1}", response.getContentAsString());
+        assertEquals(1.0, registry.get("captura.requisicoes").tag("resultado", "erro").functionCounter().count());
+    }
+
+    private List<String> lerSegmentos() throws Exception {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.sorted()
+                    .flatMap(arquivo -> {
+                        try {
+                            return Files.readAllLines(arquivo).stream();
+                        } catch (Exception e) {
+                            throw new RuntimeException(e);
+                        }
+                    })
+                    .toList();
+        }
+    }
+
+    private CapturaRegistro registro(String uri) {
+        return new CapturaRegistro(System.currentTimeMillis(), "GET", uri, null, 200,
+                "application/json", 1_000_000L, new byte[0],
+                "{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,89 @@
+package com.deliverytech.delivery_api.config;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IdempotenciaFilterTest {
+
+    private IdempotenciaFilter filter;
+    private AtomicInteger execucoes;
+    private int statusDoController;
+
+    // Controller simulado: devolve o corpo recebido e conta as execuções
+    private final FilterChain chain = (request, response) -> {
+        int execucao = execucoes.incrementAndGet();
+        byte[] corpo = request.getInputStream().readAllBytes();
+        ((HttpServletResponse) response).setStatus(statusDoController);
+        response.setContentType("application/json");
+        response.getOutputStream().write(("{\"execucao\":" + execucao + ",\"recebido\":" + new String(corpo, StandardCharsets.UTF_8) + "}")
+                .getBytes(StandardCharsets.UTF_8));
+    };
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdempotenciaFilter(new ArmazemIdempotenciaMemoria(100, Duration.ofMinutes(1)), new ObjectMapper(), 1024);
+        execucoes = new AtomicInteger();
+        statusDoController = 201;
+    }
+
+    @Test
+    @DisplayName("Repetição com a mesma chave deve devolver a resposta guardada sem executar de novo")
+    void testRepeticao_DevolveRespostaGuardada() throws Exception {
+        MockHttpServletResponse primeira = executar("chave-1", "{\"clienteId\":1}");
+        MockHttpServletResponse repetida = executar("chave-1", "{\"clienteId\":1}");
+
+        assertEquals(1, execucoes.get());
+        assertEquals(201, repetida.getStatus());
+        assertEquals(primeira.getContentAsString(), repetida.getContentAsString());
+        assertEquals("true", repetida.getHeader(IdempotenciaFilter.HEADER_REPETIDA));
+        assertNull(primeira.getHeader(IdempotenciaFilter.HEADER_REPETIDA));
+    }
+
+    @Test
+    @DisplayName("Mesma chave com outro corpo deve ser recusada; sem chave não há deduplicação")
+    void testChaveReusadaOuAusente() throws Exception {
+        executar("chave-1", "{\"clienteId\":1}");
+
+        assertEquals(422, executar("chave-1", "{\"clienteId\":2}").getStatus());
+        executar(null, "{\"clienteId\":1}");
+        executar(null, "{\"clienteId\":1}");
+        assertEquals(3, execucoes.get());
+    }
+
+    @Test
+    @DisplayName("Falha 5xx não deve ser guardada: a nova tentativa é processada")
+    void testErroServidor_LiberaChave() throws Exception {
+        statusDoController = 503;
+        assertEquals(503, executar("chave-1", "{}").getStatus());
+
+        statusDoController = 201;
+        assertEquals(201, executar("chave-1", "{}").getStatus());
+        assertEquals(2, execucoes.get());
+    }
+
+    private MockHttpServletResponse executar(String chave, String corpo) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/pedidos");
+        if (chave != null) {
+            request.addHeader(IdempotenciaFilter.HEADER_CHAVE, chave);
+        }
+        request.setContentType("application/json");
+        request.setContent(corpo.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
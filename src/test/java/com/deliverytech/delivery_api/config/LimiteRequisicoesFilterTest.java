@@ -0,0 +1,125 @@
+package com.deliverytech.delivery_api.config;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LimiteRequisicoesFilterTest {
+
+    @Test
+    @DisplayName("Balde deve liberar a rajada, recusar o excesso e repor fichas com o tempo")
+    void testLimitadorTaxa_RajadaEReposicao() {
+        AtomicLong relogio = new AtomicLong();
+        LimitadorTaxa limitador = new LimitadorTaxa(2, 3, 100, relogio::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limitador.tentar("ip:1"));
+        }
+        long espera = limitador.tentar("ip:1");
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), espera);
+        // Outra chave tem o próprio balde
+        assertEquals(0, limitador.tentar("ip:2"));
+
+        relogio.addAndGet(espera);
+        assertEquals(0, limitador.tentar("ip:1"));
+        assertTrue(limitador.tentar("ip:1") > 0);
+    }
+
+    @Test
+    @DisplayName("Limite de concorrência deve cair com espera no pool e voltar a subir com a carga saudável")
+    void testLimitadorConcorrencia_Adaptativo() {
+        AtomicInteger aguardando = new AtomicInteger();
+        AtomicLong relogio = new AtomicLong();
+        LimitadorConcorrencia limitador = new LimitadorConcorrencia(10, 2, 20, 4.0, aguardando::get, relogio::get);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limitador.adquirir());
+        }
+        assertFalse(limitador.adquirir());
+
+        aguardando.set(3);
+        limitador.liberar("api", 1_000_000, false);
+        assertEquals(9, limitador.getLimite());
+        // Na mesma janela não reduz de novo
+        limitador.liberar("api", 1_000_000, false);
+        assertEquals(9, limitador.getLimite());
+
+        aguardando.set(0);
+        relogio.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limitador.adquirir());
+            limitador.liberar("api", 1_000_000, false);
+        }
+        assertTrue(limitador.getLimite() > 9, "limite: " + limitador.getLimite());
+    }
+
+    @Test
+    @DisplayName("Rota lenta por natureza não deve derrubar o limite com folga; latência alta com o limite cheio deve")
+    void testLimitadorConcorrencia_RotasLentasERapidas() {
+        AtomicLong relogio = new AtomicLong();
+        LimitadorConcorrencia limitador = new LimitadorConcorrencia(40, 10, 500, 4.0, () -> 0, relogio::get);
+
+        // Uma leitura de 2 ms por vez e um login de 80 ms a cada ~110 ms
+        for (int i = 0; i < 200; i++) {
+            assertTrue(limitador.adquirir());
+            limitador.liberar("api", TimeUnit.MILLISECONDS.toNanos(2), false);
+            if (i % 5 == 0) {
+                assertTrue(limitador.adquirir());
+                limitador.liberar("login", TimeUnit.MILLISECONDS.toNanos(80), false);
+            }
+            relogio.addAndGet(TimeUnit.MILLISECONDS.toNanos(110));
+        }
+        assertEquals(40, limitador.getLimite());
+
+        // Limite ocupado e a mesma rota rápida ficando lenta: congestionamento
+        for (int i = 0; i < 40; i++) {
+            assertTrue(limitador.adquirir());
+        }
+        limitador.liberar("api", TimeUnit.MILLISECONDS.toNanos(50), false);
+        assertEquals(36, limitador.getLimite());
+    }
+
+    @Test
+    @DisplayName("Filtro deve responder 429 pela política da rota e 503 com a concorrência esgotada")
+    void testFiltro_429e503() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LimitadorConcorrencia concorrencia = new LimitadorConcorrencia(1, 1, 1, 4.0, () -> 0);
+        LimiteRequisicoesFilter filtro = new LimiteRequisicoesFilter(List.of(
+                new LimiteRequisicoesFilter.Politica("login", "POST", "/api/auth/", LimiteRequisicoesFilter.Chave.IP,
+                        new LimitadorTaxa(1.0 / 60, 1, 100))),
+                concorrencia, new ObjectMapper(), registry);
+
+        MockHttpServletResponse primeira = new MockHttpServletResponse();
+        filtro.doFilter(new MockHttpServletRequest("POST", "/api/auth/login"), primeira, new MockFilterChain());
+        assertEquals(200, primeira.getStatus());
+
+        MockHttpServletResponse segunda = new MockHttpServletResponse();
+        filtro.doFilter(new MockHttpServletRequest("POST", "/api/auth/login"), segunda, new MockFilterChain());
+        assertEquals(429, segunda.getStatus());
+        assertEquals("60", segunda.getHeader(HttpHeaders.RETRY_AFTER));
+
+        // Única vaga ocupada por uma requisição em andamento
+        assertTrue(concorrencia.adquirir());
+        MockHttpServletResponse terceira = new MockHttpServletResponse();
+        filtro.doFilter(new MockHttpServletRequest("GET", "/api/pedidos"), terceira, new MockFilterChain());
+        assertEquals(503, terceira.getStatus());
+        assertNotNull(terceira.getHeader(HttpHeaders.RETRY_AFTER));
+
+        assertEquals(1, registry.get("limite.rejeicoes").tag("politica", "login").counter().count());
+        assertEquals(1, registry.get("limite.rejeicoes").tag("politica", "concorrencia").counter().count());
+    }
+}
@@ -0,0 +1,109 @@
+package com.deliverytech.delivery_api.config;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import jakarta.servlet.ServletException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class MetricasRequisicaoFilterTest {
+
+    @Test
+    @DisplayName("Instruções executadas na requisição devem ser contadas por endpoint e resultado")
+    void testFiltro_ContaInstrucoesPorEndpoint() throws Exception {
+        DataSource dataSource = medido(mock(Connection.class));
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/pedidos/cliente/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new MetricasRequisicaoFilter(registry, 30, 500, true).doFilter(request, response, (req, resp) -> {
+            try (Connection c = dataSource.getConnection()) {
+                PreparedStatement consulta = c.prepareStatement("select 1");
+                consulta.executeQuery();
+                consulta.executeQuery();
+                c.createStatement().executeUpdate("update x set y = 1");
+                // Preparar ou configurar sem executar não conta
+                c.prepareStatement("select 2").setFetchSize(10);
+            } catch (SQLException e) {
+                throw new ServletException(e);
+            }
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/pedidos/cliente/{clienteId}");
+        });
+
+        DistributionSummary resumo = registry.get("http.server.requests.sql")
+                .tag("endpoint", "GET /api/pedidos/cliente/{clienteId}")
+                .tag("resultado", "SUCCESS")
+                .summary();
+        assertEquals(1, resumo.count());
+        assertEquals(3, resumo.totalAmount());
+        assertEquals("3", response.getHeader(MetricasRequisicaoFilter.HEADER_INSTRUCOES));
+        assertNotNull(response.getHeader(MetricasRequisicaoFilter.HEADER_TEMPO));
+    }
+
+    @Test
+    @DisplayName("N+1 deve estourar o orçamento e aparecer agrupado numa impressão digital")
+    void testOrcamento_ImpressoesAgrupamN1() throws Exception {
+        DataSource dataSource = medido(mock(Connection.class));
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MedicaoSql[] medicao = new MedicaoSql[1];
+        new MetricasRequisicaoFilter(registry, 5, 500, false).doFilter(
+                new MockHttpServletRequest("GET", "/api/pedidos/cliente/1"), new MockHttpServletResponse(), (req, resp) -> {
+                    medicao[0] = MedicaoSql.atual();
+                    try (Connection c = dataSource.getConnection()) {
+                        c.prepareStatement("select * from pedido where cliente_id = ?").executeQuery();
+                        for (int id = 1; id <= 10; id++) {
+                            // Literal e lista IN variando, como em SQL montado à mão
+                            c.prepareStatement("select * from item_pedido where pedido_id = " + id
+                                    + " and status in ('A', 'B'" + ", 'C'".repeat(id % 3) + ")").executeQuery();
+                        }
+                    } catch (SQLException e) {
+                        throw new ServletException(e);
+                    }
+                });
+
+        assertEquals(11, medicao[0].getInstrucoes());
+        assertEquals(Map.of(
+                "select * from item_pedido where pedido_id = ? and status in (?...)", 10,
+                "select * from pedido where cliente_id = ?", 1), medicao[0].impressoes(5));
+        assertEquals(1, registry.get("http.server.requests.sql.acima.orcamento").counter().count());
+    }
+
+    @Test
+    @DisplayName("Fora de uma requisição nada deve ser contado")
+    void testForaDaRequisicao_NaoConta() throws Exception {
+        Connection conexao = mock(Connection.class);
+
+        try (Connection c = medido(conexao).getConnection()) {
+            c.createStatement().execute("select 1");
+        }
+        assertNull(MedicaoSql.atual());
+        verify(conexao).close();
+    }
+
+    /** DataSource medido sobre uma conexão simulada que aceita qualquer instrução */
+    private static DataSource medido(Connection conexao) throws SQLException {
+        DataSource alvo = mock(DataSource.class);
+        when(alvo.getConnection()).thenReturn(conexao);
+        when(conexao.prepareStatement(anyString())).thenAnswer(i -> mock(PreparedStatement.class));
+        when(conexao.createStatement()).thenAnswer(i -> mock(Statement.class));
+        return new MedicaoSqlDataSource(alvo, 1000);
+    }
+}
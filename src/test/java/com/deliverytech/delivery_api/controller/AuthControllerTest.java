@@ -0,0 +1,120 @@
+package com.deliverytech.delivery_api.controller;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.deliverytech.delivery_api.dto.request.RegisterRequest;
+import com.deliverytech.delivery_api.dto.response.LoginResponse;
+import com.deliverytech.delivery_api.model.Role;
+import com.deliverytech.delivery_api.repository.UsuarioRepository;
+import com.deliverytech.delivery_api.service.UsuarioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Ciclo de vida dos tokens pela cadeia de segurança real: login, renovação,
+ * reutilização do refresh token, tipo de token e logout (com rajada maior no
+ * limite de /api/auth, que os testes chamam várias vezes em sequência)
+ */
+@SpringBootTest(properties = { "captura.diretorio=target/captura-teste", "limite.login.rajada=50",
+        "spring.datasource.url=jdbc:h2:mem:autenticacao" })
+@AutoConfigureMockMvc
+public class AuthControllerTest {
+
+    private static final String EMAIL = "tokens@deliverytech.com";
+    private static final String SENHA = "123456";
+    private static final String PROTEGIDO = "/api/restaurantes";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UsuarioService usuarioService;
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @BeforeEach
+    void setUp() {
+        if (usuarioRepository.findByEmail(EMAIL) == null) {
+            usuarioService.salvar(new RegisterRequest(EMAIL, SENHA, "Tokens", Role.CLIENTE));
+        }
+    }
+
+    @Test
+    @DisplayName("Refresh deve trocar o token por um novo par e recusar a reutilização")
+    void testRefresh_NovoParEReutilizacao() throws Exception {
+        LoginResponse login = login();
+
+        LoginResponse renovado = refresh(login.getRefreshToken());
+        assertNotEquals(login.getToken(), renovado.getToken());
+        assertNotEquals(login.getRefreshToken(), renovado.getRefreshToken());
+        mockMvc.perform(get(PROTEGIDO).header(HttpHeaders.AUTHORIZATION, "Bearer " + renovado.getToken()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                        .content(corpoRefresh(login.getRefreshToken())))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Refresh token não deve valer como token de acesso")
+    void testRefreshToken_ComoBearer() throws Exception {
+        LoginResponse login = login();
+
+        mockMvc.perform(get(PROTEGIDO).header(HttpHeaders.AUTHORIZATION, "Bearer " + login.getRefreshToken()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get(PROTEGIDO).header(HttpHeaders.AUTHORIZATION, "Bearer " + login.getToken()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Depois do logout o token de acesso vira anônimo e o refresh token não renova mais")
+    void testLogout_RevogaOsDoisTokens() throws Exception {
+        LoginResponse login = login();
+
+        mockMvc.perform(post("/api/auth/logout")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + login.getToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpoRefresh(login.getRefreshToken())))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get(PROTEGIDO).header(HttpHeaders.AUTHORIZATION, "Bearer " + login.getToken()))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(post("/api/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                        .content(corpoRefresh(login.getRefreshToken())))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private LoginResponse login() throws Exception {
+        String corpo = mockMvc.perform(post("/api/auth/login").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + EMAIL + "\",\"password\":\"" + SENHA + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(corpo, LoginResponse.class);
+    }
+
+    private LoginResponse refresh(String refreshToken) throws Exception {
+        String corpo = mockMvc.perform(post("/api/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                        .content(corpoRefresh(refreshToken)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(corpo, LoginResponse.class);
+    }
+
+    private String corpoRefresh(String refreshToken) throws Exception {
+        return objectMapper.writeValueAsString(Map.of("refreshToken", refreshToken));
+    }
+}
@@ -0,0 +1,72 @@
+package com.deliverytech.delivery_api.controller;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.deliverytech.delivery_api.config.CatalogoVersao;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.service.ImportacaoProdutoService;
+import com.deliverytech.delivery_api.service.ProdutoService;
+import com.deliverytech.delivery_api.service.RestauranteService;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class CatalogoEtagTest {
+
+    private ProdutoService produtoService;
+    private CatalogoVersao catalogoVersao;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        produtoService = mock(ProdutoService.class);
+        catalogoVersao = new CatalogoVersao();
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new ProdutoController(produtoService, mock(RestauranteService.class), catalogoVersao,
+                        mock(ImportacaoProdutoService.class)))
+                .build();
+
+        Produto pizza = Produto.builder().id(1L).nome("Pizza").preco(BigDecimal.TEN).disponivel(true).build();
+        when(produtoService.buscarPorRestaurante(7L)).thenReturn(List.of(pizza));
+    }
+
+    @Test
+    @DisplayName("If-None-Match com a versão atual deve retornar 304 sem consultar o serviço")
+    void testCardapio_NaoModificado() throws Exception {
+        String etag = mockMvc.perform(get("/api/produtos/restaurante/7"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        verify(produtoService, times(1)).buscarPorRestaurante(7L);
+
+        mockMvc.perform(get("/api/produtos/restaurante/7").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        verifyNoMoreInteractions(produtoService);
+
+        // Outra página do mesmo cardápio tem outro ETag
+        mockMvc.perform(get("/api/produtos/restaurante/7?limit=5").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Alteração no cardápio deve invalidar o ETag emitido")
+    void testCardapio_AlteracaoInvalidaEtag() throws Exception {
+        String etag = mockMvc.perform(get("/api/produtos/restaurante/7"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        catalogoVersao.cardapioAlterado(7L);
+
+        mockMvc.perform(get("/api/produtos/restaurante/7").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nome").value("Pizza"));
+    }
+}
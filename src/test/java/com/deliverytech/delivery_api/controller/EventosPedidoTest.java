@@ -0,0 +1,97 @@
+package com.deliverytech.delivery_api.controller;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.service.ClienteService;
+import com.deliverytech.delivery_api.service.PedidoService;
+import com.deliverytech.delivery_api.service.ProdutoService;
+import com.deliverytech.delivery_api.service.RestauranteService;
+import com.deliverytech.delivery_api.service.impl.CentralStatusPedidos;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class EventosPedidoTest {
+
+    private CentralStatusPedidos central;
+    private MockMvc mockMvc;
+    private Pedido pedido;
+
+    @BeforeEach
+    void setUp() {
+        // Uma conexão no máximo, para exercitar o limite
+        central = new CentralStatusPedidos(1, 8, Duration.ofMinutes(1), Duration.ofSeconds(30), 1, Duration.ofSeconds(5));
+        PedidoService pedidoService = mock(PedidoService.class);
+        RestauranteService restauranteService = mock(RestauranteService.class);
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new PedidoController(pedidoService, mock(ClienteService.class),
+                        restauranteService, mock(ProdutoService.class), central, new ObjectMapper()))
+                .build();
+
+        Restaurante restaurante = Restaurante.builder().id(7L).nome("Pizzaria").build();
+        pedido = Pedido.builder().id(1L).restaurante(restaurante).status(StatusPedido.CRIADO)
+                .dataPedido(LocalDateTime.now()).build();
+        when(pedidoService.buscarPorId(1L)).thenReturn(pedido);
+        when(restauranteService.buscarPorId(7L)).thenReturn(Optional.of(restaurante));
+    }
+
+    @AfterEach
+    void tearDown() {
+        central.parar();
+    }
+
+    @Test
+    @DisplayName("Conexão deve receber o status atual e depois cada transição publicada")
+    void testEventosDoPedido_StatusAtualETransicoes() throws Exception {
+        MockHttpServletResponse resposta = mockMvc.perform(get("/api/pedidos/1/eventos").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn().getResponse();
+
+        pedido.setStatus(StatusPedido.CONFIRMADO);
+        central.publicar(pedido);
+
+        String corpo = aguardar(resposta, "CONFIRMADO");
+        assertTrue(corpo.indexOf("\"status\":\"CRIADO\"") < corpo.indexOf("\"status\":\"CONFIRMADO\""));
+        assertTrue(corpo.startsWith("event:status\ndata:{\"pedidoId\":1,\"restauranteId\":7,"));
+        assertEquals(1, central.conexoes());
+    }
+
+    @Test
+    @DisplayName("Acima do limite de conexões a assinatura deve ser recusada com 503")
+    void testEventos_LimiteDeConexoes() throws Exception {
+        mockMvc.perform(get("/api/pedidos/restaurante/7/eventos"))
+                .andExpect(request().asyncStarted());
+
+        mockMvc.perform(get("/api/pedidos/1/eventos"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"));
+        assertEquals(1, central.conexoes());
+    }
+
+    private static String aguardar(MockHttpServletResponse resposta, String trecho) throws Exception {
+        long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!resposta.getContentAsString().contains(trecho) && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        String corpo = resposta.getContentAsString();
+        assertTrue(corpo.contains(trecho), corpo);
+        return corpo;
+    }
+}
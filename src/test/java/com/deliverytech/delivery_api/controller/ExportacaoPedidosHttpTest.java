@@ -0,0 +1,79 @@
+package com.deliverytech.delivery_api.controller;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.deliverytech.delivery_api.dto.request.RegisterRequest;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Role;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.security.JwtUtil;
+import com.deliverytech.delivery_api.service.UsuarioService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exportação pela pilha completa (Tomcat, Spring Security, filtros de captura e
+ * métricas): o corpo em streaming precisa chegar inteiro ao cliente.
+ * Banco próprio: o DataLoader não pode rodar duas vezes no mesmo banco em memória
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = { "captura.diretorio=target/captura-teste", "spring.datasource.url=jdbc:h2:mem:pilha-completa" })
+public class ExportacaoPedidosHttpTest {
+
+    @Autowired
+    private TestRestTemplate http;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private UsuarioService usuarioService;
+    @Autowired
+    private PedidoRepository pedidoRepository;
+    @Autowired
+    private ClienteRepository clienteRepository;
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Test
+    @DisplayName("CSV exportado deve chegar completo com a captura de requisições ligada")
+    void testExportarCsv_PilhaCompleta() {
+        Pedido pedido = pedidoRepository.save(Pedido.builder()
+                .cliente(clienteRepository.findAll().get(0))
+                .restaurante(restauranteRepository.findAll().get(0))
+                .status(StatusPedido.ENTREGUE)
+                .dataPedido(LocalDateTime.now())
+                .itens(new ArrayList<>())
+                .build());
+
+        String email = "exportacao@deliverytech.com";
+        usuarioService.salvar(new RegisterRequest(email, "123456", "Exportação", Role.ADMIN));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(jwtUtil.gerarToken(email));
+        LocalDate hoje = LocalDate.now();
+        ResponseEntity<String> resposta = http.exchange(
+                "/api/pedidos/exportar?dataInicio={inicio}&dataFim={fim}&formato=csv",
+                HttpMethod.GET, new HttpEntity<>(headers), String.class, hoje.minusDays(1), hoje.plusDays(1));
+
+        assertEquals(HttpStatus.OK, resposta.getStatusCode());
+        assertNotNull(resposta.getBody());
+        String[] linhas = resposta.getBody().split("\r\n");
+        assertTrue(linhas[0].startsWith("id,numeroPedido,dataPedido,status"));
+        assertTrue(resposta.getBody().contains("\r\n" + pedido.getId() + ","), resposta.getBody());
+    }
+}
@@ -0,0 +1,107 @@
+package com.deliverytech.delivery_api.controller;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.deliverytech.delivery_api.dto.response.PedidoExportacao;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.service.ClienteService;
+import com.deliverytech.delivery_api.service.PedidoService;
+import com.deliverytech.delivery_api.service.ProdutoService;
+import com.deliverytech.delivery_api.service.RestauranteService;
+import com.deliverytech.delivery_api.service.impl.CentralStatusPedidos;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class ExportacaoPedidosTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2025, 7, 1);
+    private static final LocalDate FIM = LocalDate.of(2025, 7, 31);
+
+    private PedidoService pedidoService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        pedidoService = mock(PedidoService.class);
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new PedidoController(pedidoService, mock(ClienteService.class),
+                        mock(RestauranteService.class), mock(ProdutoService.class), mock(CentralStatusPedidos.class),
+                        // Mesmo ajuste de datas do ObjectMapper do Spring Boot
+                        Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build()))
+                .build();
+
+        when(pedidoService.exportarPorPeriodo(eq(INICIO), eq(FIM), any())).thenAnswer(invocacao -> {
+            Consumer<PedidoExportacao> destino = invocacao.getArgument(2);
+            destino.accept(linha(1L, "Pizzaria Bella"));
+            destino.accept(linha(2L, "Bar \"do Zé\", Centro"));
+            return 2L;
+        });
+    }
+
+    @Test
+    @DisplayName("CSV deve ter cabeçalho, uma linha por pedido e campos escapados")
+    void testExportarCsv() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/pedidos/exportar")
+                        .param("dataInicio", "2025-07-01").param("dataFim", "2025-07-31").param("formato", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String corpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"pedidos_2025-07-01_2025-07-31.csv\""))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] linhas = corpo.split("\r\n");
+        assertEquals(3, linhas.length);
+        assertTrue(linhas[0].startsWith("id,numeroPedido,dataPedido,status"));
+        assertTrue(linhas[2].contains(",\"Bar \"\"do Zé\"\", Centro\","));
+    }
+
+    @Test
+    @DisplayName("NDJSON deve escrever um objeto JSON por linha")
+    void testExportarNdjson() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/pedidos/exportar")
+                        .param("dataInicio", "2025-07-01").param("dataFim", "2025-07-31"))
+                .andReturn();
+
+        String corpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] linhas = corpo.split("\n");
+        assertEquals(2, linhas.length);
+        assertTrue(linhas[0].startsWith("{\"id\":1,"));
+        assertTrue(linhas[0].contains("\"dataPedido\":\"2025-07-10T12:00:00\""));
+    }
+
+    @Test
+    @DisplayName("Período invertido deve ser rejeitado antes de iniciar o stream")
+    void testExportar_PeriodoInvalido() {
+        assertThrows(Exception.class, () -> mockMvc.perform(get("/api/pedidos/exportar")
+                .param("dataInicio", "2025-07-31").param("dataFim", "2025-07-01")));
+        verifyNoInteractions(pedidoService);
+    }
+
+    private static PedidoExportacao linha(Long id, String restaurante) {
+        return new PedidoExportacao(id, "PED-" + id, LocalDateTime.of(2025, 7, 10, 12, 0), StatusPedido.ENTREGUE,
+                10L, "João", 20L, restaurante, BigDecimal.TEN, new BigDecimal("15.00"), "01310-100");
+    }
+}
@@ -0,0 +1,103 @@
+package com.deliverytech.delivery_api.controller;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.deliverytech.delivery_api.config.MetricasRequisicaoFilter;
+import com.deliverytech.delivery_api.dto.request.RegisterRequest;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.ItemPedido;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Role;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.security.JwtUtil;
+import com.deliverytech.delivery_api.service.UsuarioService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Orçamento de SQL medido pela pilha completa: a listagem de pedidos do cliente
+ * precisa caber em sql.orcamento.max-instrucoes mesmo com mais pedidos que o
+ * orçamento (um N+1 nos itens estouraria). Mesmo contexto e banco do
+ * ExportacaoPedidosHttpTest
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = { "captura.diretorio=target/captura-teste", "spring.datasource.url=jdbc:h2:mem:pilha-completa" })
+public class OrcamentoSqlHttpTest {
+
+    private static final int PEDIDOS = 40;
+
+    @Value("${sql.orcamento.max-instrucoes}")
+    private int maxInstrucoes;
+
+    @Autowired
+    private TestRestTemplate http;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private UsuarioService usuarioService;
+    @Autowired
+    private PedidoRepository pedidoRepository;
+    @Autowired
+    private ClienteRepository clienteRepository;
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Test
+    @DisplayName("Pedidos do cliente com itens devem ficar dentro do orçamento de instruções SQL")
+    void testPedidosDoCliente_DentroDoOrcamento() {
+        Cliente cliente = clienteRepository.save(Cliente.builder()
+                .nome("Orçamento").email("orcamento@email.com").ativo(true).build());
+        Produto produto = produtoRepository.findAll().get(0);
+        for (int i = 0; i < PEDIDOS; i++) {
+            Pedido pedido = Pedido.builder()
+                    .cliente(cliente)
+                    .restaurante(produto.getRestaurante())
+                    .status(StatusPedido.ENTREGUE)
+                    .dataPedido(LocalDateTime.now())
+                    .valorTotal(produto.getPreco())
+                    .itens(new ArrayList<>())
+                    .build();
+            pedido.getItens().add(ItemPedido.builder()
+                    .pedido(pedido)
+                    .produto(produto)
+                    .quantidade(1)
+                    .precoUnitario(produto.getPreco())
+                    .subtotal(produto.getPreco())
+                    .build());
+            pedidoRepository.save(pedido);
+        }
+
+        String email = "orcamento@deliverytech.com";
+        usuarioService.salvar(new RegisterRequest(email, "123456", "Orçamento", Role.ADMIN));
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(jwtUtil.gerarToken(email));
+
+        ResponseEntity<String> resposta = http.exchange("/api/pedidos/cliente/{id}?limit={limite}",
+                HttpMethod.GET, new HttpEntity<>(headers), String.class, cliente.getId(), PEDIDOS);
+
+        assertEquals(HttpStatus.OK, resposta.getStatusCode());
+        assertTrue(resposta.getBody().contains("\"quantidade\":1"), resposta.getBody());
+        String instrucoes = resposta.getHeaders().getFirst(MetricasRequisicaoFilter.HEADER_INSTRUCOES);
+        assertNotNull(instrucoes);
+        assertTrue(Integer.parseInt(instrucoes) <= maxInstrucoes,
+                instrucoes + " instruções para " + PEDIDOS + " pedidos (orçamento: " + maxInstrucoes + ")");
+    }
+}
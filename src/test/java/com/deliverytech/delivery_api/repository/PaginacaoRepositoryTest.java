@@ -0,0 +1,95 @@
+package com.deliverytech.delivery_api.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Slice;
+
+import com.deliverytech.delivery_api.dto.request.PaginacaoRequest;
+import com.deliverytech.delivery_api.dto.response.PedidoResponse;
+import com.deliverytech.delivery_api.model.Cliente;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.model.StatusPedido;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+public class PaginacaoRepositoryTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    private Cliente cliente;
+    private Restaurante restaurante;
+
+    @BeforeEach
+    void setUp() {
+        cliente = em.persist(Cliente.builder().nome("João").email("joao@email.com").build());
+        restaurante = em.persist(Restaurante.builder().nome("Pizzaria").categoria("Italiana").ativo(true).build());
+        for (int i = 0; i < 25; i++) {
+            em.persist(Pedido.builder()
+                    .cliente(cliente)
+                    .restaurante(restaurante)
+                    .status(i % 5 == 0 ? StatusPedido.CANCELADO : StatusPedido.CRIADO)
+                    .valorTotal(BigDecimal.TEN)
+                    .dataPedido(LocalDateTime.now())
+                    .build());
+        }
+        em.flush();
+    }
+
+    @Test
+    @DisplayName("Cursor deve percorrer todos os pedidos sem repetir nem pular registros")
+    void testBuscarPagina_KeysetPercorreTodosOsPedidos() {
+        List<Long> ids = new ArrayList<>();
+        PaginacaoRequest paginacao = new PaginacaoRequest(null, 10, null);
+        Slice<PedidoResponse> pagina;
+        do {
+            pagina = pedidoRepository.buscarPagina(null, null, null, cliente.getId(), null,
+                    paginacao.cursor(), paginacao.toPageable());
+            pagina.forEach(p -> ids.add(p.getId()));
+            paginacao.setAfter(ids.get(ids.size() - 1));
+        } while (pagina.hasNext());
+
+        assertEquals(25, ids.size());
+        assertEquals(25, ids.stream().distinct().count());
+        assertEquals(ids.stream().sorted().toList(), ids);
+    }
+
+    @Test
+    @DisplayName("Filtros e offset devem ser aplicados junto com o limite")
+    void testBuscarPagina_FiltroEOffset() {
+        PaginacaoRequest paginacao = new PaginacaoRequest(null, 3, 1);
+        Slice<PedidoResponse> pagina = pedidoRepository.buscarPagina(StatusPedido.CANCELADO, null, null, null,
+                restaurante.getId(), paginacao.cursor(), paginacao.toPageable());
+
+        assertEquals(2, pagina.getNumberOfElements());
+        assertFalse(pagina.hasNext());
+        assertTrue(pagina.stream().allMatch(p -> p.getStatus() == StatusPedido.CANCELADO));
+
+        assertEquals(1, restauranteRepository.buscarPagina("Italiana", true, null,
+                new PaginacaoRequest().toPageable()).getNumberOfElements());
+    }
+
+    @Test
+    @DisplayName("Limite acima do máximo deve ser reduzido ao máximo permitido")
+    void testPaginacao_LimiteMaximo() {
+        assertEquals(PaginacaoRequest.LIMITE_MAXIMO, new PaginacaoRequest(null, 10_000, null).toPageable().getPageSize());
+        assertEquals(PaginacaoRequest.LIMITE_PADRAO, new PaginacaoRequest().toPageable().getPageSize());
+    }
+}
@@ -0,0 +1,49 @@
+package com.deliverytech.delivery_api.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.deliverytech.delivery_api.repository.TokenRevogadoRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sem transação de teste: cada revogação grava na própria transação, como no login
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ListaRevogacaoBancoTest {
+
+    @Autowired
+    private TokenRevogadoRepository repository;
+
+    private ListaRevogacao lista;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        lista = new ListaRevogacao(repository, new SimpleMeterRegistry(), 1000, Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("jti já gravado por outra instância deve contar como revogado e a chamada deve retornar false")
+    void testRevogar_JaRevogadoPorOutraInstancia() {
+        Instant expiraEm = Instant.now().plusSeconds(600);
+        // Outra instância revogou o refresh token; esta ainda não recarregou a lista
+        repository.inserir("jti-1", LocalDateTime.now().plusMinutes(10));
+
+        assertFalse(lista.revogar("jti-1", expiraEm));
+        assertTrue(lista.revogado("jti-1"));
+        assertTrue(lista.revogar("jti-2", expiraEm));
+        assertEquals(2, repository.count());
+    }
+}
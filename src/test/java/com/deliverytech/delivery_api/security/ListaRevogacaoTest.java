@@ -0,0 +1,87 @@
+package com.deliverytech.delivery_api.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.deliverytech.delivery_api.model.TokenRevogado;
+import com.deliverytech.delivery_api.repository.TokenRevogadoRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ListaRevogacaoTest {
+
+    private TokenRevogadoRepository repository;
+    private SimpleMeterRegistry meterRegistry;
+    private ListaRevogacao lista;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(TokenRevogadoRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        lista = new ListaRevogacao(repository, meterRegistry, 1000, Duration.ofMinutes(1));
+    }
+
+    @Test
+    @DisplayName("Token revogado deve ser recusado e a segunda revogação do mesmo jti deve falhar")
+    void testRevogar_PersisteUmaVez() {
+        Instant expiraEm = Instant.now().plusSeconds(600);
+
+        assertTrue(lista.revogar("jti-1", expiraEm));
+        assertFalse(lista.revogar("jti-1", expiraEm));
+
+        assertTrue(lista.revogado("jti-1"));
+        assertFalse(lista.revogado("jti-2"));
+        assertFalse(lista.revogado(null));
+        verify(repository, times(1)).inserir(eq("jti-1"), any(LocalDateTime.class));
+        assertEquals(1.0, meterRegistry.get("jwt.revogados").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Recarga deve trazer revogações do banco e descartar as expiradas")
+    void testRecarregar_BancoEExpirados() {
+        lista.revogar("expirado", Instant.now().minusSeconds(1));
+        when(repository.findByExpiraEmAfter(any()))
+                .thenReturn(List.of(new TokenRevogado("outra-instancia", LocalDateTime.now().plusMinutes(10))));
+
+        lista.recarregar();
+
+        verify(repository).removerExpirados(any());
+        assertTrue(lista.revogado("outra-instancia"));
+        assertFalse(lista.revogado("expirado"));
+        assertEquals(1.0, meterRegistry.get("jwt.revogados").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Filtro de Bloom não deve ter falsos negativos e deve ficar perto de 1% de falsos positivos")
+    void testFiltroBloom_TaxaDeFalsosPositivos() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        List<String> inseridos = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String jti = UUID.randomUUID().toString();
+            inseridos.add(jti);
+            filtro.adicionar(jti);
+        }
+        assertTrue(inseridos.stream().allMatch(filtro::podeConter));
+
+        int falsosPositivos = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filtro.podeConter(UUID.randomUUID().toString())) {
+                falsosPositivos++;
+            }
+        }
+        assertTrue(falsosPositivos < 2_000, "falsos positivos: " + falsosPositivos);
+    }
+}
@@ -0,0 +1,67 @@
+package com.deliverytech.delivery_api.security;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.deliverytech.delivery_api.model.Role;
+import com.deliverytech.delivery_api.model.Usuario;
+import com.deliverytech.delivery_api.repository.UsuarioRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class UsuarioPrincipalCacheTest {
+
+    private UsuarioRepository usuarioRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private UsuarioPrincipalCache cache;
+
+    @BeforeEach
+    void setUp() {
+        usuarioRepository = mock(UsuarioRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UsuarioPrincipalCache(usuarioRepository, meterRegistry, 100, Duration.ofMinutes(5));
+
+        Usuario usuario = Usuario.builder()
+                .id(1L).email("teste@email.com").senha("x").role(Role.CLIENTE).ativo(true)
+                .build();
+        when(usuarioRepository.findByEmail("teste@email.com")).thenReturn(usuario);
+    }
+
+    @Test
+    @DisplayName("Requisições seguintes do mesmo usuário não devem consultar o banco")
+    void testBuscar_DeveConsultarBancoApenasUmaVez() {
+        cache.buscar("teste@email.com");
+        cache.buscar("teste@email.com");
+        cache.buscar("teste@email.com");
+
+        verify(usuarioRepository, times(1)).findByEmail("teste@email.com");
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Invalidar o usuário deve forçar nova consulta")
+    void testInvalidar_DeveRecarregarUsuario() {
+        cache.buscar("teste@email.com");
+        cache.invalidar("teste@email.com");
+        cache.buscar("teste@email.com");
+
+        verify(usuarioRepository, times(2)).findByEmail("teste@email.com");
+    }
+
+    @Test
+    @DisplayName("Email inexistente ou nulo não deve ser cacheado")
+    void testBuscar_EmailInexistente_DeveRetornarNulo() {
+        assertNull(cache.buscar("nao@existe.com"));
+        assertNull(cache.buscar("nao@existe.com"));
+        assertNull(cache.buscar(null));
+
+        verify(usuarioRepository, times(2)).findByEmail("nao@existe.com");
+    }
+}
@@ -0,0 +1,117 @@
+package com.deliverytech.delivery_api.security;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.deliverytech.delivery_api.exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class VerificadorSenhasTest {
+
+    @Test
+    @DisplayName("Hash de outro custo deve ser aceito e marcado para regravação")
+    void testUpgradeEncoding_CustoDiferente() {
+        try (VerificadorSenhas verificador = new VerificadorSenhas(5, 1, 4, Duration.ofSeconds(5),
+                Duration.ZERO, 100, new SimpleMeterRegistry())) {
+            String antigo = new BCryptPasswordEncoder(4).encode("senha123");
+            String atual = verificador.encode("senha123");
+
+            assertTrue(verificador.matches("senha123", antigo));
+            assertTrue(verificador.upgradeEncoding(antigo));
+            assertFalse(verificador.upgradeEncoding(atual));
+            assertTrue(verificador.upgradeEncoding(new BCryptPasswordEncoder(6).encode("senha123")));
+            assertFalse(verificador.upgradeEncoding("{noop}senha123"));
+        }
+    }
+
+    @Test
+    @DisplayName("Login repetido deve usar o cache; senha errada sempre passa pelo BCrypt")
+    void testMatches_CacheSoDeSucessos() {
+        AtomicInteger verificacoes = new AtomicInteger();
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+        PasswordEncoder contador = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return bcrypt.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                verificacoes.incrementAndGet();
+                return bcrypt.matches(rawPassword, encodedPassword);
+            }
+        };
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        try (VerificadorSenhas verificador = new VerificadorSenhas(contador, 4, 1, 4, Duration.ofSeconds(5),
+                Duration.ofMinutes(1), 100, registry)) {
+            String hash = verificador.encode("senha123");
+
+            for (int i = 0; i < 3; i++) {
+                assertTrue(verificador.matches("senha123", hash));
+                assertFalse(verificador.matches("errada", hash));
+            }
+            assertEquals(4, verificacoes.get());
+            // Outro hash (senha trocada) não reaproveita a verificação anterior
+            assertTrue(verificador.matches("senha123", verificador.encode("senha123")));
+            assertEquals(5, verificacoes.get());
+            assertEquals(2.0, registry.get("cache.gets").tag("cache", "credenciais").tag("result", "hit")
+                    .functionCounter().count());
+        }
+    }
+
+    @Test
+    @DisplayName("Pool e fila cheios devem recusar a verificação com 503")
+    void testMatches_FilaCheia() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch ocupado = new CountDownLatch(1);
+        PasswordEncoder lento = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                ocupado.countDown();
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ExecutorService requisicoes = Executors.newFixedThreadPool(2);
+        try (VerificadorSenhas verificador = new VerificadorSenhas(lento, 10, 1, 1, Duration.ofSeconds(5),
+                Duration.ZERO, 100, registry)) {
+            // Uma verificação em execução e outra na fila
+            requisicoes.submit(() -> verificador.matches("a", "a"));
+            assertTrue(ocupado.await(5, TimeUnit.SECONDS));
+            requisicoes.submit(() -> verificador.matches("b", "b"));
+            while (registry.get("executor.queued").tag("name", "verificacaoSenhas").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            ServiceUnavailableException erro = assertThrows(ServiceUnavailableException.class,
+                    () -> verificador.matches("c", "c"));
+            assertEquals(1, erro.getRetryAfterSegundos());
+            assertEquals(1.0, registry.get("senha.verificacao.rejeicoes").counter().count());
+        } finally {
+            liberar.countDown();
+            requisicoes.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.deliverytech.delivery_api.services;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Slice;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.deliverytech.delivery_api.config.CacheConfig;
+import com.deliverytech.delivery_api.config.CatalogoVersao;
+import com.deliverytech.delivery_api.dto.request.PaginacaoRequest;
+import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.service.ProdutoService;
+import com.deliverytech.delivery_api.service.impl.IndiceProdutos;
+import com.deliverytech.delivery_api.service.impl.ProdutoServiceImpl;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sem transação de teste: o cache só é atualizado depois do commit
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ ProdutoServiceImpl.class, IndiceProdutos.class, CacheConfig.class, CatalogoVersao.class })
+public class CatalogoCacheTest {
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        produtoRepository.deleteAll();
+        restauranteRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(nome -> cacheManager.getCache(nome).clear());
+
+        Restaurante restaurante = restauranteRepository.save(Restaurante.builder().nome("Pizzaria").ativo(true).build());
+        produto = produtoRepository.save(Produto.builder()
+                .nome("Pizza").preco(BigDecimal.TEN).disponivel(true).restaurante(restaurante).build());
+    }
+
+    @Test
+    @DisplayName("Leituras repetidas devem vir do cache e a escrita deve remover produto e cardápio")
+    void testCacheProduto_LeituraEEvicao() {
+        Long restauranteId = produto.getRestaurante().getId();
+
+        produtoService.buscarPorId(produto.getId());
+        produtoService.buscarPorId(produto.getId());
+        produtoService.buscarPorRestaurante(restauranteId);
+        produtoService.buscarPorRestaurante(restauranteId);
+
+        assertEquals(1, estatisticas(CacheConfig.PRODUTO).hitCount());
+        assertEquals(1, estatisticas(CacheConfig.CARDAPIO).hitCount());
+
+        produtoService.alterarDisponibilidade(produto.getId(), false);
+
+        assertNull(cacheManager.getCache(CacheConfig.PRODUTO).get(produto.getId()));
+        assertNull(cacheManager.getCache(CacheConfig.CARDAPIO).get(restauranteId));
+        assertFalse(produtoService.buscarPorId(produto.getId()).orElseThrow().getDisponivel());
+        assertFalse(produtoService.buscarPorRestaurante(restauranteId).get(0).getDisponivel());
+    }
+
+    @Test
+    @DisplayName("Produto inexistente não deve ser guardado no cache")
+    void testCacheProduto_NaoGuardaAusente() {
+        assertTrue(produtoService.buscarPorId(-1L).isEmpty());
+        assertNull(cacheManager.getCache(CacheConfig.PRODUTO).get(-1L));
+    }
+
+    @Test
+    @DisplayName("Índice de busca deve acompanhar cadastro, alteração e exclusão após o commit")
+    void testIndiceBusca_SincronizadoComEscritas() {
+        PaginacaoRequest paginacao = new PaginacaoRequest(null, null, 0);
+        Produto salmao = produtoService.cadastrar(Produto.builder()
+                .nome("Salmão grelhado").categoria("Peixes").preco(BigDecimal.TEN).restaurante(produto.getRestaurante()).build());
+
+        assertEquals(List.of(salmao.getId()), ids(produtoService.buscar("salmao", paginacao)));
+
+        produtoService.atualizar(salmao.getId(), Produto.builder().nome("Atum grelhado").build());
+        assertTrue(ids(produtoService.buscar("salmao", paginacao)).isEmpty());
+        assertEquals(List.of(salmao.getId()), ids(produtoService.buscar("atum", paginacao)));
+
+        produtoService.deletar(salmao.getId());
+        assertTrue(ids(produtoService.buscar("atum", paginacao)).isEmpty());
+    }
+
+    private static List<Long> ids(Slice<ProdutoResponse> pagina) {
+        return pagina.getContent().stream().map(ProdutoResponse::getId).toList();
+    }
+
+    private CacheStats estatisticas(String regiao) {
+        TransactionAwareCacheDecorator decorator = (TransactionAwareCacheDecorator) cacheManager.getCache(regiao);
+        return ((CaffeineCache) decorator.getTargetCache()).getNativeCache().stats();
+    }
+}
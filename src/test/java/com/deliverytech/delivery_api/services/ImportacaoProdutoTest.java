@@ -0,0 +1,104 @@
+package com.deliverytech.delivery_api.services;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.deliverytech.delivery_api.config.CacheConfig;
+import com.deliverytech.delivery_api.config.CatalogoVersao;
+import com.deliverytech.delivery_api.dto.request.ProdutoRequest;
+import com.deliverytech.delivery_api.dto.response.ImportacaoProdutosResponse;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.service.ImportacaoProdutoService;
+import com.deliverytech.delivery_api.service.impl.ImportacaoProdutoServiceImpl;
+import com.deliverytech.delivery_api.service.impl.IndiceProdutos;
+import com.deliverytech.delivery_api.service.impl.ProdutoServiceImpl;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({ ImportacaoProdutoServiceImpl.class, ProdutoServiceImpl.class, IndiceProdutos.class, CacheConfig.class, CatalogoVersao.class })
+public class ImportacaoProdutoTest {
+
+    private static final int NOVOS = 120;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ImportacaoProdutoService importacaoProdutoService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    private Restaurante restaurante;
+
+    @BeforeEach
+    void setUp() {
+        restaurante = em.persist(Restaurante.builder().nome("Pizzaria").ativo(true).build());
+        em.persist(Produto.builder().nome("Pizza Margherita").categoria("Pizza").preco(BigDecimal.TEN).restaurante(restaurante).build());
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    @DisplayName("Importação deve inserir, atualizar pelo nome e reportar erros por linha")
+    void testImportar_UpsertComErrosPorLinha() {
+        List<ProdutoRequest> linhas = new ArrayList<>();
+        linhas.add(new ProdutoRequest(" pizza margherita ", "Pizza", "Nova receita", new BigDecimal("42.00"), null));
+        linhas.add(new ProdutoRequest("Calzone", "Pizza", null, new BigDecimal("38.50"), null));
+        linhas.add(new ProdutoRequest("Sem preço", "Pizza", null, null, null));
+        linhas.add(new ProdutoRequest("Calzone", "Pizza", null, new BigDecimal("39.00"), null));
+        linhas.add(new ProdutoRequest("Outro restaurante", "Pizza", null, BigDecimal.ONE, restaurante.getId() + 1));
+
+        ImportacaoProdutosResponse relatorio = importacaoProdutoService.importar(restaurante.getId(), linhas);
+        em.flush();
+        em.clear();
+
+        assertEquals(5, relatorio.getRecebidos());
+        assertEquals(1, relatorio.getInseridos());
+        assertEquals(1, relatorio.getAtualizados());
+        assertEquals(List.of(3, 4, 5), relatorio.getErros().stream().map(ImportacaoProdutosResponse.ErroLinha::getLinha).toList());
+        assertTrue(relatorio.getErros().get(1).getMensagens().get(0).contains("repetido"));
+
+        List<Produto> cardapio = produtoRepository.findByRestauranteId(restaurante.getId());
+        assertEquals(2, cardapio.size());
+        Produto margherita = cardapio.stream().filter(p -> p.getNome().equals("Pizza Margherita")).findFirst().orElseThrow();
+        assertEquals(0, new BigDecimal("42.00").compareTo(margherita.getPreco()));
+        assertEquals("Nova receita", margherita.getDescricao());
+    }
+
+    @Test
+    @DisplayName("Produtos novos devem ser gravados em batch, não um INSERT por linha")
+    void testImportar_InsertsEmBatch() {
+        List<ProdutoRequest> linhas = new ArrayList<>();
+        for (int i = 0; i < NOVOS; i++) {
+            linhas.add(new ProdutoRequest("Produto " + i, "Lanches", null, BigDecimal.TEN, null));
+        }
+        Statistics estatisticas = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        ImportacaoProdutosResponse relatorio = importacaoProdutoService.importar(restaurante.getId(), linhas);
+        em.flush();
+
+        assertEquals(NOVOS, relatorio.getInseridos());
+        assertTrue(estatisticas.getPrepareStatementCount() < 15,
+                "instruções preparadas: " + estatisticas.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,77 @@
+package com.deliverytech.delivery_api.services;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import com.deliverytech.delivery_api.model.Coordenada;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.service.impl.IndiceGeografico;
+import com.deliverytech.delivery_api.service.impl.TabelaCep;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndiceGeograficoTest {
+
+    private static final Coordenada PAULISTA = new Coordenada(-23.5614, -46.6559);
+
+    private IndiceGeografico indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceGeografico(null);
+        indice.reconstruir(List.of(
+                restaurante(1L, -23.5587, -46.6347, true),   // Liberdade, ~2 km
+                restaurante(2L, -23.5868, -46.6812, true),   // Itaim Bibi, ~4 km
+                restaurante(3L, -23.5432, -46.5770, true),   // Tatuapé, ~8 km
+                restaurante(4L, -22.9068, -43.1729, true),   // Rio de Janeiro
+                restaurante(5L, -23.5620, -46.6560, false))); // inativo, ao lado
+    }
+
+    @Test
+    @DisplayName("Mais próximos devem vir em ordem de distância, respeitando raio e limite")
+    void testProximos_OrdemRaioELimite() {
+        assertEquals(List.of(1L, 2L, 3L), ids(indice.proximos(PAULISTA, 15, 10)));
+        assertEquals(List.of(1L, 2L), ids(indice.proximos(PAULISTA, 5, 10)));
+        assertEquals(List.of(1L), ids(indice.proximos(PAULISTA, 15, 1)));
+        assertEquals(List.of(1L, 2L, 3L, 4L), ids(indice.proximos(PAULISTA, 500, 10)));
+    }
+
+    @Test
+    @DisplayName("Restaurante inativado ou movido deve sair da posição antiga")
+    void testAtualizar() {
+        indice.atualizar(restaurante(1L, -23.5587, -46.6347, false));
+        indice.atualizar(restaurante(3L, -23.5615, -46.6560, true));
+
+        assertEquals(List.of(3L, 2L), ids(indice.proximos(PAULISTA, 15, 10)));
+        assertTrue(indice.localizar(1L).isEmpty());
+        assertEquals(3, indice.tamanho());
+    }
+
+    @Test
+    @DisplayName("CEP deve ser localizado pelo prefixo mais longo da tabela")
+    void testTabelaCep_PrefixoMaisLongo() throws IOException {
+        TabelaCep tabela = new TabelaCep(new ClassPathResource("cep-coordenadas.csv"));
+
+        Coordenada paulista = tabela.localizar("01310-100").orElseThrow();
+        assertTrue(paulista.distanciaKm(PAULISTA) < 3, "distância: " + paulista.distanciaKm(PAULISTA));
+        // Sem prefixo de 3 dígitos: cai no de 2 (Rio de Janeiro)
+        assertTrue(tabela.localizar("20040-002").orElseThrow().distanciaKm(new Coordenada(-22.9068, -43.1729)) < 1);
+        assertTrue(tabela.localizar("99999-999").isEmpty());
+        assertTrue(tabela.localizar("0131").isEmpty());
+    }
+
+    private static Restaurante restaurante(Long id, double latitude, double longitude, boolean ativo) {
+        return Restaurante.builder().id(id).nome("Restaurante " + id).taxaEntrega(BigDecimal.TEN)
+                .ativo(ativo).latitude(latitude).longitude(longitude).build();
+    }
+
+    private static List<Long> ids(List<IndiceGeografico.Proximo> proximos) {
+        return proximos.stream().map(p -> p.restaurante().getId()).toList();
+    }
+}
@@ -0,0 +1,112 @@
+package com.deliverytech.delivery_api.services;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.deliverytech.delivery_api.dto.response.ItemPedidoResponse;
+import com.deliverytech.delivery_api.dto.response.PedidoResponse;
+import com.deliverytech.delivery_api.model.ItemPedido;
+import com.deliverytech.delivery_api.model.Pedido;
+import com.deliverytech.delivery_api.model.Produto;
+import com.deliverytech.delivery_api.model.Restaurante;
+import com.deliverytech.delivery_api.model.StatusPedido;
+import com.deliverytech.delivery_api.service.impl.IndicePedidosAbertos;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndicePedidosAbertosTest {
+
+    private static final Long PIZZARIA = 1L;
+    private static final Long SUSHI = 2L;
+
+    private IndicePedidosAbertos indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndicePedidosAbertos(null);
+        indice.reconstruir(List.of(
+                aberto(12L, PIZZARIA, StatusPedido.PREPARANDO),
+                aberto(10L, PIZZARIA, StatusPedido.CONFIRMADO),
+                aberto(11L, PIZZARIA, StatusPedido.CONFIRMADO),
+                aberto(20L, SUSHI, StatusPedido.SAIU_PARA_ENTREGA)));
+    }
+
+    @Test
+    @DisplayName("Fila deve vir por status e ordem de chegada, só do restaurante pedido")
+    void testFila_PorStatusEOrdem() {
+        assertEquals(List.of(10L, 11L, 12L), ids(indice.fila(PIZZARIA, null)));
+        assertEquals(List.of(10L, 11L), ids(indice.fila(PIZZARIA, StatusPedido.CONFIRMADO)));
+        assertTrue(indice.fila(SUSHI, StatusPedido.CONFIRMADO).isEmpty());
+        assertTrue(indice.fila(99L, null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Transições devem mover, incluir e retirar pedidos da fila")
+    void testAtualizar_MoveIncluiERetira() {
+        // Entre status abertos a entrada é reaproveitada, sem ler os itens de novo
+        indice.atualizar(pedido(10L, PIZZARIA, StatusPedido.PREPARANDO, null));
+        assertEquals(List.of(11L, 10L, 12L), ids(indice.fila(PIZZARIA, null)));
+        assertEquals("Pizza", indice.fila(PIZZARIA, StatusPedido.PREPARANDO).get(0).getItens().get(0).getNomeProduto());
+
+        indice.atualizar(pedido(13L, PIZZARIA, StatusPedido.CONFIRMADO, "Calzone"));
+        assertEquals(List.of(11L, 13L), ids(indice.fila(PIZZARIA, StatusPedido.CONFIRMADO)));
+        assertEquals("Calzone", indice.fila(PIZZARIA, StatusPedido.CONFIRMADO).get(1).getItens().get(0).getNomeProduto());
+
+        indice.atualizar(pedido(20L, SUSHI, StatusPedido.ENTREGUE, null));
+        indice.atualizar(pedido(11L, PIZZARIA, StatusPedido.CANCELADO, null));
+        assertTrue(indice.fila(SUSHI, null).isEmpty());
+        assertEquals(List.of(13L, 10L, 12L), ids(indice.fila(PIZZARIA, null)));
+        assertEquals(3, indice.tamanho());
+    }
+
+    @Test
+    @DisplayName("Atualizações fora de ordem devem ser descartadas pela versão do pedido")
+    void testAtualizar_ForaDeOrdem() {
+        // Cancelamento (v3) chega antes da transição anterior (v2)
+        indice.atualizar(pedido(10L, PIZZARIA, StatusPedido.CANCELADO, null, 3L));
+        indice.atualizar(pedido(10L, PIZZARIA, StatusPedido.PREPARANDO, null, 2L));
+        assertFalse(ids(indice.fila(PIZZARIA, null)).contains(10L));
+
+        indice.atualizar(pedido(11L, PIZZARIA, StatusPedido.SAIU_PARA_ENTREGA, null, 3L));
+        indice.atualizar(pedido(11L, PIZZARIA, StatusPedido.PREPARANDO, null, 2L));
+        assertEquals(List.of(11L), ids(indice.fila(PIZZARIA, StatusPedido.SAIU_PARA_ENTREGA)));
+
+        indice.atualizar(pedido(14L, PIZZARIA, StatusPedido.PREPARANDO, "Calzone", 2L));
+        indice.atualizar(pedido(14L, PIZZARIA, StatusPedido.CONFIRMADO, "Calzone", 1L));
+        assertEquals(List.of(12L, 14L), ids(indice.fila(PIZZARIA, StatusPedido.PREPARANDO)));
+        assertTrue(indice.fila(PIZZARIA, StatusPedido.CONFIRMADO).isEmpty());
+
+        indice.remover(20L);
+        indice.atualizar(pedido(20L, SUSHI, StatusPedido.SAIU_PARA_ENTREGA, null, 9L));
+        assertTrue(indice.fila(SUSHI, null).isEmpty());
+    }
+
+    private static PedidoResponse aberto(Long id, Long restauranteId, StatusPedido status) {
+        return new PedidoResponse(id, 5L, restauranteId, null, BigDecimal.TEN, status, LocalDateTime.now(),
+                new ArrayList<>(List.of(new ItemPedidoResponse(3L, "Pizza", 1, BigDecimal.TEN))));
+    }
+
+    private static Pedido pedido(Long id, Long restauranteId, StatusPedido status, String produto) {
+        return pedido(id, restauranteId, status, produto, null);
+    }
+
+    private static Pedido pedido(Long id, Long restauranteId, StatusPedido status, String produto, Long versao) {
+        Pedido pedido = Pedido.builder().id(id).versao(versao).restaurante(Restaurante.builder().id(restauranteId).build())
+                .status(status).valorTotal(BigDecimal.TEN).dataPedido(LocalDateTime.now()).itens(new ArrayList<>()).build();
+        if (produto != null) {
+            pedido.getItens().add(ItemPedido.builder().pedido(pedido).quantidade(2).precoUnitario(BigDecimal.ONE)
+                    .produto(Produto.builder().id(4L).nome(produto).build()).build());
+        }
+        return pedido;
+    }
+
+    private static List<Long> ids(List<PedidoResponse> pedidos) {
+        return pedidos.stream().map(PedidoResponse::getId).toList();
+    }
+}
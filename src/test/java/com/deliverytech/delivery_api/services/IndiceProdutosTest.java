@@ -0,0 +1,74 @@
+package com.deliverytech.delivery_api.services;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.deliverytech.delivery_api.dto.response.ProdutoResponse;
+import com.deliverytech.delivery_api.service.impl.IndiceProdutos;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndiceProdutosTest {
+
+    private IndiceProdutos indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceProdutos(null);
+        indice.reconstruir(List.of(
+                produto(1L, "Pizza Margherita", "Pizza", "Molho de tomate e manjericão"),
+                produto(2L, "Salmão grelhado", "Peixes", "Acompanha arroz"),
+                produto(3L, "Temaki", "Japonesa", "Salmão e cream cheese"),
+                produto(4L, "Pizza Calabresa", "Pizza", "Calabresa e cebola")));
+    }
+
+    @Test
+    @DisplayName("Busca deve ignorar acentos e caixa")
+    void testBuscar_SemAcentos() {
+        assertEquals(List.of(2L, 3L), ids(indice.buscar("SALMAO", 0, 10)));
+        assertEquals(List.of(1L), ids(indice.buscar("manjericao", 0, 10)));
+    }
+
+    @Test
+    @DisplayName("Nome deve pesar mais que descrição e exato mais que prefixo e trecho")
+    void testBuscar_Relevancia() {
+        // "salmão" no nome do 2 e só na descrição do 3
+        assertEquals(2L, indice.buscar("salmão", 0, 10).get(0).getId());
+        assertEquals(List.of(1L, 4L), ids(indice.buscar("piz", 0, 10)));
+        assertEquals(List.of(1L), ids(indice.buscar("herita", 0, 10)));
+        // Calabresa: exato no nome e na descrição do 4
+        assertEquals(List.of(4L), ids(indice.buscar("pizza calab", 0, 10)));
+    }
+
+    @Test
+    @DisplayName("Todos os termos devem casar e a janela deve respeitar início e quantidade")
+    void testBuscar_TodosOsTermosEJanela() {
+        assertTrue(indice.buscar("pizza salmao", 0, 10).isEmpty());
+        assertEquals(List.of(4L), ids(indice.buscar("pizza", 1, 10)));
+        assertEquals(List.of(1L), ids(indice.buscar("pizza", 0, 1)));
+        assertTrue(indice.buscar("  ", 0, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Produto removido não deve aparecer nem deixar termos órfãos")
+    void testRemover() {
+        indice.remover(3L);
+
+        assertEquals(3, indice.tamanho());
+        assertTrue(indice.buscar("temaki", 0, 10).isEmpty());
+        assertTrue(indice.buscar("tem", 0, 10).isEmpty());
+        assertEquals(List.of(2L), ids(indice.buscar("salmao", 0, 10)));
+    }
+
+    private static ProdutoResponse produto(Long id, String nome, String categoria, String descricao) {
+        return new ProdutoResponse(id, nome, categoria, descricao, BigDecimal.TEN, true);
+    }
+
+    private static List<Long> ids(List<ProdutoResponse> produtos) {
+        return produtos.stream().map(ProdutoResponse::getId).toList();
+    }
+}
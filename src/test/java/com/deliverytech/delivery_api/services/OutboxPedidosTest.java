@@ -0,0 +1,160 @@
+package com.deliverytech.delivery_api.services;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import com.deliverytech.delivery_api.model.*;
+import com.deliverytech.delivery_api.repository.EventoPedidoRepository;
+import com.deliverytech.delivery_api.repository.VendaDiariaRepository;
+import com.deliverytech.delivery_api.service.AssinanteEventoPedido;
+import com.deliverytech.delivery_api.service.PedidoService;
+import com.deliverytech.delivery_api.service.impl.DespachanteEventosPedido;
+import com.deliverytech.delivery_api.service.impl.NotificacaoPedidos;
+import com.deliverytech.delivery_api.service.impl.PagamentoServiceImpl;
+import com.deliverytech.delivery_api.service.impl.RollupVendasPedidos;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = { "outbox.max-tentativas=2", "outbox.backoff-inicial=0ms" })
+@Import({ ServicosPedidoTestConfig.class, DespachanteEventosPedido.class, PagamentoServiceImpl.class, NotificacaoPedidos.class,
+        RollupVendasPedidos.class, OutboxPedidosTest.AssinanteInstavel.class })
+public class OutboxPedidosTest {
+
+    @TestConfiguration
+    static class AssinanteInstavel {
+        @Bean
+        AssinanteEventoPedido instavel() {
+            return new AssinanteEventoPedido() {
+                @Override
+                public String nome() {
+                    return "instavel";
+                }
+
+                @Override
+                public boolean interessado(StatusPedido status) {
+                    return true;
+                }
+
+                @Override
+                public void receber(EventoPedido evento) {
+                    throw new IllegalStateException("serviço fora do ar");
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private DespachanteEventosPedido despachante;
+
+    @Autowired
+    private EventoPedidoRepository eventoPedidoRepository;
+
+    @Autowired
+    private VendaDiariaRepository vendaDiariaRepository;
+
+    private Long pedidoId;
+
+    @BeforeEach
+    void setUp() {
+        Cliente cliente = em.persist(Cliente.builder().nome("João").email("joao@email.com").build());
+        Restaurante restaurante = em.persist(Restaurante.builder().nome("Pizzaria").ativo(true).build());
+        Produto produto = em.persist(Produto.builder().nome("Pizza").preco(BigDecimal.TEN).restaurante(restaurante).build());
+
+        Pedido pedido = Pedido.builder()
+                .cliente(cliente)
+                .restaurante(restaurante)
+                .status(StatusPedido.CONFIRMADO)
+                .dataPedido(LocalDateTime.now())
+                .valorTotal(BigDecimal.TEN)
+                .itens(new ArrayList<>())
+                .build();
+        pedido.getItens().add(ItemPedido.builder()
+                .pedido(pedido)
+                .produto(produto)
+                .quantidade(1)
+                .precoUnitario(BigDecimal.TEN)
+                .subtotal(BigDecimal.TEN)
+                .build());
+        pedidoId = em.persist(pedido).getId();
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    @DisplayName("Evento deve ser gravado com a transição e o rollup só deve acontecer no despacho")
+    void testCancelar_EventoNoOutboxEntregueDepois() {
+        pedidoService.cancelar(pedidoId);
+        limpar();
+
+        // Pagamento só assina CONFIRMADO
+        assertEquals(List.of("notificacao", "rollup-vendas", "instavel").stream().sorted().toList(),
+                eventos().stream().map(EventoPedido::getAssinante).sorted().toList());
+        assertFalse(vendaDiariaRepository.possuiVendas());
+
+        assertEquals(2, despachante.despacharLote());
+        limpar();
+
+        assertTrue(vendaDiariaRepository.possuiVendas());
+        EventoPedido instavel = evento("instavel", StatusPedido.CANCELADO);
+        assertEquals(EventoPedido.Situacao.PENDENTE, instavel.getSituacao());
+        assertEquals(1, instavel.getTentativas());
+        assertTrue(instavel.getUltimoErro().contains("serviço fora do ar"));
+    }
+
+    @Test
+    @DisplayName("Falha deve ser reagendada até o limite sem entregar fora de ordem")
+    void testFalha_ReagendaEDesisteEmOrdem() {
+        pedidoService.atualizarStatus(pedidoId, StatusPedido.PREPARANDO);
+        pedidoService.cancelar(pedidoId);
+        limpar();
+
+        despachante.despacharLote();
+        limpar();
+        assertEquals(1, evento("instavel", StatusPedido.PREPARANDO).getTentativas());
+        // CANCELADO espera o PREPARANDO do mesmo assinante
+        assertEquals(0, evento("instavel", StatusPedido.CANCELADO).getTentativas());
+
+        despachante.despacharLote();
+        limpar();
+        EventoPedido preparando = evento("instavel", StatusPedido.PREPARANDO);
+        assertEquals(EventoPedido.Situacao.FALHOU, preparando.getSituacao());
+        assertEquals(2, preparando.getTentativas());
+
+        despachante.despacharLote();
+        limpar();
+        assertEquals(1, evento("instavel", StatusPedido.CANCELADO).getTentativas());
+    }
+
+    private List<EventoPedido> eventos() {
+        return eventoPedidoRepository.findByPedidoIdOrderById(pedidoId);
+    }
+
+    private EventoPedido evento(String assinante, StatusPedido status) {
+        return eventos().stream()
+                .filter(e -> e.getAssinante().equals(assinante) && e.getStatus() == status)
+                .findFirst().orElseThrow();
+    }
+
+    private void limpar() {
+        em.flush();
+        em.clear();
+    }
+}
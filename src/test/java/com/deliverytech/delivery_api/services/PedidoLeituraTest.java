@@ -0,0 +1,171 @@
+package com.deliverytech.delivery_api.services;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Slice;
+
+import com.deliverytech.delivery_api.dto.request.ItemPedidoRequest;
+import com.deliverytech.delivery_api.dto.request.PaginacaoRequest;
+import com.deliverytech.delivery_api.dto.response.CotacaoResponse;
+import com.deliverytech.delivery_api.dto.response.PedidoExportacao;
+import com.deliverytech.delivery_api.dto.response.PedidoResponse;
+import com.deliverytech.delivery_api.model.*;
+import com.deliverytech.delivery_api.service.PedidoService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(ServicosPedidoTestConfig.class)
+public class PedidoLeituraTest {
+
+    private static final int PEDIDOS = 30;
+    private static final int ITENS_POR_PEDIDO = 3;
+    private static final int ITENS_COTACAO = 12;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Cliente cliente;
+    private Restaurante restaurante;
+    private List<Long> cardapio;
+
+    @BeforeEach
+    void setUp() {
+        cliente = em.persist(Cliente.builder().nome("João").email("joao@email.com").build());
+        restaurante = em.persist(Restaurante.builder().nome("Pizzaria").ativo(true).taxaEntrega(new BigDecimal("5.00")).build());
+        Produto produto = em.persist(Produto.builder().nome("Pizza").preco(BigDecimal.TEN).restaurante(restaurante).build());
+        cardapio = new ArrayList<>();
+        for (int i = 0; i < ITENS_COTACAO; i++) {
+            cardapio.add(em.persist(Produto.builder().nome("Esfiha " + i).preco(BigDecimal.ONE).restaurante(restaurante).build()).getId());
+        }
+
+        for (int i = 0; i < PEDIDOS; i++) {
+            Pedido pedido = Pedido.builder()
+                    .cliente(cliente)
+                    .restaurante(restaurante)
+                    .status(StatusPedido.CRIADO)
+                    .dataPedido(LocalDateTime.now())
+                    .itens(new ArrayList<>())
+                    .build();
+            for (int j = 0; j < ITENS_POR_PEDIDO; j++) {
+                pedido.getItens().add(ItemPedido.builder()
+                        .pedido(pedido)
+                        .produto(produto)
+                        .quantidade(1)
+                        .precoUnitario(BigDecimal.TEN)
+                        .subtotal(BigDecimal.TEN)
+                        .build());
+            }
+            em.persist(pedido);
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    @DisplayName("Listagem de pedidos deve executar duas consultas por página, independente do tamanho")
+    void testListarPagina_QuantidadeConstanteDeConsultas() {
+        Statistics estatisticas = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        for (int limite : new int[] { 5, 20 }) {
+            em.clear();
+            estatisticas.clear();
+
+            Slice<PedidoResponse> pagina = pedidoService.listarPagina(null, null, null, cliente.getId(), null,
+                    new PaginacaoRequest(null, limite, null));
+
+            assertEquals(limite, pagina.getNumberOfElements());
+            assertTrue(pagina.stream().allMatch(p -> p.getItens().size() == ITENS_POR_PEDIDO));
+            assertEquals("Pizza", pagina.getContent().get(0).getItens().get(0).getNomeProduto());
+            assertEquals(2, estatisticas.getPrepareStatementCount(),
+                    "consultas executadas para limite " + limite);
+        }
+    }
+
+    @Test
+    @DisplayName("Cotação deve custar o mesmo número de consultas com 1 ou muitos itens")
+    void testCotar_QuantidadeConstanteDeConsultas() {
+        Statistics estatisticas = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+
+        long consultasComUmItem = -1;
+        for (int quantidade : new int[] { 1, ITENS_COTACAO }) {
+            em.clear();
+            cacheManager.getCacheNames().forEach(nome -> cacheManager.getCache(nome).clear());
+            estatisticas.clear();
+
+            List<ItemPedidoRequest> itens = cardapio.subList(0, quantidade).stream()
+                    .map(id -> new ItemPedidoRequest(id, 2))
+                    .toList();
+            CotacaoResponse cotacao = pedidoService.cotar(restaurante.getId(), null, itens);
+
+            assertEquals(0, BigDecimal.valueOf(2L * quantidade).compareTo(cotacao.getSubtotal()));
+            assertEquals(0, cotacao.getSubtotal().add(new BigDecimal("5.00")).compareTo(cotacao.getValorTotal()));
+            assertEquals(quantidade, cotacao.getItens().size());
+            if (consultasComUmItem < 0) {
+                consultasComUmItem = estatisticas.getPrepareStatementCount();
+            }
+            assertEquals(consultasComUmItem, estatisticas.getPrepareStatementCount(),
+                    "consultas executadas para " + quantidade + " itens");
+        }
+        assertTrue(consultasComUmItem <= 2, "consultas: " + consultasComUmItem);
+    }
+
+    @Test
+    @DisplayName("Cotação e criação do pedido devem recusar produto de outro restaurante, sem restaurante ou indisponível")
+    void testCotar_ValidaRestauranteEDisponibilidade() {
+        Restaurante outro = em.persist(Restaurante.builder().nome("Sushi").ativo(true).build());
+        Long deOutro = em.persist(Produto.builder().nome("Temaki").preco(BigDecimal.TEN).restaurante(outro).build()).getId();
+        Long semRestaurante = em.persist(Produto.builder().nome("Refrigerante").preco(BigDecimal.ONE).build()).getId();
+        Long indisponivel = em.persist(Produto.builder().nome("Calzone").preco(BigDecimal.TEN).disponivel(false)
+                .restaurante(restaurante).build()).getId();
+        em.flush();
+
+        for (Long recusado : List.of(deOutro, semRestaurante, indisponivel)) {
+            List<ItemPedidoRequest> carrinho = List.of(new ItemPedidoRequest(cardapio.get(0), 1), new ItemPedidoRequest(recusado, 1));
+            assertThrows(IllegalArgumentException.class, () -> pedidoService.cotar(restaurante.getId(), null, carrinho));
+            assertThrows(IllegalArgumentException.class, () -> pedidoService.criarComItens(
+                    Pedido.builder().cliente(cliente).restaurante(restaurante).build(), carrinho));
+        }
+        assertEquals(0, new BigDecimal("2").compareTo(pedidoService.calcularTotalPedido(
+                List.of(new ItemPedidoRequest(cardapio.get(0), 1), new ItemPedidoRequest(cardapio.get(1), 1)))));
+    }
+
+    @Test
+    @DisplayName("Exportação deve entregar uma linha por pedido do período, sem entidades gerenciadas")
+    void testExportarPorPeriodo() {
+        em.clear();
+        List<PedidoExportacao> linhas = new ArrayList<>();
+
+        long exportados = pedidoService.exportarPorPeriodo(LocalDate.now(), LocalDate.now(), linhas::add);
+
+        assertEquals(PEDIDOS, exportados);
+        assertEquals(PEDIDOS, linhas.size());
+        assertEquals("João", linhas.get(0).getClienteNome());
+        assertTrue(linhas.get(0).getId() < linhas.get(1).getId());
+        assertEquals(0, em.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+        assertEquals(0, pedidoService.exportarPorPeriodo(LocalDate.now().minusDays(2), LocalDate.now().minusDays(1), linhas::add));
+    }
+}
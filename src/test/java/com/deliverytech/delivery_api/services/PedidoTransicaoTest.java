@@ -0,0 +1,182 @@
+package com.deliverytech.delivery_api.services;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.deliverytech.delivery_api.exception.ConflictException;
+import com.deliverytech.delivery_api.model.*;
+import com.deliverytech.delivery_api.repository.ClienteRepository;
+import com.deliverytech.delivery_api.repository.EventoPedidoRepository;
+import com.deliverytech.delivery_api.repository.PedidoRepository;
+import com.deliverytech.delivery_api.repository.ProdutoRepository;
+import com.deliverytech.delivery_api.repository.RestauranteRepository;
+import com.deliverytech.delivery_api.service.PedidoService;
+import com.deliverytech.delivery_api.service.impl.NotificacaoPedidos;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({ ServicosPedidoTestConfig.class, NotificacaoPedidos.class })
+public class PedidoTransicaoTest {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private EventoPedidoRepository eventoPedidoRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private RestauranteRepository restauranteRepository;
+
+    @Autowired
+    private ClienteRepository clienteRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long pedidoId;
+
+    @BeforeEach
+    void setUp() {
+        Cliente cliente = em.persist(Cliente.builder().nome("João").email("joao@email.com").build());
+        Restaurante restaurante = em.persist(Restaurante.builder().nome("Pizzaria").ativo(true).build());
+        Produto produto = em.persist(Produto.builder().nome("Pizza").preco(BigDecimal.TEN).restaurante(restaurante).build());
+
+        Pedido pedido = Pedido.builder()
+                .cliente(cliente)
+                .restaurante(restaurante)
+                .status(StatusPedido.CONFIRMADO)
+                .dataPedido(LocalDateTime.now())
+                .valorTotal(BigDecimal.TEN)
+                .itens(new ArrayList<>())
+                .build();
+        pedido.getItens().add(ItemPedido.builder()
+                .pedido(pedido)
+                .produto(produto)
+                .quantidade(1)
+                .precoUnitario(BigDecimal.TEN)
+                .subtotal(BigDecimal.TEN)
+                .build());
+        pedidoId = em.persist(pedido).getId();
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    @DisplayName("Tabela de transições deve valer em ambos os sentidos")
+    void testMaquinaEstados() {
+        assertTrue(MaquinaEstadosPedido.permite(StatusPedido.CRIADO, StatusPedido.CONFIRMADO));
+        assertFalse(MaquinaEstadosPedido.permite(StatusPedido.ENTREGUE, StatusPedido.CANCELADO));
+        assertEquals(Set.of(StatusPedido.SAIU_PARA_ENTREGA),
+                MaquinaEstadosPedido.origensPara(StatusPedido.ENTREGUE));
+        assertThrows(IllegalArgumentException.class, () -> MaquinaEstadosPedido.origensPara(StatusPedido.CRIADO));
+    }
+
+    @Test
+    @DisplayName("Transição deve custar o UPDATE, a consulta da resposta e o INSERT do evento, sem leitura prévia")
+    void testTransicao_UmaInstrucao() {
+        Statistics estatisticas = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        // Primeira transição do contexto reserva o bloco da sequência do outbox
+        pedidoService.atualizarStatus(pedidoId, StatusPedido.PREPARANDO);
+        em.flush();
+        em.clear();
+        estatisticas.clear();
+
+        Pedido pedido = pedidoService.atualizarStatus(pedidoId, StatusPedido.SAIU_PARA_ENTREGA);
+        em.flush();
+
+        assertEquals(StatusPedido.SAIU_PARA_ENTREGA, pedido.getStatus());
+        assertEquals(1, pedido.getItens().size());
+        assertEquals("João", pedido.getCliente().getNome());
+        assertEquals(3, estatisticas.getPrepareStatementCount());
+        assertEquals(1, estatisticas.getEntityInsertCount());
+    }
+
+    @Test
+    @DisplayName("Transições concorrentes: só uma deve ser aplicada e a outra recusada com conflito")
+    void testTransicaoConcorrente_Conflito() throws Exception {
+        pedidoService.atualizarStatus(pedidoId, StatusPedido.PREPARANDO);
+        pedidoService.atualizarStatus(pedidoId, StatusPedido.SAIU_PARA_ENTREGA);
+        // O pedido precisa estar visível para as transações das duas threads
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch largada = new CountDownLatch(1);
+            // Cliente cancela enquanto o entregador marca ENTREGUE: os dois destinos são finais
+            Future<Pedido> cancelamento = executor.submit(() -> {
+                largada.await();
+                return pedidoService.cancelar(pedidoId);
+            });
+            Future<Pedido> entrega = executor.submit(() -> {
+                largada.await();
+                return pedidoService.atualizarStatus(pedidoId, StatusPedido.ENTREGUE);
+            });
+            largada.countDown();
+
+            List<StatusPedido> aplicados = new ArrayList<>();
+            List<ConflictException> conflitos = new ArrayList<>();
+            for (Future<Pedido> transicao : List.of(cancelamento, entrega)) {
+                try {
+                    aplicados.add(transicao.get(10, TimeUnit.SECONDS).getStatus());
+                } catch (ExecutionException e) {
+                    conflitos.add(assertInstanceOf(ConflictException.class, e.getCause()));
+                }
+            }
+
+            assertEquals(1, aplicados.size());
+            assertEquals(1, conflitos.size());
+            assertTrue(conflitos.get(0).getMessage().contains(aplicados.get(0).name()));
+            assertEquals(aplicados.get(0), pedidoRepository.buscarStatus(pedidoId).orElseThrow());
+        } finally {
+            executor.shutdownNow();
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                eventoPedidoRepository.deleteAll();
+                pedidoRepository.deleteAll();
+                produtoRepository.deleteAll();
+                restauranteRepository.deleteAll();
+                clienteRepository.deleteAll();
+            });
+        }
+    }
+
+    @Test
+    @DisplayName("Transição de pedido inexistente deve indicar não encontrado")
+    void testTransicao_PedidoInexistente() {
+        RuntimeException erro = assertThrows(RuntimeException.class,
+                () -> pedidoService.atualizarStatus(999L, StatusPedido.PREPARANDO));
+        assertEquals("Pedido não encontrado", erro.getMessage());
+    }
+}
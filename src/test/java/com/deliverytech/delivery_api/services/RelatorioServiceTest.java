@@ -0,0 +1,208 @@
+package com.deliverytech.delivery_api.services;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.deliverytech.delivery_api.model.*;
+import com.deliverytech.delivery_api.repository.CargaHistoricoRepository;
+import com.deliverytech.delivery_api.repository.VendaDiariaRepository;
+import com.deliverytech.delivery_api.service.RelatorioService;
+import com.deliverytech.delivery_api.service.impl.RelatorioServiceImpl;
+import com.deliverytech.delivery_api.service.impl.RollupVendasPedidos;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+// Sem a carga na subida: os testes chamam carregarHistorico com os pedidos já gravados
+@DataJpaTest(properties = "rollup.carga-historico=false")
+@Import({RelatorioServiceImpl.class, RollupVendasPedidos.class})
+public class RelatorioServiceTest {
+
+    private static final LocalDate DIA = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private RelatorioService relatorioService;
+
+    @Autowired
+    private RollupVendasPedidos rollupVendasPedidos;
+
+    @Autowired
+    private CargaHistoricoRepository cargaHistoricoRepository;
+
+    private Restaurante restaurante;
+    private Cliente cliente;
+    private Produto pizza;
+    private Produto refri;
+
+    @BeforeEach
+    void setUp() {
+        restaurante = em.persist(Restaurante.builder().nome("Pizzaria").categoria("Italiana").build());
+        cliente = em.persist(Cliente.builder().nome("João").email("joao@email.com").build());
+        pizza = em.persist(Produto.builder().nome("Pizza").preco(new BigDecimal("40.00")).restaurante(restaurante).build());
+        refri = em.persist(Produto.builder().nome("Refri").preco(new BigDecimal("5.00")).restaurante(restaurante).build());
+    }
+
+    @Test
+    @DisplayName("Pedidos entregues e cancelados devem alimentar os relatórios pelo rollup diário")
+    void testRollupDiario_DeveAgregarPorRestauranteProdutoECliente() {
+        relatorioService.registrarPedidoFinalizado(pedido(StatusPedido.ENTREGUE, DIA, pizza, 2, refri, 1));
+        relatorioService.registrarPedidoFinalizado(pedido(StatusPedido.ENTREGUE, DIA, pizza, 1, null, 0));
+        relatorioService.registrarPedidoFinalizado(pedido(StatusPedido.CANCELADO, DIA, refri, 3, null, 0));
+        relatorioService.registrarPedidoFinalizado(pedido(StatusPedido.ENTREGUE, DIA.plusMonths(1), refri, 4, null, 0));
+        em.clear();
+
+        List<Map<String, Object>> restaurantes = relatorioService.relatorioVendasPorRestaurante(DIA, DIA);
+        assertEquals(1, restaurantes.size());
+        assertEquals("Pizzaria", restaurantes.get(0).get("restaurante"));
+        assertEquals(0, new BigDecimal("125.00").compareTo((BigDecimal) restaurantes.get(0).get("totalVendas")));
+        assertEquals(2L, restaurantes.get(0).get("quantidadePedidos"));
+
+        List<Map<String, Object>> produtos = relatorioService.relatorioProdutosMaisVendidos(10, DIA, DIA.plusMonths(1));
+        assertEquals("Refri", produtos.get(0).get("produto"));
+        assertEquals(5L, produtos.get(0).get("quantidadeVendida"));
+        assertEquals(3L, produtos.get(1).get("quantidadeVendida"));
+        assertEquals(1, relatorioService.relatorioProdutosMaisVendidos(1, null, null).size());
+
+        List<Map<String, Object>> clientes = relatorioService.relatorioClientesAtivos(10, null, null);
+        assertEquals(3L, clientes.get(0).get("quantidadePedidos"));
+
+        Map<String, Object> porMes = relatorioService.relatorioPedidosPorPeriodo(DIA, DIA.plusMonths(1), "mes");
+        assertEquals(3L, porMes.get("totalPedidos"));
+        assertEquals(1L, porMes.get("pedidosCancelados"));
+        assertEquals(2, ((List<?>) porMes.get("series")).size());
+
+        Map<String, Object> resumo = relatorioService.resumoVendas(DIA, DIA);
+        assertEquals(2L, resumo.get("totalPedidos"));
+        assertEquals(0, new BigDecimal("62.50").compareTo((BigDecimal) resumo.get("ticketMedio")));
+        assertEquals(1L, resumo.get("clientesAtivos"));
+    }
+
+    @Test
+    @DisplayName("Agrupamento inválido deve lançar IllegalArgumentException")
+    void testPedidosPorPeriodo_AgrupamentoInvalido() {
+        assertThrows(IllegalArgumentException.class,
+                () -> relatorioService.relatorioPedidosPorPeriodo(DIA, DIA, "semana"));
+    }
+
+    @Test
+    @DisplayName("Carga inicial deve agregar os pedidos finalizados uma única vez, deixando os com evento para o outbox")
+    void testCargaHistorico_PedidosSemEvento() {
+        pedido(StatusPedido.ENTREGUE, DIA, pizza, 2, null, 0);
+        pedido(StatusPedido.CANCELADO, DIA, refri, 1, null, 0);
+        pedido(StatusPedido.CONFIRMADO, DIA, pizza, 5, null, 0);
+        evento(pedido(StatusPedido.ENTREGUE, DIA, refri, 3, null, 0), EventoPedido.Situacao.PENDENTE);
+        evento(pedido(StatusPedido.ENTREGUE, DIA, refri, 4, null, 0), EventoPedido.Situacao.ENTREGUE);
+        em.flush();
+        em.clear();
+
+        rollupVendasPedidos.carregarHistorico();
+        rollupVendasPedidos.carregarHistorico();
+        em.clear();
+
+        Map<String, Object> resumo = relatorioService.resumoVendas(DIA, DIA);
+        assertEquals(1L, resumo.get("totalPedidos"));
+        assertEquals(0, new BigDecimal("80.00").compareTo((BigDecimal) resumo.get("valorTotalVendas")));
+        assertEquals(1L, resumo.get("pedidosCancelados"));
+        assertNotNull(cargaHistoricoRepository.findById(rollupVendasPedidos.nome()).orElseThrow().getConcluidaEm());
+    }
+
+    @Test
+    @DisplayName("Carga interrompida deve retomar depois do último lote e ignorar pedidos posteriores ao seu início")
+    void testCargaHistorico_RetomaDoUltimoLote() {
+        Long jaCarregado = pedido(StatusPedido.ENTREGUE, DIA, pizza, 1, null, 0).getId();
+        Long pendente = pedido(StatusPedido.ENTREGUE, DIA, pizza, 2, null, 0).getId();
+        em.flush();
+        cargaHistoricoRepository.iniciar(rollupVendasPedidos.nome(), pendente);
+        cargaHistoricoRepository.avancar(rollupVendasPedidos.nome(), jaCarregado);
+        pedido(StatusPedido.ENTREGUE, DIA, refri, 1, null, 0);
+        em.flush();
+        em.clear();
+
+        rollupVendasPedidos.carregarHistorico();
+        em.clear();
+
+        Map<String, Object> resumo = relatorioService.resumoVendas(DIA, DIA);
+        assertEquals(1L, resumo.get("totalPedidos"));
+        assertEquals(0, new BigDecimal("80.00").compareTo((BigDecimal) resumo.get("valorTotalVendas")));
+    }
+
+    @Test
+    @DisplayName("Linha do dia criada por outra transação deve receber a soma em vez de falhar")
+    void testAcumular_LinhaCriadaPorOutraTransacao() {
+        VendaDiariaRepository repository = mock(VendaDiariaRepository.class);
+        when(repository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("uk_venda_diaria_tipo_dia_ref"));
+        RelatorioService servico = new RelatorioServiceImpl(repository, mock(PlatformTransactionManager.class));
+
+        // Cancelado: restaurante (0 linhas, cria, 1 linha) e cliente (1 linha)
+        Pedido pedido = Pedido.builder()
+                .cliente(cliente)
+                .restaurante(restaurante)
+                .status(StatusPedido.CANCELADO)
+                .dataPedido(LocalDateTime.of(DIA, java.time.LocalTime.NOON))
+                .itens(new ArrayList<>())
+                .build();
+        when(repository.acumular(any(), any(), any(), any(), anyLong(), anyLong(), any(), anyLong()))
+                .thenReturn(0, 1, 1);
+        servico.registrarPedidoFinalizado(pedido);
+
+        verify(repository).saveAndFlush(any());
+        verify(repository, times(3)).acumular(any(), any(), any(), any(), anyLong(), anyLong(), any(), anyLong());
+    }
+
+    private void evento(Pedido pedido, EventoPedido.Situacao situacao) {
+        em.persist(EventoPedido.builder()
+                .pedidoId(pedido.getId())
+                .status(pedido.getStatus())
+                .assinante(rollupVendasPedidos.nome())
+                .situacao(situacao)
+                .ocorridoEm(LocalDateTime.now())
+                .proximaTentativa(LocalDateTime.now())
+                .build());
+    }
+
+    private Pedido pedido(StatusPedido status, LocalDate dia, Produto p1, int q1, Produto p2, int q2) {
+        Pedido pedido = Pedido.builder()
+                .cliente(cliente)
+                .restaurante(restaurante)
+                .status(status)
+                .dataPedido(LocalDateTime.of(dia, java.time.LocalTime.NOON))
+                .itens(new ArrayList<>())
+                .build();
+        BigDecimal total = BigDecimal.ZERO;
+        for (Object[] item : new Object[][] { { p1, q1 }, { p2, q2 } }) {
+            if (item[0] == null) {
+                continue;
+            }
+            Produto produto = (Produto) item[0];
+            ItemPedido itemPedido = ItemPedido.builder()
+                    .pedido(pedido)
+                    .produto(produto)
+                    .quantidade((Integer) item[1])
+                    .precoUnitario(produto.getPreco())
+                    .subtotal(produto.getPreco().multiply(BigDecimal.valueOf((Integer) item[1])))
+                    .build();
+            pedido.getItens().add(itemPedido);
+            total = total.add(itemPedido.getSubtotal());
+        }
+        pedido.setValorTotal(total);
+        return em.persist(pedido);
+    }
+}
@@ -0,0 +1,28 @@
+package com.deliverytech.delivery_api.services;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+
+import com.deliverytech.delivery_api.config.CacheConfig;
+import com.deliverytech.delivery_api.config.CatalogoVersao;
+import com.deliverytech.delivery_api.service.impl.CentralStatusPedidos;
+import com.deliverytech.delivery_api.service.impl.IndiceGeografico;
+import com.deliverytech.delivery_api.service.impl.IndicePedidosAbertos;
+import com.deliverytech.delivery_api.service.impl.IndiceProdutos;
+import com.deliverytech.delivery_api.service.impl.OutboxPedidos;
+import com.deliverytech.delivery_api.service.impl.PedidoServiceImpl;
+import com.deliverytech.delivery_api.service.impl.ProdutoServiceImpl;
+import com.deliverytech.delivery_api.service.impl.RelatorioServiceImpl;
+import com.deliverytech.delivery_api.service.impl.RestauranteServiceImpl;
+import com.deliverytech.delivery_api.service.impl.TabelaCep;
+
+/**
+ * PedidoServiceImpl e seus colaboradores para os testes {@code @DataJpaTest}.
+ * Um colaborador novo do serviço entra aqui, não em cada teste.
+ */
+@TestConfiguration
+@Import({ PedidoServiceImpl.class, RelatorioServiceImpl.class, ProdutoServiceImpl.class, IndiceProdutos.class,
+        RestauranteServiceImpl.class, IndiceGeografico.class, TabelaCep.class, OutboxPedidos.class,
+        CentralStatusPedidos.class, IndicePedidosAbertos.class, CacheConfig.class, CatalogoVersao.class })
+public class ServicosPedidoTestConfig {
+}